@@ -17,8 +17,6 @@ import static org.openhab.binding.knx.internal.dpt.DPTUtil.NORMALIZED_DPT;
 import java.time.Duration;
 import java.util.Set;
 import java.util.concurrent.CancellationException;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +42,7 @@ import tuwien.auto.calimero.DetachEvent;
 import tuwien.auto.calimero.FrameEvent;
 import tuwien.auto.calimero.GroupAddress;
 import tuwien.auto.calimero.IndividualAddress;
+import tuwien.auto.calimero.KNXAckTimeoutException;
 import tuwien.auto.calimero.KNXAddress;
 import tuwien.auto.calimero.KNXException;
 import tuwien.auto.calimero.KNXIllegalArgumentException;
@@ -71,6 +70,7 @@ import tuwien.auto.calimero.secure.Security;
  * KNX Client which encapsulates the communication with the KNX bus via the calimero library.
  *
  * @author Simon Kaufmann - initial contribution and API.
+ * @author Marcel Verpaalen - Indexed group address dispatch, prioritized read requests
  *
  */
 @NonNullByDefault
@@ -92,7 +92,6 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private final int responseTimeout;
     private final int readingPause;
     private final int autoReconnectPeriod;
-    private final int readRetriesLimit;
     private final StatusUpdateCallback statusUpdateCallback;
     private final ScheduledExecutorService knxScheduler;
     private final CommandExtensionData commandExtensionData;
@@ -105,10 +104,11 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     private @Nullable KNXNetworkLink link;
     private @Nullable DeviceInfoClient deviceInfoClient;
     private @Nullable ScheduledFuture<?> busJob;
+    private @Nullable ReadJob readJob;
     private @Nullable ScheduledFuture<?> connectJob;
 
-    private final Set<GroupAddressListener> groupAddressListeners = new CopyOnWriteArraySet<>();
-    private final LinkedBlockingQueue<ReadDatapoint> readDatapoints = new LinkedBlockingQueue<>();
+    private final GroupAddressListenerIndex groupAddressListeners = new GroupAddressListenerIndex();
+    private final ReadRequestScheduler readRequests;
 
     @FunctionalInterface
     private interface ListenerNotification {
@@ -125,6 +125,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupWrite(ProcessEvent e) {
+            readRequests.valueReceived(e.getDestination());
             processEvent("Group Write", e, (listener, source, destination, asdu) -> listener
                     .onGroupWrite(AbstractKNXClient.this, source, destination, asdu));
         }
@@ -137,6 +138,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
 
         @Override
         public void groupReadResponse(ProcessEvent e) {
+            readRequests.valueReceived(e.getDestination());
             processEvent("Group Read Response", e, (listener, source, destination, asdu) -> listener
                     .onGroupReadResponse(AbstractKNXClient.this, source, destination, asdu));
         }
@@ -149,7 +151,7 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         this.thingUID = thingUID;
         this.responseTimeout = responseTimeout;
         this.readingPause = readingPause;
-        this.readRetriesLimit = readRetriesLimit;
+        this.readRequests = new ReadRequestScheduler(readingPause, readRetriesLimit);
         this.knxScheduler = knxScheduler;
         this.statusUpdateCallback = statusUpdateCallback;
         this.commandExtensionData = commandExtensionData;
@@ -257,8 +259,9 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
             link.addLinkListener(this);
 
             // create a job carrying out read requests
-            busJob = knxScheduler.scheduleWithFixedDelay(this::readNextQueuedDatapoint, 0, readingPause,
-                    TimeUnit.MILLISECONDS);
+            ReadJob readJob = new ReadJob();
+            this.readJob = readJob;
+            busJob = knxScheduler.schedule(readJob, 0, TimeUnit.MILLISECONDS);
 
             statusUpdateCallback.updateStatus(ThingStatus.ONLINE);
             connectJob = null;
@@ -312,7 +315,8 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         if (tmpLink != null) {
             tmpLink.removeLinkListener(this);
         }
-        readDatapoints.clear();
+        readRequests.clear();
+        readJob = null;
         busJob = nullify(busJob, j -> j.cancel(true));
         deviceInfoClient = null;
         managementProcedures = nullify(managementProcedures, ManagementProcedures::detach);
@@ -341,12 +345,19 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         IndividualAddress source = event.getSourceAddr();
         byte[] asdu = event.getASDU();
         logger.trace("Received a {} telegram from '{}' to '{}' with value '{}'", task, source, destination, asdu);
-        boolean isHandled = false;
-        for (GroupAddressListener listener : groupAddressListeners) {
-            if (listener.listensTo(destination)) {
-                isHandled = true;
-                knxScheduler.schedule(() -> action.apply(listener, source, destination, asdu), 0, TimeUnit.SECONDS);
-            }
+        Set<GroupAddressListener> listeners = groupAddressListeners.getListeners(destination);
+        boolean isHandled = !listeners.isEmpty();
+        if (isHandled) {
+            // notify all listeners of this telegram in a single task
+            knxScheduler.execute(() -> {
+                for (GroupAddressListener listener : listeners) {
+                    try {
+                        action.apply(listener, source, destination, asdu);
+                    } catch (RuntimeException e) {
+                        logger.warn("Failed to process {} telegram to '{}': {}", task, destination, e.getMessage());
+                    }
+                }
+            });
         }
         // Store information about unhandled GAs, can be shown on console using knx:list-unknown-ga.
         // The idea is to store GA, message type, and size as key. The value counts the number of packets.
@@ -364,50 +375,82 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
         }
     }
 
-    // datapoint is null at end of the list, warning is misleading
-    @SuppressWarnings("null")
-    private void readNextQueuedDatapoint() {
+    /**
+     * Job sending the queued read requests, it schedules itself again with a delay depending on the pacing.
+     */
+    private class ReadJob implements Runnable {
+        @Override
+        public void run() {
+            long delay = readingPause;
+            try {
+                delay = readNextQueuedDatapoint();
+            } finally {
+                synchronized (AbstractKNXClient.this) {
+                    // a new job is created when reconnecting
+                    if (readJob == this) {
+                        busJob = knxScheduler.schedule(this, delay, TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Send the next queued read request.
+     *
+     * @return the delay in milliseconds before sending the next read request
+     */
+    private long readNextQueuedDatapoint() {
         if (!connectIfNotAutomatic()) {
-            return;
+            return readingPause;
         }
         ProcessCommunicator processCommunicator = this.processCommunicator;
         if (processCommunicator == null) {
-            return;
+            return readingPause;
+        }
+        ReadDatapoint datapoint = readRequests.poll();
+        if (datapoint == null) {
+            return readingPause;
+        }
+        // TODO #8872: allow write access, currently only listening mode
+        if (openhabSecurity.groupKeys().containsKey(datapoint.getDatapoint().getMainAddress())) {
+            logger.debug("outgoing secure communication not implemented, explicit read from GA '{}' skipped",
+                    datapoint.getDatapoint().getMainAddress());
+            readRequests.giveUp();
+            // nothing has been sent
+            return 0;
         }
-        ReadDatapoint datapoint = readDatapoints.poll();
-        if (datapoint != null) {
-            // TODO #8872: allow write access, currently only listening mode
-            if (openhabSecurity.groupKeys().containsKey(datapoint.getDatapoint().getMainAddress())) {
-                logger.debug("outgoing secure communication not implemented, explicit read from GA '{}' skipped",
-                        datapoint.getDatapoint().getMainAddress());
-                return;
-            }
 
-            datapoint.incrementRetries();
-            try {
-                logger.trace("Sending a Group Read Request telegram for {}", datapoint.getDatapoint().getMainAddress());
-                processCommunicator.read(datapoint.getDatapoint());
-            } catch (KNXException e) {
-                // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
-                // KnxIllegalArgumentException
-                if (datapoint.getRetries() < datapoint.getLimit()) {
-                    readDatapoints.add(datapoint);
-                    logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
-                            datapoint.getDatapoint().getMainAddress(), e.getMessage());
-                } else {
-                    logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
-                            datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
-                }
-            } catch (InterruptedException | CancellationException e) {
-                logger.debug("Interrupted sending KNX read request");
-            } catch (Exception e) {
-                // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
-                // Not catching this would end the scheduled read for all DPs in case of an error.
-                // Severity is warning as this is likely caused by a configuration error.
-                logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(),
-                        e.getMessage());
+        datapoint.incrementRetries();
+        boolean acknowledged = true;
+        try {
+            logger.trace("Sending a Group Read Request telegram for {} ({} priority)",
+                    datapoint.getDatapoint().getMainAddress(), datapoint.getPriority());
+            processCommunicator.read(datapoint.getDatapoint());
+            readRequests.succeeded();
+        } catch (KNXException e) {
+            // Note: KnxException does not cover KnxRuntimeException and subclasses KnxSecureException,
+            // KnxIllegalArgumentException
+            // a missing acknowledgement indicates a busy bus or tunnel, a missing response does not
+            acknowledged = !(e instanceof KNXAckTimeoutException);
+            if (readRequests.retry(datapoint)) {
+                logger.debug("Could not read value for datapoint {}: {}. Going to retry.",
+                        datapoint.getDatapoint().getMainAddress(), e.getMessage());
+            } else {
+                logger.warn("Giving up reading datapoint {}, the number of maximum retries ({}) is reached.",
+                        datapoint.getDatapoint().getMainAddress(), datapoint.getLimit());
             }
-        }
+        } catch (InterruptedException | CancellationException e) {
+            logger.debug("Interrupted sending KNX read request");
+            readRequests.giveUp();
+        } catch (Exception e) {
+            // Any other exception: Fail gracefully, i.e. notify user and continue reading next DP.
+            // Not catching this would end the scheduled read for all DPs in case of an error.
+            // Severity is warning as this is likely caused by a configuration error.
+            logger.warn("Error reading datapoint {}: {}", datapoint.getDatapoint().getMainAddress(), e.getMessage());
+            readRequests.giveUp();
+        }
+        return readRequests.nextDelay(acknowledged);
     }
 
     public void dispose() {
@@ -509,23 +552,23 @@ public abstract class AbstractKNXClient implements NetworkLinkListener, KNXClien
     }
 
     @Override
-    public void readDatapoint(Datapoint datapoint) {
-        synchronized (this) {
-            ReadDatapoint retryDatapoint = new ReadDatapoint(datapoint, readRetriesLimit);
-            if (!readDatapoints.contains(retryDatapoint)) {
-                readDatapoints.add(retryDatapoint);
-            }
-        }
+    public void readDatapoint(Datapoint datapoint, ReadPriority priority) {
+        readRequests.add(datapoint, priority);
+    }
+
+    @Override
+    public ReadStatistics getReadStatistics() {
+        return readRequests.getStatistics();
     }
 
     @Override
     public final void registerGroupAddressListener(GroupAddressListener listener) {
-        groupAddressListeners.add(listener);
+        groupAddressListeners.register(listener);
     }
 
     @Override
     public final void unregisterGroupAddressListener(GroupAddressListener listener) {
-        groupAddressListeners.remove(listener);
+        groupAddressListeners.unregister(listener);
     }
 
     @Override
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ * Index of the {@link GroupAddressListener}s by the group addresses they listen to, so that the listeners for an
+ * incoming telegram are found with a single lookup.
+ *
+ * The group addresses of a listener are captured when it is registered. Registering a listener again replaces its
+ * group addresses, e.g. after its channels have been reconfigured.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+class GroupAddressListenerIndex {
+    // guarded by this, the group addresses a listener has been registered with
+    private final Map<GroupAddressListener, Set<GroupAddress>> groupAddressesByListener = new HashMap<>();
+    private final Map<GroupAddress, Set<GroupAddressListener>> listenersByGroupAddress = new ConcurrentHashMap<>();
+
+    /**
+     * Register a listener, or update the group addresses of a registered listener.
+     *
+     * @param listener the listener
+     */
+    synchronized void register(GroupAddressListener listener) {
+        Set<GroupAddress> groupAddresses = Set.copyOf(listener.getGroupAddresses());
+        Set<GroupAddress> previousGroupAddresses = groupAddressesByListener.put(listener, groupAddresses);
+        if (previousGroupAddresses != null) {
+            removeFromIndex(listener, previousGroupAddresses);
+        }
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByGroupAddress.computeIfAbsent(groupAddress, k -> new CopyOnWriteArraySet<>()).add(listener);
+        }
+    }
+
+    /**
+     * Remove a listener.
+     *
+     * @param listener the listener
+     */
+    synchronized void unregister(GroupAddressListener listener) {
+        // the listener may already have cleared its group addresses, use those it was registered with
+        Set<GroupAddress> groupAddresses = groupAddressesByListener.remove(listener);
+        if (groupAddresses != null) {
+            removeFromIndex(listener, groupAddresses);
+        }
+    }
+
+    /**
+     * Get the listeners for a group address.
+     *
+     * @param groupAddress the group address
+     * @return the listeners, an empty set if there are none
+     */
+    Set<GroupAddressListener> getListeners(GroupAddress groupAddress) {
+        Set<GroupAddressListener> listeners = listenersByGroupAddress.get(groupAddress);
+        return listeners == null ? Set.of() : listeners;
+    }
+
+    private void removeFromIndex(GroupAddressListener listener, Set<GroupAddress> groupAddresses) {
+        for (GroupAddress groupAddress : groupAddresses) {
+            listenersByGroupAddress.computeIfPresent(groupAddress, (k, listeners) -> {
+                listeners.remove(listener);
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+    }
+}
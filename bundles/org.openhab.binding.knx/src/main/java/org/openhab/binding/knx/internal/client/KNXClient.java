@@ -61,7 +61,8 @@ public interface KNXClient {
     void restartNetworkDevice(@Nullable IndividualAddress address);
 
     /**
-     * Register the given listener to be informed on KNX bus traffic.
+     * Register the given listener to be informed on KNX bus traffic. Registering a listener again updates the group
+     * addresses it listens to.
      *
      * @param listener the listener
      */
@@ -75,11 +76,20 @@ public interface KNXClient {
     void unregisterGroupAddressListener(GroupAddressListener listener);
 
     /**
-     * Schedule the given data point for asynchronous reading.
+     * Schedule the given data point for asynchronous reading. Requests for a group address which is already scheduled
+     * are merged, keeping the higher priority.
      *
      * @param datapoint the datapoint
+     * @param priority the priority of the request
      */
-    void readDatapoint(Datapoint datapoint);
+    void readDatapoint(Datapoint datapoint, ReadPriority priority);
+
+    /**
+     * Get the progress of reading the states from the KNX bus since the connection has been established.
+     *
+     * @return the statistics of the read requests
+     */
+    ReadStatistics getReadStatistics();
 
     /**
      * Write a command to the KNX bus.
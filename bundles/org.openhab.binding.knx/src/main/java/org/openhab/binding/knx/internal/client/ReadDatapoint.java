@@ -21,6 +21,7 @@ import tuwien.auto.calimero.datapoint.Datapoint;
  * Information about a data point which is queued to be read from the KNX bus.
  *
  * @author Karel Goderis - Initial contribution
+ * @author Marcel Verpaalen - Read priority
  */
 @NonNullByDefault
 public class ReadDatapoint {
@@ -28,11 +29,13 @@ public class ReadDatapoint {
     private final Datapoint datapoint;
     private int retries;
     private final int limit;
+    private ReadPriority priority;
 
-    public ReadDatapoint(Datapoint datapoint, int limit) {
+    public ReadDatapoint(Datapoint datapoint, int limit, ReadPriority priority) {
         this.datapoint = datapoint;
         this.retries = 0;
         this.limit = limit;
+        this.priority = priority;
     }
 
     public Datapoint getDatapoint() {
@@ -51,6 +54,14 @@ public class ReadDatapoint {
         return limit;
     }
 
+    public ReadPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(ReadPriority priority) {
+        this.priority = priority;
+    }
+
     @Override
     public int hashCode() {
         final int prime = 31;
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ * Queue of the read requests to be sent to the KNX bus.
+ *
+ * Requests are deduplicated by group address and sent by priority, requests of the same priority in the order they
+ * have been made. Requesting a pending group address again with a higher priority moves it to the higher priority.
+ *
+ * The pause between read requests adapts to the bus: after a read request has completed, the next one is sent after
+ * the configured reading pause. If a request is not acknowledged by the bus or the tunnel, the pause is doubled, and
+ * it is halved again with every acknowledged request until it reaches the configured reading pause.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+class ReadRequestScheduler {
+    private static final long MIN_BACKOFF_MILLIS = 100;
+    private static final long MAX_BACKOFF_MILLIS = 5000;
+
+    private final int readingPause;
+    private final int readRetriesLimit;
+
+    // all fields below are guarded by this
+    private final Map<GroupAddress, ReadDatapoint> pending = new HashMap<>();
+    private final Map<ReadPriority, Map<GroupAddress, ReadDatapoint>> queues = new EnumMap<>(ReadPriority.class);
+    private long pauseMillis;
+
+    // since the connection has been established
+    private int requested;
+    private int known;
+    private int failed;
+    private long firstRequestNanos;
+    private long allKnownNanos;
+    private boolean allKnown;
+
+    ReadRequestScheduler(int readingPause, int readRetriesLimit) {
+        this.readingPause = readingPause;
+        this.readRetriesLimit = readRetriesLimit;
+        for (ReadPriority priority : ReadPriority.values()) {
+            queues.put(priority, new LinkedHashMap<>());
+        }
+        pauseMillis = readingPause;
+    }
+
+    /**
+     * Request reading a datapoint.
+     *
+     * @param datapoint the datapoint
+     * @param priority the priority of the request
+     * @return {@code true} if the request has been added, {@code false} if the group address is already pending
+     */
+    synchronized boolean add(Datapoint datapoint, ReadPriority priority) {
+        GroupAddress groupAddress = datapoint.getMainAddress();
+        ReadDatapoint readDatapoint = pending.get(groupAddress);
+        if (readDatapoint != null) {
+            if (priority.compareTo(readDatapoint.getPriority()) < 0) {
+                queue(readDatapoint.getPriority()).remove(groupAddress);
+                readDatapoint.setPriority(priority);
+                queue(priority).put(groupAddress, readDatapoint);
+            }
+            return false;
+        }
+        if (requested == 0) {
+            firstRequestNanos = System.nanoTime();
+        }
+        requested++;
+        enqueue(new ReadDatapoint(datapoint, readRetriesLimit, priority));
+        return true;
+    }
+
+    /**
+     * Take the next request to be sent.
+     *
+     * @return the pending request with the highest priority, or {@code null} if there is none
+     */
+    synchronized @Nullable ReadDatapoint poll() {
+        for (Map<GroupAddress, ReadDatapoint> queue : queues.values()) {
+            Iterator<ReadDatapoint> iterator = queue.values().iterator();
+            if (iterator.hasNext()) {
+                ReadDatapoint readDatapoint = iterator.next();
+                iterator.remove();
+                pending.remove(readDatapoint.getDatapoint().getMainAddress());
+                return readDatapoint;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Report that a request taken by {@link #poll()} has been answered.
+     */
+    synchronized void succeeded() {
+        known++;
+        checkAllKnown();
+    }
+
+    /**
+     * Report that a request failed, it is queued again as long as the retry limit is not reached.
+     *
+     * @param readDatapoint the request taken by {@link #poll()}
+     * @return {@code true} if the request will be retried
+     */
+    synchronized boolean retry(ReadDatapoint readDatapoint) {
+        if (readDatapoint.getRetries() >= readDatapoint.getLimit()) {
+            giveUp();
+            return false;
+        }
+        GroupAddress groupAddress = readDatapoint.getDatapoint().getMainAddress();
+        ReadDatapoint requestedAgain = pending.get(groupAddress);
+        if (requestedAgain == null) {
+            enqueue(readDatapoint);
+        } else {
+            // requested again in the meantime, which is counted as a new request
+            requested--;
+            checkAllKnown();
+        }
+        return true;
+    }
+
+    /**
+     * Report that a request taken by {@link #poll()} is not going to be sent (again).
+     */
+    synchronized void giveUp() {
+        failed++;
+        checkAllKnown();
+    }
+
+    /**
+     * Report a value received from the KNX bus. A pending read request for the group address is not needed anymore.
+     *
+     * @param groupAddress the group address of the value
+     */
+    synchronized void valueReceived(GroupAddress groupAddress) {
+        ReadDatapoint readDatapoint = pending.remove(groupAddress);
+        if (readDatapoint != null) {
+            queue(readDatapoint.getPriority()).remove(groupAddress);
+            known++;
+            checkAllKnown();
+        }
+    }
+
+    /**
+     * Calculate the delay between the completion of the last request and sending the next request.
+     *
+     * @param acknowledged {@code false} if the last request has not been acknowledged by the bus or the tunnel
+     * @return the delay in milliseconds
+     */
+    synchronized long nextDelay(boolean acknowledged) {
+        if (acknowledged) {
+            pauseMillis = Math.max(readingPause, pauseMillis / 2);
+        } else {
+            long maxPauseMillis = Math.max(readingPause, MAX_BACKOFF_MILLIS);
+            pauseMillis = Math.min(Math.max(MIN_BACKOFF_MILLIS, pauseMillis * 2), maxPauseMillis);
+        }
+        return pauseMillis;
+    }
+
+    /**
+     * Remove all pending requests and reset the statistics, e.g. when the connection is closed.
+     */
+    synchronized void clear() {
+        pending.clear();
+        queues.values().forEach(Map::clear);
+        pauseMillis = readingPause;
+        requested = 0;
+        known = 0;
+        failed = 0;
+        firstRequestNanos = 0;
+        allKnownNanos = 0;
+        allKnown = false;
+    }
+
+    /**
+     * Get the statistics since the connection has been established.
+     *
+     * @return the statistics
+     */
+    synchronized ReadStatistics getStatistics() {
+        Duration duration = requested == 0 ? Duration.ZERO
+                : Duration.ofNanos((allKnown ? allKnownNanos : System.nanoTime()) - firstRequestNanos);
+        return new ReadStatistics(pending.size(), requested, known, failed, duration, allKnown, pauseMillis);
+    }
+
+    private Map<GroupAddress, ReadDatapoint> queue(ReadPriority priority) {
+        Map<GroupAddress, ReadDatapoint> queue = queues.get(priority);
+        if (queue == null) {
+            throw new IllegalStateException("No queue for priority " + priority);
+        }
+        return queue;
+    }
+
+    private void enqueue(ReadDatapoint readDatapoint) {
+        GroupAddress groupAddress = readDatapoint.getDatapoint().getMainAddress();
+        pending.put(groupAddress, readDatapoint);
+        queue(readDatapoint.getPriority()).put(groupAddress, readDatapoint);
+    }
+
+    private void checkAllKnown() {
+        if (!allKnown && known + failed >= requested) {
+            allKnownNanos = System.nanoTime();
+            allKnown = true;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import java.time.Duration;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Progress of reading the states of the group addresses from the KNX bus since the connection has been established.
+ *
+ * @param pending number of read requests waiting to be sent
+ * @param requested number of read requests
+ * @param known number of read requests for which a value has been received
+ * @param failed number of read requests which have been given up
+ * @param duration time from the first read request until the states of all requested group addresses were known
+ *            (received or given up) for the first time, the time elapsed so far if that did not happen yet
+ * @param allKnown {@code true} if the states of all requested group addresses have been known
+ * @param pauseMillis current pause after a read request before sending the next one
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public record ReadStatistics(int pending, int requested, int known, int failed, Duration duration, boolean allKnown,
+        long pauseMillis) {
+
+    public static final ReadStatistics EMPTY = new ReadStatistics(0, 0, 0, 0, Duration.ZERO, false, 0);
+}
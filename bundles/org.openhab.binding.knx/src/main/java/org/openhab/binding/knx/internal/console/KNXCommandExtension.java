@@ -18,6 +18,7 @@ import java.util.Map.Entry;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.knx.internal.KNXBindingConstants;
+import org.openhab.binding.knx.internal.client.ReadStatistics;
 import org.openhab.binding.knx.internal.factory.KNXHandlerFactory;
 import org.openhab.binding.knx.internal.handler.KNXBridgeBaseThingHandler;
 import org.openhab.core.io.console.Console;
@@ -33,13 +34,16 @@ import org.osgi.service.component.annotations.Reference;
  * The {@link KNXCommandExtension} is responsible for handling console commands
  *
  * @author Holger Friedrich - Initial contribution
+ * @author Marcel Verpaalen - Read status
  */
 @NonNullByDefault
 @Component(service = ConsoleCommandExtension.class)
 public class KNXCommandExtension extends AbstractConsoleCommandExtension implements ConsoleCommandCompleter {
 
     private static final String CMD_LIST_UNKNOWN_GA = "list-unknown-ga";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST_UNKNOWN_GA), false);
+    private static final String CMD_READ_STATUS = "read-status";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST_UNKNOWN_GA, CMD_READ_STATUS), false);
 
     private final KNXHandlerFactory knxHandlerFactory;
 
@@ -60,14 +64,26 @@ public class KNXCommandExtension extends AbstractConsoleCommandExtension impleme
                 }
             }
             return;
+        } else if (args.length == 1 && CMD_READ_STATUS.equalsIgnoreCase(args[0])) {
+            for (KNXBridgeBaseThingHandler bridgeHandler : knxHandlerFactory.getBridges()) {
+                ReadStatistics statistics = bridgeHandler.getReadStatistics();
+                console.println("KNX bridge \"" + bridgeHandler.getThing().getLabel() + "\": " + statistics.known()
+                        + " of " + statistics.requested() + " states read, " + statistics.failed() + " failed, "
+                        + statistics.pending() + " pending, pause between reads " + statistics.pauseMillis() + " ms");
+                String duration = String.format("%.1f s", statistics.duration().toMillis() / 1000.0);
+                console.println(statistics.allKnown() ? "all states known " + duration + " after the first read request"
+                        : "reading states for " + duration);
+            }
+            return;
         }
         printUsage(console);
     }
 
     @Override
     public List<String> getUsages() {
-        return List
-                .of(buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"));
+        return List.of(
+                buildCommandUsage(CMD_LIST_UNKNOWN_GA, "list group addresses which are not configured in openHAB"),
+                buildCommandUsage(CMD_READ_STATUS, "show the progress of reading the states from the KNX bus"));
     }
 
     @Override
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.dpt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
+
+/**
+ * Cache of Calimero translators, one instance per DPT id.
+ *
+ * Creating a translator looks up the translator class and instantiates it by reflection, which is noticeable when
+ * done for every telegram. Translators are stateful, users of a cached instance have to synchronize on it while
+ * setting and reading its data.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+final class DPTTranslators {
+    private static final Map<String, DPTXlator> TRANSLATORS = new ConcurrentHashMap<>();
+
+    private DPTTranslators() {
+        // prevent instantiation
+    }
+
+    /**
+     * Get the translator for a DPT.
+     *
+     * @param dptId the DPT id (e.g. 9.001)
+     * @return the shared translator instance for this DPT
+     * @throws KNXException if Calimero does not support the DPT, failures are not cached
+     */
+    static DPTXlator get(String dptId) throws KNXException {
+        DPTXlator translator = TRANSLATORS.get(dptId);
+        if (translator == null) {
+            translator = TranslatorTypes.createTranslator(0, dptId);
+            DPTXlator previous = TRANSLATORS.putIfAbsent(dptId, translator);
+            if (previous != null) {
+                translator = previous;
+            }
+        }
+        return translator;
+    }
+}
@@ -17,6 +17,7 @@ import static org.openhab.binding.knx.internal.KNXBindingConstants.disableUoM;
 import java.math.BigDecimal;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
@@ -48,21 +49,27 @@ import tuwien.auto.calimero.KNXFormatException;
 import tuwien.auto.calimero.KNXIllegalArgumentException;
 import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator1BitControlled;
+import tuwien.auto.calimero.dptxlator.DPTXlator2ByteFloat;
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator3BitControlled;
+import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
+import tuwien.auto.calimero.dptxlator.DPTXlator4ByteSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator64BitSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator8BitUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
 import tuwien.auto.calimero.dptxlator.DPTXlatorDateTime;
 import tuwien.auto.calimero.dptxlator.DPTXlatorSceneControl;
-import tuwien.auto.calimero.dptxlator.TranslatorTypes;
 
 /**
  * This class decodes raw data received from the KNX bus to an openHAB datatype
  *
+ * The most frequently used DPTs are decoded directly from the raw data, all others are decoded using a cached
+ * Calimero translator.
+ *
  * Parts of this code are based on the openHAB KNXCoreTypeMapper by Kai Kreuzer et al.
  *
  * @author Jan N. Klug - Initial contribution
+ * @author Marcel Verpaalen - Direct decoding of frequently used DPTs, cached translators
  */
 @NonNullByDefault
 public class ValueDecoder {
@@ -114,39 +121,30 @@ public class ValueDecoder {
      */
     public static @Nullable Type decode(String dptId, byte[] data, Class<? extends Type> preferredType) {
         try {
-            String value = "";
-            String translatorDptId = dptId;
             DPTXlator translator;
             try {
-                translator = TranslatorTypes.createTranslator(0, DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
-                translator.setData(data);
-                value = translator.getValue();
-                translatorDptId = translator.getType().getID();
+                translator = DPTTranslators.get(DPTUtil.NORMALIZED_DPT.getOrDefault(dptId, dptId));
             } catch (KNXException e) {
                 // special handling for decoding DPTs not yet supported by Calimero
                 if ("235.001".equals(dptId)) {
                     if (!check235001(data)) {
                         return null;
                     }
-                    translator = TranslatorTypes.createTranslator(0, "13.010");
-                    translator.setData(data);
-                    value = translator.getValue();
                     dptId = "13.010";
-                    translatorDptId = dptId;
+                    data = Arrays.copyOf(data, 4);
                 } else if ("235.61001".equals(dptId)) {
                     if (!check23561001(data)) {
                         return null;
                     }
-                    translator = TranslatorTypes.createTranslator(0, "5.006");
-                    translator.setData(new byte[] { data[4] });
-                    value = translator.getValue();
                     dptId = "5.006";
-                    translatorDptId = dptId;
+                    data = new byte[] { data[4] };
                 } else {
                     // no known special case, handle unknown translator outer try block
                     throw e;
                 }
+                translator = DPTTranslators.get(dptId);
             }
+            String translatorDptId = translator.getType().getID();
             String id = dptId; // prefer using the user-supplied DPT
 
             Matcher m = DPTUtil.DPT_PATTERN.matcher(id);
@@ -165,76 +163,14 @@ public class ValueDecoder {
             String mainType = m.group("main");
             String subType = m.group("sub");
 
-            switch (mainType) {
-                case "1":
-                    return handleDpt1(subType, translator, preferredType);
-                case "2":
-                    DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
-                    int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
-                            + (translator1BitControlled.getValueBit() ? 1 : 0);
-                    return new DecimalType(decValue);
-                case "3":
-                    return handleDpt3(subType, translator);
-                case "6":
-                    if ("020".equals(subType)) {
-                        return handleStringOrDecimal(data, value, preferredType, 8);
-                    } else {
-                        return handleNumericDpt(id, translator, preferredType);
-                    }
-                case "9":
-                    if ((data.length == 2) && (data[0] == (byte) 0x7f) && (data[1] == (byte) 0xff)) {
-                        // 0x7fff denotes invalid data, this is not handled by Calimero
-                        LOGGER.debug("Ignoring incoming packet for DPT '{}', 0x7fff indicates invalid value", id);
-                        return null;
-                    }
-                    return handleNumericDpt(id, translator, preferredType);
-                case "10":
-                    return handleDpt10(value);
-                case "11":
-                    return DateTimeType.valueOf(new SimpleDateFormat(DateTimeType.DATE_PATTERN)
-                            .format(new SimpleDateFormat(DATE_FORMAT).parse(value)));
-                case "18":
-                    DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
-                    int decimalValue = translatorSceneControl.getSceneNumber();
-                    if (value.startsWith("learn")) {
-                        decimalValue += 0x80;
-                    }
-                    return new DecimalType(decimalValue);
-                case "19":
-                    return handleDpt19(translator, data);
-                case "20":
-                case "21":
-                    return handleStringOrDecimal(data, value, preferredType, 8);
-                case "22":
-                    return handleStringOrDecimal(data, value, preferredType, 16);
-                case "16":
-                case "28":
-                case "250": // Map all combined color transitions to String,
-                case "252": // as no native support is planned.
-                case "253": // Currently only one subtype 2xx.600
-                case "254": // is defined for those DPTs.
-                    return StringType.valueOf(value);
-                case "243": // color translation, fix regional
-                case "249": // settings
-                    // workaround for different number formats, this is to fix time>=1000s:
-                    // time is last block and may contain . and ,
-                    int sep = java.lang.Math.max(value.indexOf(" % "), value.indexOf(" K "));
-                    String time = value.substring(sep + 3);
-                    Matcher mt = TSD_SEPARATOR.matcher(time);
-                    for (; mt.matches(); mt = TSD_SEPARATOR.matcher(time)) {
-                        int dp = time.indexOf(mt.group("sep"));
-                        time = time.substring(0, dp) + time.substring(dp + 1);
-                    }
-                    value = value.substring(0, sep + 3) + time;
-                    return StringType.valueOf(value.replace(',', '.').replace(". ", ", "));
-                case "232":
-                    return handleDpt232(value, subType);
-                case "242":
-                    return handleDpt242(value);
-                case "251":
-                    return handleDpt251(value, subType, preferredType);
-                default:
-                    return handleNumericDpt(id, translator, preferredType);
+            if (id.equals(translatorDptId) && canDecodeDirectly(mainType, id, translator, data)) {
+                return decodeDirectly(mainType, subType, id, data, preferredType);
+            }
+
+            // the translator is shared, it must not be used concurrently
+            synchronized (translator) {
+                translator.setData(data);
+                return decodeWithTranslator(mainType, subType, id, translator, data, preferredType);
             }
         } catch (NumberFormatException | KNXFormatException | KNXIllegalArgumentException | ParseException e) {
             LOGGER.info("Translator couldn't parse data '{}' for datapoint type '{}' ({}).", data, dptId, e.getClass());
@@ -246,34 +182,167 @@ public class ValueDecoder {
         return null;
     }
 
-    private static Type handleDpt1(String subType, DPTXlator translator, Class<? extends Type> preferredType) {
-        DPTXlatorBoolean translatorBoolean = (DPTXlatorBoolean) translator;
+    /**
+     * check if the value can be decoded from the raw data without the translator
+     *
+     * This is done for the most frequently used DPTs. The translator is only used to verify that Calimero supports
+     * the DPT. Scaled values of DPT 5 are left to the translator, to keep its rounding.
+     */
+    private static boolean canDecodeDirectly(String mainType, String id, DPTXlator translator, byte[] data) {
+        return switch (mainType) {
+            case "1" -> translator instanceof DPTXlatorBoolean && data.length == 1;
+            case "5" -> translator instanceof DPTXlator8BitUnsigned && data.length == 1
+                    && !DPTXlator8BitUnsigned.DPT_SCALING.getID().equals(id)
+                    && !DPTXlator8BitUnsigned.DPT_ANGLE.getID().equals(id);
+            case "9" -> translator instanceof DPTXlator2ByteFloat && data.length == 2;
+            case "13" -> translator instanceof DPTXlator4ByteSigned && data.length == 4;
+            case "14" -> translator instanceof DPTXlator4ByteFloat && data.length == 4;
+            default -> false;
+        };
+    }
+
+    /**
+     * decode the raw data without the translator, the result is the same as the one of
+     * {@link #decodeWithTranslator(String, String, String, DPTXlator, byte[], Class)}
+     */
+    private static @Nullable Type decodeDirectly(String mainType, String subType, String id, byte[] data,
+            Class<? extends Type> preferredType) {
+        return switch (mainType) {
+            case "1" -> handleDpt1(subType, (data[0] & 0x01) != 0, preferredType);
+            case "5" -> handleNumericValue(id, data[0] & 0xff, null, preferredType);
+            case "9" -> isInvalidDpt9(id, data) ? null : handleNumericValue(id, decodeDpt9(data), null, preferredType);
+            case "13" -> handleNumericValue(id, decodeInt(data), null, preferredType);
+            case "14" -> handleNumericValue(id, Float.intBitsToFloat(decodeInt(data)), null, preferredType);
+            default -> null;
+        };
+    }
+
+    private static @Nullable Type decodeWithTranslator(String mainType, String subType, String id,
+            DPTXlator translator, byte[] data, Class<? extends Type> preferredType)
+            throws KNXException, ParseException {
+        switch (mainType) {
+            case "1":
+                return handleDpt1(subType, ((DPTXlatorBoolean) translator).getValueBoolean(), preferredType);
+            case "2":
+                DPTXlator1BitControlled translator1BitControlled = (DPTXlator1BitControlled) translator;
+                int decValue = (translator1BitControlled.getControlBit() ? 2 : 0)
+                        + (translator1BitControlled.getValueBit() ? 1 : 0);
+                return new DecimalType(decValue);
+            case "3":
+                return handleDpt3(subType, translator);
+            case "6":
+                if ("020".equals(subType)) {
+                    return handleStringOrDecimal(data, translator.getValue(), preferredType, 8);
+                } else {
+                    return handleNumericDpt(id, translator, preferredType);
+                }
+            case "9":
+                if (isInvalidDpt9(id, data)) {
+                    return null;
+                }
+                return handleNumericDpt(id, translator, preferredType);
+            case "10":
+                return handleDpt10(translator.getValue());
+            case "11":
+                return DateTimeType.valueOf(new SimpleDateFormat(DateTimeType.DATE_PATTERN)
+                        .format(new SimpleDateFormat(DATE_FORMAT).parse(translator.getValue())));
+            case "18":
+                DPTXlatorSceneControl translatorSceneControl = (DPTXlatorSceneControl) translator;
+                int decimalValue = translatorSceneControl.getSceneNumber();
+                if (translator.getValue().startsWith("learn")) {
+                    decimalValue += 0x80;
+                }
+                return new DecimalType(decimalValue);
+            case "19":
+                return handleDpt19(translator, data);
+            case "20":
+            case "21":
+                return handleStringOrDecimal(data, translator.getValue(), preferredType, 8);
+            case "22":
+                return handleStringOrDecimal(data, translator.getValue(), preferredType, 16);
+            case "16":
+            case "28":
+            case "250": // Map all combined color transitions to String,
+            case "252": // as no native support is planned.
+            case "253": // Currently only one subtype 2xx.600
+            case "254": // is defined for those DPTs.
+                return StringType.valueOf(translator.getValue());
+            case "243": // color translation, fix regional
+            case "249": // settings
+                // workaround for different number formats, this is to fix time>=1000s:
+                // time is last block and may contain . and ,
+                String value = translator.getValue();
+                int sep = java.lang.Math.max(value.indexOf(" % "), value.indexOf(" K "));
+                String time = value.substring(sep + 3);
+                Matcher mt = TSD_SEPARATOR.matcher(time);
+                for (; mt.matches(); mt = TSD_SEPARATOR.matcher(time)) {
+                    int dp = time.indexOf(mt.group("sep"));
+                    time = time.substring(0, dp) + time.substring(dp + 1);
+                }
+                value = value.substring(0, sep + 3) + time;
+                return StringType.valueOf(value.replace(',', '.').replace(". ", ", "));
+            case "232":
+                return handleDpt232(translator.getValue(), subType);
+            case "242":
+                return handleDpt242(translator.getValue());
+            case "251":
+                return handleDpt251(translator.getValue(), subType, preferredType);
+            default:
+                return handleNumericDpt(id, translator, preferredType);
+        }
+    }
+
+    private static boolean isInvalidDpt9(String id, byte[] data) {
+        if ((data.length == 2) && (data[0] == (byte) 0x7f) && (data[1] == (byte) 0xff)) {
+            // 0x7fff denotes invalid data, this is not handled by Calimero
+            LOGGER.debug("Ignoring incoming packet for DPT '{}', 0x7fff indicates invalid value", id);
+            return true;
+        }
+        return false;
+    }
+
+    private static double decodeDpt9(byte[] data) {
+        // MEEE EMMM MMMM MMMM, value = 0.01 * M * 2^E, M in two's complement
+        int mantissa = ((data[0] & 0x07) << 8) | (data[1] & 0xff);
+        if ((data[0] & 0x80) != 0) {
+            mantissa -= 0x800;
+        }
+        int exponent = (data[0] & 0x78) >> 3;
+        // same order of operations as Calimero, so that the double is identical
+        return (1 << exponent) * mantissa * 0.01;
+    }
+
+    private static int decodeInt(byte[] data) {
+        return ((data[0] & 0xff) << 24) | ((data[1] & 0xff) << 16) | ((data[2] & 0xff) << 8) | (data[3] & 0xff);
+    }
+
+    private static Type handleDpt1(String subType, boolean value, Class<? extends Type> preferredType) {
         return switch (subType) {
-            case "008" -> translatorBoolean.getValueBoolean() ? UpDownType.DOWN : UpDownType.UP;
+            case "008" -> value ? UpDownType.DOWN : UpDownType.UP;
             case "009", "019" -> {
                 // default is OpenClosedType (Contact), but it may be mapped to OnOffType as well
                 if (OnOffType.class.equals(preferredType)) {
-                    yield OnOffType.from(translatorBoolean.getValueBoolean());
+                    yield OnOffType.from(value);
                 }
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
-                yield translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                yield value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
 
                 // This is wrong for DPT 1.009. It should be true -> CLOSE, false -> OPEN, but unfortunately
                 // can't be fixed without breaking a lot of working installations.
                 // The documentation has been updated to reflect that. / @J-N-K
             }
-            case "010" -> translatorBoolean.getValueBoolean() ? StopMoveType.MOVE : StopMoveType.STOP;
-            case "022" -> DecimalType.valueOf(translatorBoolean.getValueBoolean() ? "1" : "0");
+            case "010" -> value ? StopMoveType.MOVE : StopMoveType.STOP;
+            case "022" -> DecimalType.valueOf(value ? "1" : "0");
             default -> {
                 // default is OnOffType (Switch), but it may be mapped to OpenClosedType as well
                 if (OpenClosedType.class.equals(preferredType)) {
-                    yield translatorBoolean.getValueBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+                    yield value ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
                 }
 
-                yield OnOffType.from(translatorBoolean.getValueBoolean());
+                yield OnOffType.from(value);
             }
         };
     }
@@ -494,9 +563,18 @@ public class ValueDecoder {
 
     private static @Nullable Type handleNumericDpt(String id, DPTXlator translator, Class<? extends Type> preferredType)
             throws KNXFormatException {
+        double value = translator.getNumericValue();
+        // prevent loss of precision, do not represent 64bit decimal using double
+        Long signedValue = translator instanceof DPTXlator64BitSigned translatorSigned
+                ? translatorSigned.getValueSigned()
+                : null;
+        return handleNumericValue(id, value, signedValue, preferredType);
+    }
+
+    private static @Nullable Type handleNumericValue(String id, double value, @Nullable Long signedValue,
+            Class<? extends Type> preferredType) {
         Set<Class<? extends Type>> allowedTypes = DPTUtil.getAllowedTypes(id);
 
-        double value = translator.getNumericValue();
         if (allowedTypes.contains(PercentType.class)
                 && (HSBType.class.equals(preferredType) || PercentType.class.equals(preferredType))) {
             return new PercentType(BigDecimal.valueOf(Math.round(value)));
@@ -506,9 +584,8 @@ public class ValueDecoder {
             String unit = DPTUnits.getUnitForDpt(id);
             if (unit != null) {
                 try {
-                    if (translator instanceof DPTXlator64BitSigned translatorSigned) {
-                        // prevent loss of precision, do not represent 64bit decimal using double
-                        return new QuantityType<>(translatorSigned.getValueSigned() + " " + unit);
+                    if (signedValue != null) {
+                        return new QuantityType<>(signedValue + " " + unit);
                     }
                     return new QuantityType<>(value + " " + unit);
                 } catch (IllegalArgumentException e) {
@@ -521,9 +598,8 @@ public class ValueDecoder {
         }
 
         if (allowedTypes.contains(DecimalType.class)) {
-            if (translator instanceof DPTXlator64BitSigned translatorSigned) {
-                // prevent loss of precision, do not represent 64bit decimal using double
-                return new DecimalType(translatorSigned.getValueSigned());
+            if (signedValue != null) {
+                return new DecimalType(signedValue.longValue());
             }
             return new DecimalType(value);
         }
@@ -42,7 +42,6 @@ import org.slf4j.LoggerFactory;
 
 import tuwien.auto.calimero.KNXException;
 import tuwien.auto.calimero.dptxlator.DPT;
-import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator1BitControlled;
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteFloat;
 import tuwien.auto.calimero.dptxlator.DPTXlator3BitControlled;
@@ -51,7 +50,6 @@ import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
 import tuwien.auto.calimero.dptxlator.DPTXlatorDate;
 import tuwien.auto.calimero.dptxlator.DPTXlatorDateTime;
 import tuwien.auto.calimero.dptxlator.DPTXlatorTime;
-import tuwien.auto.calimero.dptxlator.TranslatorTypes;
 
 /**
  * This class encodes openHAB data types to strings for sending via Calimero
@@ -59,6 +57,7 @@ import tuwien.auto.calimero.dptxlator.TranslatorTypes;
  * Parts of this code are based on the openHAB KNXCoreTypeMapper by Kai Kreuzer et al.
  *
  * @author Jan N. Klug - Initial contribution
+ * @author Marcel Verpaalen - Use cached translators
  */
 @NonNullByDefault
 public class ValueEncoder {
@@ -85,9 +84,8 @@ public class ValueEncoder {
         String mainNumber = m.group("main");
 
         try {
-            DPTXlator translator = TranslatorTypes.createTranslator(Integer.parseInt(mainNumber),
-                    NORMALIZED_DPT.getOrDefault(dptId, dptId));
-            DPT dpt = translator.getType();
+            // only the DPT of the translator is used, which is immutable and can be shared
+            DPT dpt = DPTTranslators.get(NORMALIZED_DPT.getOrDefault(dptId, dptId)).getType();
 
             // check for HSBType first, because it extends PercentType as well
             if (value instanceof HSBType type) {
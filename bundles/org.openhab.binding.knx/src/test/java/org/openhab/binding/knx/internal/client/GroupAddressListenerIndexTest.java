@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.binding.knx.internal.handler.GroupAddressListener;
+
+import tuwien.auto.calimero.GroupAddress;
+
+/**
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ *
+ */
+@NonNullByDefault
+class GroupAddressListenerIndexTest {
+    private static final GroupAddress GA1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA3 = new GroupAddress(31, 7, 255);
+
+    private GroupAddressListener listener(Set<GroupAddress> groupAddresses) {
+        GroupAddressListener listener = mock(GroupAddressListener.class);
+        when(listener.getGroupAddresses()).thenReturn(groupAddresses);
+        return listener;
+    }
+
+    @Test
+    void testRegisterAndUnregister() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        GroupAddressListener listener1 = listener(Set.of(GA1, GA2));
+        GroupAddressListener listener2 = listener(Set.of(GA2));
+
+        index.register(listener1);
+        index.register(listener2);
+
+        assertEquals(Set.of(listener1), index.getListeners(GA1));
+        assertEquals(Set.of(listener1, listener2), index.getListeners(GA2));
+        assertTrue(index.getListeners(GA3).isEmpty());
+        // group addresses are compared by value
+        assertEquals(Set.of(listener1), index.getListeners(new GroupAddress(1, 2, 3)));
+
+        index.unregister(listener1);
+        assertTrue(index.getListeners(GA1).isEmpty());
+        assertEquals(Set.of(listener2), index.getListeners(GA2));
+
+        // unregistering twice is harmless
+        index.unregister(listener1);
+        index.unregister(listener2);
+        assertTrue(index.getListeners(GA2).isEmpty());
+    }
+
+    @Test
+    void testRegisterAgainUpdatesGroupAddresses() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        Set<GroupAddress> groupAddresses = new HashSet<>(Set.of(GA1, GA2));
+        GroupAddressListener listener = listener(groupAddresses);
+        index.register(listener);
+
+        groupAddresses.remove(GA1);
+        groupAddresses.add(GA3);
+        // not updated before registering again
+        assertEquals(Set.of(listener), index.getListeners(GA1));
+
+        index.register(listener);
+        assertTrue(index.getListeners(GA1).isEmpty());
+        assertEquals(Set.of(listener), index.getListeners(GA2));
+        assertEquals(Set.of(listener), index.getListeners(GA3));
+    }
+
+    @Test
+    void testUnregisterAfterGroupAddressesCleared() {
+        GroupAddressListenerIndex index = new GroupAddressListenerIndex();
+        Set<GroupAddress> groupAddresses = new HashSet<>(Set.of(GA1));
+        GroupAddressListener listener = listener(groupAddresses);
+        index.register(listener);
+
+        // a disposed handler clears its group addresses before unregistering
+        groupAddresses.clear();
+        index.unregister(listener);
+        assertTrue(index.getListeners(GA1).isEmpty());
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.knx.internal.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+
+import tuwien.auto.calimero.GroupAddress;
+import tuwien.auto.calimero.datapoint.CommandDP;
+import tuwien.auto.calimero.datapoint.Datapoint;
+
+/**
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ *
+ */
+@NonNullByDefault
+class ReadRequestSchedulerTest {
+    private static final GroupAddress GA1 = new GroupAddress(1, 2, 3);
+    private static final GroupAddress GA2 = new GroupAddress(1, 2, 4);
+    private static final GroupAddress GA3 = new GroupAddress(31, 7, 255);
+
+    private static Datapoint datapoint(GroupAddress groupAddress) {
+        return new CommandDP(groupAddress, "test", 0, "1.001");
+    }
+
+    private static GroupAddress pollAddress(ReadRequestScheduler scheduler) {
+        return Objects.requireNonNull(scheduler.poll()).getDatapoint().getMainAddress();
+    }
+
+    @Test
+    void testPriorityAndDeduplication() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(50, 3);
+
+        assertTrue(scheduler.add(datapoint(GA1), ReadPriority.LOW));
+        assertTrue(scheduler.add(datapoint(GA2), ReadPriority.NORMAL));
+        assertTrue(scheduler.add(datapoint(GA3), ReadPriority.NORMAL));
+        // already pending, moved to the higher priority
+        assertFalse(scheduler.add(datapoint(GA3), ReadPriority.HIGH));
+        // already pending, the priority is not lowered
+        assertFalse(scheduler.add(datapoint(GA2), ReadPriority.LOW));
+        assertEquals(3, scheduler.getStatistics().pending());
+
+        assertEquals(GA3, pollAddress(scheduler));
+        assertEquals(GA2, pollAddress(scheduler));
+        assertEquals(GA1, pollAddress(scheduler));
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    void testRetry() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(50, 2);
+        scheduler.add(datapoint(GA1), ReadPriority.NORMAL);
+        scheduler.add(datapoint(GA2), ReadPriority.NORMAL);
+
+        ReadDatapoint readDatapoint = Objects.requireNonNull(scheduler.poll());
+        readDatapoint.incrementRetries();
+        // retried after the other pending requests of the same priority
+        assertTrue(scheduler.retry(readDatapoint));
+        assertEquals(GA2, pollAddress(scheduler));
+        scheduler.succeeded();
+
+        readDatapoint = Objects.requireNonNull(scheduler.poll());
+        assertEquals(GA1, readDatapoint.getDatapoint().getMainAddress());
+        readDatapoint.incrementRetries();
+        assertFalse(scheduler.retry(readDatapoint));
+        assertNull(scheduler.poll());
+
+        ReadStatistics statistics = scheduler.getStatistics();
+        assertEquals(2, statistics.requested());
+        assertEquals(1, statistics.known());
+        assertEquals(1, statistics.failed());
+        assertTrue(statistics.allKnown());
+    }
+
+    @Test
+    void testValueReceivedCompletesPendingRequest() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(50, 3);
+        scheduler.add(datapoint(GA1), ReadPriority.NORMAL);
+        scheduler.add(datapoint(GA2), ReadPriority.NORMAL);
+
+        scheduler.valueReceived(GA3);
+        scheduler.valueReceived(GA1);
+        assertFalse(scheduler.getStatistics().allKnown());
+
+        assertEquals(GA2, pollAddress(scheduler));
+        assertNull(scheduler.poll());
+        scheduler.succeeded();
+
+        ReadStatistics statistics = scheduler.getStatistics();
+        assertEquals(2, statistics.known());
+        assertEquals(0, statistics.pending());
+        assertTrue(statistics.allKnown());
+
+        // later requests do not change the time until all states were known
+        scheduler.add(datapoint(GA3), ReadPriority.LOW);
+        statistics = scheduler.getStatistics();
+        assertTrue(statistics.allKnown());
+        assertEquals(3, statistics.requested());
+
+        scheduler.clear();
+        assertEquals(0, scheduler.getStatistics().requested());
+        assertFalse(scheduler.getStatistics().allKnown());
+        assertNull(scheduler.poll());
+    }
+
+    @Test
+    void testPacing() {
+        ReadRequestScheduler scheduler = new ReadRequestScheduler(50, 3);
+
+        // the pause is the gap after each completed read
+        assertEquals(50, scheduler.nextDelay(true));
+        assertEquals(50, scheduler.nextDelay(true));
+
+        // back off if the bus does not acknowledge
+        assertEquals(100, scheduler.nextDelay(false));
+        assertEquals(200, scheduler.nextDelay(false));
+        assertEquals(200, scheduler.getStatistics().pauseMillis());
+        for (int i = 0; i < 10; i++) {
+            scheduler.nextDelay(false);
+        }
+        assertEquals(5000, scheduler.getStatistics().pauseMillis());
+
+        // recover with acknowledged reads
+        assertEquals(2500, scheduler.nextDelay(true));
+        for (int i = 0; i < 10; i++) {
+            scheduler.nextDelay(true);
+        }
+        assertEquals(50, scheduler.getStatistics().pauseMillis());
+    }
+}
@@ -15,34 +15,47 @@ package org.openhab.binding.knx.internal.dpt;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.text.DecimalFormat;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.regex.Matcher;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.library.types.DecimalType;
 import org.openhab.core.library.types.HSBType;
 import org.openhab.core.library.types.IncreaseDecreaseType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
 import org.openhab.core.library.types.QuantityType;
 import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.library.unit.SIUnits;
 import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.Type;
 import org.openhab.core.util.ColorUtil;
 
+import tuwien.auto.calimero.KNXException;
+import tuwien.auto.calimero.KNXFormatException;
+import tuwien.auto.calimero.dptxlator.DPTXlator;
 import tuwien.auto.calimero.dptxlator.DPTXlator2ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteFloat;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator4ByteUnsigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator64BitSigned;
 import tuwien.auto.calimero.dptxlator.DPTXlator8BitSigned;
+import tuwien.auto.calimero.dptxlator.DPTXlatorBoolean;
 import tuwien.auto.calimero.dptxlator.DptXlator2ByteSigned;
+import tuwien.auto.calimero.dptxlator.TranslatorTypes;
 
 /**
  *
@@ -480,6 +493,57 @@ class DPTTest {
         assertNull(ValueDecoder.decode("235.61001", frameSizeTooLong, QuantityType.class));
     }
 
+    @Test
+    void dpt1DirectDecodingMatchesTranslator() throws KNXFormatException {
+        DPTXlatorBoolean translator = new DPTXlatorBoolean(DPTXlatorBoolean.DPT_SWITCH);
+        for (int i = 0; i < 256; i++) {
+            byte[] data = new byte[] { (byte) i };
+            translator.setData(data);
+            boolean value = translator.getValueBoolean();
+
+            assertEquals(OnOffType.from(value), ValueDecoder.decode("1.001", data, OnOffType.class));
+            assertEquals(value ? UpDownType.DOWN : UpDownType.UP,
+                    ValueDecoder.decode("1.008", data, UpDownType.class));
+            assertEquals(value ? OpenClosedType.OPEN : OpenClosedType.CLOSED,
+                    ValueDecoder.decode("1.009", data, OpenClosedType.class));
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "5.004", "5.010", "9.001", "9.004", "13.001", "13.010", "14.056", "14.057" })
+    void numericDirectDecodingMatchesTranslator(String dptId) throws KNXException {
+        DPTXlator translator = TranslatorTypes.createTranslator(0, dptId);
+        int typeSize = translator.getTypeSize();
+        Random random = new Random(typeSize);
+        // all values of 1 and 2 byte DPTs, random values including NaN and infinity for 4 byte DPTs
+        int count = typeSize <= 2 ? 1 << (8 * typeSize) : 10000;
+        for (int i = 0; i < count; i++) {
+            int raw = typeSize <= 2 ? i : random.nextInt();
+            byte[] data = new byte[typeSize];
+            for (int b = 0; b < typeSize; b++) {
+                data[b] = (byte) (raw >> (8 * (typeSize - 1 - b)));
+            }
+
+            assertEquals(decodeWithTranslator(translator, data), ValueDecoder.decode(dptId, data, QuantityType.class),
+                    dptId + " " + Arrays.toString(data));
+        }
+    }
+
+    private static @Nullable Type decodeWithTranslator(DPTXlator translator, byte[] data) throws KNXFormatException {
+        String dptId = translator.getType().getID();
+        if (dptId.startsWith("9.") && data[0] == (byte) 0x7f && data[1] == (byte) 0xff) {
+            // invalid value
+            return null;
+        }
+        translator.setData(data);
+        double value = translator.getNumericValue();
+        if (!Double.isFinite(value)) {
+            return null;
+        }
+        String unit = DPTUnits.getUnitForDpt(dptId);
+        return unit != null ? new QuantityType<>(value + " " + unit) : new DecimalType(value);
+    }
+
     @Test
     public void dpt251White() {
         // input data: color white
@@ -12,7 +12,9 @@
  */
 package org.openhab.binding.mqtt.generic;
 
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -22,6 +24,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -72,6 +75,7 @@ import org.slf4j.LoggerFactory;
  * because this base class implements {@link ChannelStateUpdateListener}.
  *
  * @author David Graeff - Initial contribution
+ * @author Marcel Verpaalen - Shared payloads for channels on the same topic
  */
 @NonNullByDefault
 public abstract class AbstractMQTTThingHandler extends BaseThingHandler
@@ -114,6 +118,23 @@ public abstract class AbstractMQTTThingHandler extends BaseThingHandler
         }).collect(FutureCollector.allOf());
     }
 
+    /**
+     * Let channel states subscribed to the same state topic decode each message once. Devices publishing a single
+     * JSON document for many channels then also have it parsed once by the transformations, instead of once per
+     * channel.
+     *
+     * @param channelStates The channel states of this thing
+     */
+    protected static void sharePayloads(Collection<ChannelState> channelStates) {
+        Map<String, List<ChannelState>> channelStatesByTopic = channelStates.stream()
+                .filter(channelState -> !channelState.getStateTopic().isBlank())
+                .collect(Collectors.groupingBy(ChannelState::getStateTopic));
+        channelStatesByTopic.values().forEach(topicChannelStates -> {
+            SharedPayload sharedPayload = topicChannelStates.size() > 1 ? new SharedPayload() : null;
+            topicChannelStates.forEach(channelState -> channelState.setSharedPayload(sharedPayload));
+        });
+    }
+
     /**
      * Called when the MQTT connection disappeared.
      * You should clean up all resources that depend on a working connection.
@@ -13,6 +13,7 @@
 package org.openhab.binding.mqtt.generic;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.IllegalFormatException;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
@@ -44,9 +45,16 @@ import org.slf4j.LoggerFactory;
  * Updates to the value are propagated via the {@link ChannelStateUpdateListener}.
  *
  * @author David Graeff - Initial contribution
+ * @author Marcel Verpaalen - Parse raw payloads without transformation
  */
 @NonNullByDefault
 public class ChannelState implements MqttMessageSubscriber {
+    /**
+     * The last payload parsed by {@link Value#parseMessage(byte[])} and its result.
+     */
+    private record RawMessage(byte[] payload, Type parsedType) {
+    }
+
     private final Logger logger = LoggerFactory.getLogger(ChannelState.class);
 
     // Immutable channel configuration
@@ -66,6 +74,8 @@ public class ChannelState implements MqttMessageSubscriber {
     private @Nullable ScheduledFuture<?> scheduledFuture;
     private CompletableFuture<@Nullable Void> future = CompletableFuture.completedFuture(null);
     private final Object futureLock = new Object();
+    private volatile @Nullable RawMessage lastRawMessage;
+    private @Nullable SharedPayload sharedPayload;
 
     /**
      * Creates a new channel state.
@@ -158,8 +168,19 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        // Without transformation, parse the payload directly if the value supports it
+        if (!incomingTransformation.isPresent() && !config.trigger) {
+            Type parsedType = parseRawMessage(payload);
+            if (parsedType != null) {
+                processParsedType(channelStateUpdateListener, parsedType);
+                return;
+            }
+        }
+
         // String value: Apply transformations
-        String strValue = new String(payload, StandardCharsets.UTF_8);
+        final SharedPayload sharedPayload = this.sharedPayload;
+        String strValue = sharedPayload != null ? sharedPayload.decode(payload)
+                : new String(payload, StandardCharsets.UTF_8);
         if (incomingTransformation.isPresent()) {
             Optional<String> transformedValue = incomingTransformation.apply(strValue);
             if (transformedValue.isEmpty()) {
@@ -204,6 +225,33 @@ public class ChannelState implements MqttMessageSubscriber {
             return;
         }
 
+        processParsedType(channelStateUpdateListener, parsedType);
+    }
+
+    /**
+     * Parse the payload without decoding it. Unchanged payloads are not parsed again, the update is still
+     * propagated, as listeners rely on receiving every update.
+     *
+     * @return the parsed type, or null if the payload has to be decoded and parsed from a string
+     */
+    private @Nullable Type parseRawMessage(byte[] payload) {
+        RawMessage lastRawMessage = this.lastRawMessage;
+        if (lastRawMessage != null && Arrays.equals(lastRawMessage.payload(), payload)) {
+            return lastRawMessage.parsedType();
+        }
+        Type parsedType;
+        try {
+            parsedType = cachedValue.parseMessage(payload);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            // parse the decoded payload again, which logs the error
+            return null;
+        }
+        // the payload is copied, in case the connection reuses the array
+        this.lastRawMessage = parsedType == null ? null : new RawMessage(payload.clone(), parsedType);
+        return parsedType;
+    }
+
+    private void processParsedType(ChannelStateUpdateListener channelStateUpdateListener, Type parsedType) {
         if (parsedType instanceof State parsedState) {
             cachedValue.update(parsedState);
         } else {
@@ -225,6 +273,15 @@ public class ChannelState implements MqttMessageSubscriber {
         receivedOrTimeout();
     }
 
+    /**
+     * Share the decoded payload with other channel states subscribed to the same state topic.
+     *
+     * @param sharedPayload The shared payload, or null to decode every payload individually
+     */
+    public void setSharedPayload(@Nullable SharedPayload sharedPayload) {
+        this.sharedPayload = sharedPayload;
+    }
+
     /**
      * Returns the state topic. Might be an empty string if this is a stateless channel (TRIGGER kind channel).
      */
@@ -273,6 +330,7 @@ public class ChannelState implements MqttMessageSubscriber {
         logger.debug("Unsubscribed channel {} from topic: {}", this.channelUID, config.stateTopic);
         this.connection = null;
         this.channelStateUpdateListener = null;
+        this.lastRawMessage = null;
         hasSubscribed = false;
         cachedValue.resetState();
     }
@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.generic;
+
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Decodes the payload of a message once for all {@link ChannelState}s subscribed to the same topic.
+ *
+ * The broker connection passes the same payload array to every subscriber of a topic, so the decoded payload of the
+ * last message is reused as long as the same array is passed in. All channels then transform the same string
+ * instance, which allows the JSONPATH transformation to find the document it parsed for the first channel by the
+ * identity of the string, and reuse it for every channel regardless of the message size.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class SharedPayload {
+    private byte @Nullable [] payload;
+    private String decoded = "";
+
+    /**
+     * Decode the payload as UTF-8.
+     *
+     * @param payload The payload of a message
+     * @return The decoded payload, the same instance for all calls with the same payload array
+     */
+    public synchronized String decode(byte[] payload) {
+        if (payload != this.payload) {
+            this.payload = payload;
+            decoded = new String(payload, StandardCharsets.UTF_8);
+        }
+        return decoded;
+    }
+}
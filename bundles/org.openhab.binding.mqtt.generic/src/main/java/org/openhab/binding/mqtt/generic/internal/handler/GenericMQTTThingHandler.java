@@ -53,6 +53,7 @@ import org.slf4j.LoggerFactory;
  * This handler manages manual created Things with manually added channels to link to MQTT topics.
  *
  * @author David Graeff - Initial contribution
+ * @author Marcel Verpaalen - Shared payloads for channels on the same topic
  */
 @NonNullByDefault
 public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements ChannelStateUpdateListener {
@@ -190,6 +191,8 @@ public class GenericMQTTThingHandler extends AbstractMQTTThingHandler implements
             }
         }
 
+        sharePayloads(channelStateByChannelUID.values());
+
         if (modified) {
             updateThing(thingBuilder.build());
         }
@@ -13,6 +13,7 @@
 package org.openhab.binding.mqtt.generic.values;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import javax.measure.Unit;
@@ -44,6 +45,7 @@ import org.slf4j.LoggerFactory;
  * </p>
  *
  * @author David Graeff - Initial contribution
+ * @author Marcel Verpaalen - Parse raw payloads
  */
 @NonNullByDefault
 public class NumberValue extends Value {
@@ -148,6 +150,42 @@ public class NumberValue extends Value {
         return parseCommand(command);
     }
 
+    @Override
+    public @Nullable Type parseMessage(byte[] payload) throws IllegalArgumentException {
+        if (!isPlainNumber(payload)) {
+            return null;
+        }
+        // the bytes are ASCII, DecimalType parses them like the TypeParser would, including the scale
+        return parseCommand(DecimalType.valueOf(new String(payload, StandardCharsets.US_ASCII)));
+    }
+
+    /**
+     * Checks for an optional minus sign, digits and optional decimals.
+     */
+    private static boolean isPlainNumber(byte[] payload) {
+        int i = payload.length > 0 && payload[0] == '-' ? 1 : 0;
+        int digits = 0;
+        while (i < payload.length && payload[i] >= '0' && payload[i] <= '9') {
+            i++;
+            digits++;
+        }
+        if (digits == 0) {
+            return false;
+        }
+        if (i < payload.length && payload[i] == '.') {
+            i++;
+            digits = 0;
+            while (i < payload.length && payload[i] >= '0' && payload[i] <= '9') {
+                i++;
+                digits++;
+            }
+            if (digits == 0) {
+                return false;
+            }
+        }
+        return i == payload.length;
+    }
+
     private BigDecimal getOldValue() {
         BigDecimal val = BigDecimal.ZERO;
         if (state instanceof DecimalType decimalCommand) {
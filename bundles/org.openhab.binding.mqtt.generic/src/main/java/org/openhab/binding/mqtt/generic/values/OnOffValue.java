@@ -14,6 +14,8 @@ package org.openhab.binding.mqtt.generic.values;
 
 import static java.util.function.Predicate.not;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -27,16 +29,23 @@ import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.CommandDescriptionBuilder;
 import org.openhab.core.types.CommandOption;
+import org.openhab.core.types.Type;
 
 /**
  * Implements an on/off boolean value.
  *
  * @author David Graeff - Initial contribution
+ * @author Marcel Verpaalen - Parse raw payloads
  */
 @NonNullByDefault
 public class OnOffValue extends Value {
+    private static final byte[] ON_BYTES = OnOffType.ON.name().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] OFF_BYTES = OnOffType.OFF.name().getBytes(StandardCharsets.US_ASCII);
+
     private final Set<String> onStates;
     private final Set<String> offStates;
+    private final byte[][] onStateBytes;
+    private final byte[][] offStateBytes;
     private final String onCommand;
     private final String offCommand;
 
@@ -91,6 +100,8 @@ public class OnOffValue extends Value {
         super(CoreItemFactory.SWITCH, List.of(OnOffType.class, StringType.class));
         this.onStates = Stream.of(onStates).filter(not(String::isBlank)).collect(Collectors.toSet());
         this.offStates = Stream.of(offStates).filter(not(String::isBlank)).collect(Collectors.toSet());
+        this.onStateBytes = toBytes(this.onStates);
+        this.offStateBytes = toBytes(this.offStates);
         this.onCommand = onCommand;
         this.offCommand = offCommand;
     }
@@ -111,6 +122,21 @@ public class OnOffValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Type parseMessage(byte[] payload) throws IllegalArgumentException {
+        // same order as parsing the decoded payload: the ON and OFF types first, then the configured states
+        if (Arrays.equals(payload, ON_BYTES)) {
+            return OnOffType.ON;
+        } else if (Arrays.equals(payload, OFF_BYTES)) {
+            return OnOffType.OFF;
+        } else if (contains(onStateBytes, payload)) {
+            return OnOffType.ON;
+        } else if (contains(offStateBytes, payload)) {
+            return OnOffType.OFF;
+        }
+        return null;
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         String formatPattern = pattern;
@@ -129,6 +155,19 @@ public class OnOffValue extends Value {
         return builder;
     }
 
+    private static byte[][] toBytes(Set<String> states) {
+        return states.stream().map(state -> state.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+    }
+
+    private static boolean contains(byte[][] states, byte[] payload) {
+        for (byte[] state : states) {
+            if (Arrays.equals(state, payload)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private static String defaultArgument(@Nullable String arg1, @Nullable String arg2, String defaultValue) {
         String result = arg1;
         if (result == null) {
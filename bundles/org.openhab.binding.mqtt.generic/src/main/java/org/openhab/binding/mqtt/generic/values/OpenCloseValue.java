@@ -12,6 +12,8 @@
  */
 package org.openhab.binding.mqtt.generic.values;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -20,16 +22,23 @@ import org.openhab.core.library.CoreItemFactory;
 import org.openhab.core.library.types.OpenClosedType;
 import org.openhab.core.library.types.StringType;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.Type;
 
 /**
  * Implements an open/close boolean value.
  *
  * @author David Graeff - Initial contribution
+ * @author Marcel Verpaalen - Parse raw payloads
  */
 @NonNullByDefault
 public class OpenCloseValue extends Value {
+    private static final byte[] OPEN_BYTES = OpenClosedType.OPEN.name().getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] CLOSED_BYTES = OpenClosedType.CLOSED.name().getBytes(StandardCharsets.US_ASCII);
+
     private final String openString;
     private final String closeString;
+    private final byte[] openBytes;
+    private final byte[] closeBytes;
 
     /**
      * Creates a contact Open/Close type.
@@ -38,6 +47,8 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, List.of(OpenClosedType.class, StringType.class));
         this.openString = OpenClosedType.OPEN.name();
         this.closeString = OpenClosedType.CLOSED.name();
+        this.openBytes = OPEN_BYTES;
+        this.closeBytes = CLOSED_BYTES;
     }
 
     /**
@@ -50,6 +61,8 @@ public class OpenCloseValue extends Value {
         super(CoreItemFactory.CONTACT, List.of(OpenClosedType.class, StringType.class));
         this.openString = openValue == null ? OpenClosedType.OPEN.name() : openValue;
         this.closeString = closeValue == null ? OpenClosedType.CLOSED.name() : closeValue;
+        this.openBytes = openString.getBytes(StandardCharsets.UTF_8);
+        this.closeBytes = closeString.getBytes(StandardCharsets.UTF_8);
     }
 
     @Override
@@ -68,6 +81,21 @@ public class OpenCloseValue extends Value {
         }
     }
 
+    @Override
+    public @Nullable Type parseMessage(byte[] payload) throws IllegalArgumentException {
+        // same order as parsing the decoded payload: the OPEN and CLOSED types first, then the configured strings
+        if (Arrays.equals(payload, OPEN_BYTES)) {
+            return OpenClosedType.OPEN;
+        } else if (Arrays.equals(payload, CLOSED_BYTES)) {
+            return OpenClosedType.CLOSED;
+        } else if (payload.length > 0 && Arrays.equals(payload, openBytes)) {
+            return OpenClosedType.OPEN;
+        } else if (payload.length > 0 && Arrays.equals(payload, closeBytes)) {
+            return OpenClosedType.CLOSED;
+        }
+        return null;
+    }
+
     @Override
     public String getMQTTpublishValue(Command command, @Nullable String pattern) {
         String formatPattern = pattern;
@@ -154,6 +154,21 @@ public abstract class Value {
         return parseCommand(command);
     }
 
+    /**
+     * Parses a raw MQTT payload into the proper type for this Value type, without decoding it into a string and
+     * parsing it with the {@link org.openhab.core.types.TypeParser} first. The result has to be the same as the one
+     * of {@link #parseMessage(Command)} for the decoded payload.
+     *
+     * The default implementation returns <code>null</code>, so that the payload is decoded and parsed as usual.
+     *
+     * @param payload The raw payload.
+     * @return The parsed type, or <code>null</code> if the payload can't be parsed directly.
+     * @exception IllegalArgumentException Thrown if for example the value is out of range.
+     */
+    public @Nullable Type parseMessage(byte[] payload) throws IllegalArgumentException {
+        return null;
+    }
+
     /**
      * Updates the internal value state with the given binary payload.
      *
@@ -37,6 +37,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.Spy;
@@ -221,6 +222,25 @@ public class ChannelStateTests {
         verify(channelStateUpdateListenerMock, times(3)).updateChannelState(eq(channelUIDMock), any());
     }
 
+    @Test
+    public void receiveRepeatedPayloadTest() {
+        NumberValue value = new NumberValue(null, null, new BigDecimal(10), null);
+        ChannelState c = spy(new ChannelState(config, channelUIDMock, value, channelStateUpdateListenerMock));
+        c.start(connectionMock, mock(ScheduledExecutorService.class), 100);
+
+        c.processMessage("state", "15".getBytes());
+        c.processMessage("state", "INCREASE".getBytes());
+        assertThat(value.getChannelState().toString(), is("25"));
+
+        // an unchanged payload is still propagated
+        c.processMessage("state", "15".getBytes());
+        assertThat(value.getChannelState().toString(), is("15"));
+        c.processMessage("state", "15".getBytes());
+        assertThat(value.getChannelState().toString(), is("15"));
+
+        verify(channelStateUpdateListenerMock, times(4)).updateChannelState(eq(channelUIDMock), any());
+    }
+
     @Test
     public void receiveDecimalFractionalTest() {
         NumberValue value = new NumberValue(null, null, new BigDecimal(10.5), null);
@@ -494,6 +514,32 @@ public class ChannelStateTests {
             verify(channelStateUpdateListenerMock, never()).updateChannelState(eq(channelUIDMock), any());
         }
 
+        @Test
+        public void transformationSharedPayloadTest() throws Exception {
+            ChannelConfig config = ChannelConfigBuilder.create("state", "command")
+                    .withTransformationPattern(List.of(T1_NAME + ":" + T1_PATTERN)).build();
+            SharedPayload sharedPayload = new SharedPayload();
+            ChannelState c1 = new ChannelState(config, channelUIDMock, new TextValue(), channelStateUpdateListenerMock);
+            ChannelState c2 = new ChannelState(config, channelUIDMock, new TextValue(), channelStateUpdateListenerMock);
+            c1.setSharedPayload(sharedPayload);
+            c2.setSharedPayload(sharedPayload);
+
+            byte[] payload = T1_INPUT.getBytes();
+            c1.processMessage("state", payload);
+            c2.processMessage("state", payload);
+
+            // both channels transform the same decoded instance
+            ArgumentCaptor<String> inputs = ArgumentCaptor.forClass(String.class);
+            verify(transformationService1Mock, times(2)).transform(eq(T1_PATTERN), inputs.capture());
+            assertThat(inputs.getAllValues().get(0), is(sameInstance(inputs.getAllValues().get(1))));
+            assertThat(c2.getCache().getChannelState().toString(), is(T1_RESULT));
+
+            // a new message is decoded again
+            c1.processMessage("state", T1_INPUT.getBytes());
+            verify(transformationService1Mock, times(3)).transform(eq(T1_PATTERN), inputs.capture());
+            assertThat(inputs.getValue(), is(not(sameInstance(inputs.getAllValues().get(0)))));
+        }
+
         @Test
         public void transformationPatternOutTest() throws Exception {
             ChannelConfig config = ChannelConfigBuilder.create("state", "command")
@@ -18,9 +18,12 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.openhab.binding.mqtt.generic.mapping.ColorMode;
 import org.openhab.core.library.types.DecimalType;
@@ -36,6 +39,7 @@ import org.openhab.core.library.types.UpDownType;
 import org.openhab.core.library.unit.MetricPrefix;
 import org.openhab.core.library.unit.Units;
 import org.openhab.core.types.Command;
+import org.openhab.core.types.Type;
 import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
 
@@ -55,6 +59,10 @@ public class ValueTests {
         return Objects.requireNonNull(TypeParser.parseCommand(v.getSupportedCommandTypes(), str));
     }
 
+    private @Nullable Type raw(Value v, String str) {
+        return v.parseMessage(str.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Test
     public void illegalTextStateUpdate() {
         TextValue v = new TextValue("one,two".split(","));
@@ -452,4 +460,43 @@ public class ValueTests {
         assertThat(v.parseMessage(new StringType("NULL")), is(UnDefType.NULL));
         assertThat(v.parseMessage(new StringType("")), is(new StringType("")));
     }
+
+    @Test
+    public void rawPayloadsParseLikeStrings() {
+        List<Value> values = List.of(new NumberValue(null, null, null, null),
+                new NumberValue(null, null, null, Units.WATT), new OnOffValue("fancyON", "fancyOff"),
+                new OnOffValue(new String[] { "LOCKED" }, new String[] { "UNLOCKED", "JAMMED" }, "LOCK", "UNLOCK"),
+                new OpenCloseValue(), new OpenCloseValue("fancyON", "fancyOff"));
+        List<String> payloads = List.of("0", "15", "-3", "007", "21.50", "-0.5", "ON", "OFF", "OPEN", "CLOSED",
+                "fancyON", "fancyOff", "LOCKED", "JAMMED");
+
+        for (Value v : values) {
+            for (String payload : payloads) {
+                Type type = raw(v, payload);
+                if (type != null) {
+                    assertThat(payload, type, is(v.parseMessage(p(v, payload))));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void rawPayloadsLeftToStringParsing() {
+        NumberValue number = new NumberValue(null, null, null, null);
+        assertNull(raw(number, ""));
+        assertNull(raw(number, "NaN"));
+        assertNull(raw(number, "INCREASE"));
+        assertNull(raw(number, "1e3"));
+        assertNull(raw(number, "1."));
+        assertNull(raw(number, ".5"));
+        assertNull(raw(number, " 1"));
+        assertThat(raw(number, "21.50"), is(new DecimalType(new BigDecimal("21.50"))));
+
+        assertNull(raw(new OnOffValue(), "on"));
+        assertNull(raw(new OnOffValue(), ""));
+        assertNull(raw(new OpenCloseValue(), "open"));
+
+        NumberValue limited = new NumberValue(BigDecimal.ZERO, BigDecimal.TEN, null, null);
+        assertThrows(IllegalArgumentException.class, () -> raw(limited, "11"));
+    }
 }
@@ -29,6 +29,7 @@ import org.slf4j.LoggerFactory;
  * Jinja2 template, providing the additional context and extensions required by Home Assistant
  *
  * @author Cody Cutrer - Initial contribution
+ * @author Marcel Verpaalen - Render trivial value templates without Python
  */
 @NonNullByDefault
 public class HomeAssistantChannelTransformation extends ChannelTransformation {
@@ -43,6 +44,7 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     private final HomeAssistantPythonBridge python;
     private final AbstractComponent<?> component;
     private final Value template;
+    private final @Nullable SimpleValueTemplate simpleTemplate;
     private final boolean command;
     private final String defaultValue;
     private final boolean parseValueAsInteger;
@@ -69,6 +71,8 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
         this.component = component;
         this.command = command;
         this.template = command ? python.newCommandTemplate(template) : python.newValueTemplate(template);
+        String source = command ? null : python.getTemplateSource(template);
+        this.simpleTemplate = source == null ? null : SimpleValueTemplate.parse(source);
         this.defaultValue = defaultValue;
         this.parseValueAsInteger = parseValueAsInteger;
     }
@@ -97,6 +101,10 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     }
 
     public @Nullable String transform(Object value) {
+        String result = renderSimpleTemplate(value);
+        if (result != null) {
+            return result;
+        }
         try {
             return command ? python.renderCommandTemplate(template, value)
                     : python.renderValueTemplate(template, value, defaultValue);
@@ -108,6 +116,11 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
     }
 
     public @Nullable String transform(Object value, Map<String, @Nullable Object> variables) {
+        // value and value_json take precedence over the variables, a simple template doesn't use any other
+        String result = renderSimpleTemplate(value);
+        if (result != null) {
+            return result;
+        }
         try {
             return command ? python.renderCommandTemplate(template, value, variables)
                     : python.renderValueTemplate(template, value, defaultValue, variables);
@@ -117,4 +130,16 @@ public class HomeAssistantChannelTransformation extends ChannelTransformation {
             return null;
         }
     }
+
+    private @Nullable String renderSimpleTemplate(Object value) {
+        SimpleValueTemplate localSimpleTemplate = simpleTemplate;
+        if (localSimpleTemplate == null || !(value instanceof String payload)) {
+            return null;
+        }
+        String result = localSimpleTemplate.render(payload);
+        if (result != null) {
+            python.countNativeRender();
+        }
+        return result;
+    }
 }
@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -30,6 +31,7 @@ import org.graalvm.python.embedding.VirtualFileSystem;
 import org.openhab.binding.mqtt.homeassistant.internal.exception.ConfigurationException;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,16 +39,38 @@ import org.slf4j.LoggerFactory;
  * Centralizes all calls into python to ensure thread safety and a single cached context
  *
  * @author Cody Cutrer - Initial contribution
+ * @author Marcel Verpaalen - Render statistics
  */
 @NonNullByDefault
 @Component(service = HomeAssistantPythonBridge.class)
 public class HomeAssistantPythonBridge {
     private static final String PYTHON = "python";
+    private static final int STATISTICS_LOG_INTERVAL = 1000;
+
+    /**
+     * @param pythonRenders the number of templates rendered by Python
+     * @param pythonRenderNanos the total time spent rendering templates in Python
+     * @param nativeRenders the number of value templates rendered by {@link SimpleValueTemplate}
+     */
+    record RenderStatistics(long pythonRenders, long pythonRenderNanos, long nativeRenders) {
+        public double nativeRatio() {
+            long total = pythonRenders + nativeRenders;
+            return total == 0 ? 0 : (double) nativeRenders / total;
+        }
+
+        public long averagePythonRenderNanos() {
+            return pythonRenders == 0 ? 0 : pythonRenderNanos / pythonRenders;
+        }
+    }
+
     private final Logger logger = LoggerFactory.getLogger(HomeAssistantPythonBridge.class);
     private final Context context;
     private final Value newRawTemplateMeth, newCommandTemplateMeth, newValueTemplateMeth, renderCommandTemplateMeth,
             renderValueTemplateMeth, renderCommandTemplateWithVariablesMeth, renderValueTemplateWithVariablesMeth,
             processDiscoveryConfigMeth, listMeth;
+    private final AtomicLong pythonRenders = new AtomicLong();
+    private final AtomicLong pythonRenderNanos = new AtomicLong();
+    private final AtomicLong nativeRenders = new AtomicLong();
 
     @Activate
     public HomeAssistantPythonBridge() {
@@ -105,6 +129,11 @@ public class HomeAssistantPythonBridge {
         listMeth = bindings.getMember("list");
     }
 
+    @Deactivate
+    public void deactivate() {
+        logStatistics();
+    }
+
     public Value newRawTemplate(String template) {
         return newRawTemplateMeth.execute(template);
     }
@@ -114,11 +143,21 @@ public class HomeAssistantPythonBridge {
     }
 
     public String renderCommandTemplate(Value template, Object value) {
-        return renderCommandTemplateMeth.execute(template, value).asString();
+        long start = System.nanoTime();
+        try {
+            return renderCommandTemplateMeth.execute(template, value).asString();
+        } finally {
+            countPythonRender(start);
+        }
     }
 
     public String renderCommandTemplate(Value template, Object value, Map<String, @Nullable Object> variables) {
-        return renderCommandTemplateWithVariablesMeth.execute(template, value, variables).asString();
+        long start = System.nanoTime();
+        try {
+            return renderCommandTemplateWithVariablesMeth.execute(template, value, variables).asString();
+        } finally {
+            countPythonRender(start);
+        }
     }
 
     public Value newValueTemplate(Value template) {
@@ -126,12 +165,61 @@ public class HomeAssistantPythonBridge {
     }
 
     public String renderValueTemplate(Value template, Object payload, String defaultValue) {
-        return renderValueTemplateMeth.execute(template, payload, defaultValue).asString();
+        long start = System.nanoTime();
+        try {
+            return renderValueTemplateMeth.execute(template, payload, defaultValue).asString();
+        } finally {
+            countPythonRender(start);
+        }
     }
 
     public String renderValueTemplate(Value template, Object payload, String defaultValue,
             Map<String, @Nullable Object> variables) {
-        return renderValueTemplateWithVariablesMeth.execute(template, payload, defaultValue, variables).asString();
+        long start = System.nanoTime();
+        try {
+            return renderValueTemplateWithVariablesMeth.execute(template, payload, defaultValue, variables).asString();
+        } finally {
+            countPythonRender(start);
+        }
+    }
+
+    /**
+     * Get the source of a template created by {@link #newRawTemplate(String)}.
+     *
+     * @return the stripped source of the template, or <code>null</code> if it is not available
+     */
+    public @Nullable String getTemplateSource(Value template) {
+        Value source = template.hasMembers() ? template.getMember("template") : null;
+        return source != null && source.isString() ? source.asString() : null;
+    }
+
+    /**
+     * Count a value template rendered without calling into Python.
+     */
+    void countNativeRender() {
+        if (nativeRenders.incrementAndGet() % STATISTICS_LOG_INTERVAL == 0) {
+            logStatistics();
+        }
+    }
+
+    RenderStatistics getRenderStatistics() {
+        return new RenderStatistics(pythonRenders.get(), pythonRenderNanos.get(), nativeRenders.get());
+    }
+
+    private void countPythonRender(long start) {
+        pythonRenderNanos.addAndGet(System.nanoTime() - start);
+        if (pythonRenders.incrementAndGet() % STATISTICS_LOG_INTERVAL == 0) {
+            logStatistics();
+        }
+    }
+
+    private void logStatistics() {
+        if (logger.isDebugEnabled()) {
+            RenderStatistics statistics = getRenderStatistics();
+            logger.debug("Rendered {} templates in Python, average {} us, {} value templates natively ({}%)",
+                    statistics.pythonRenders(), statistics.averagePythonRenderNanos() / 1000,
+                    statistics.nativeRenders(), Math.round(statistics.nativeRatio() * 100));
+        }
     }
 
     public Map<String, @Nullable Object> processDiscoveryConfig(String component, String payload) {
@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.binding.mqtt.homeassistant.internal;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Renders trivial value templates like <code>{{ value }}</code>, <code>{{ value_json.x }}</code> or
+ * <code>{{ value_json['a'].b | float }}</code> without calling into Python.
+ *
+ * The result is identical to the one of the Jinja2 template in Home Assistant. Whenever that can't be guaranteed
+ * cheaply (the payload is no valid JSON, a key is missing, the value is a container, a float would be rendered in
+ * scientific notation, ...), {@link #render(String)} returns <code>null</code> and the template has to be rendered by
+ * Python, which then also takes care of the error handling.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+class SimpleValueTemplate {
+
+    private static final Pattern TEMPLATE_PATTERN = Pattern
+            .compile("\\{\\{\\s*(value|value_json)((?:\\s*(?:\\.\\s*[A-Za-z_][A-Za-z0-9_]*|\\[\\s*'[^'\\\\]*'\\s*\\]"
+                    + "|\\[\\s*\"[^\"\\\\]*\"\\s*\\]|\\[\\s*\\d{1,9}\\s*\\]))*)\\s*(\\|\\s*float\\s*)?\\}\\}");
+    private static final Pattern SEGMENT_PATTERN = Pattern
+            .compile("\\.\\s*([A-Za-z_][A-Za-z0-9_]*)|\\[\\s*'([^'\\\\]*)'\\s*\\]|\\[\\s*\"([^\"\\\\]*)\"\\s*\\]"
+                    + "|\\[\\s*(\\d{1,9})\\s*\\]");
+    // strings accepted by Python's float() that are parsed identically by Double.parseDouble()
+    private static final Pattern FLOAT_PATTERN = Pattern.compile("[+-]?\\d+(?:\\.\\d+)?");
+
+    // attribute access in Jinja2 prefers attributes of the object over keys of a dict
+    private static final Set<String> DICT_ATTRIBUTES = Set.of("clear", "copy", "fromkeys", "get", "items", "keys",
+            "pop", "popitem", "setdefault", "update", "values");
+    // Python refuses to convert integers with more digits to a string
+    private static final int MAX_INT_DIGITS = 4300;
+
+    private static final TypeAdapter<JsonElement> JSON_ADAPTER = new Gson().getAdapter(JsonElement.class);
+
+    private final boolean json;
+    // String for a key of an object, Integer for an index of an array
+    private final List<Object> path;
+    private final boolean toFloat;
+
+    private SimpleValueTemplate(boolean json, List<Object> path, boolean toFloat) {
+        this.json = json;
+        this.path = path;
+        this.toFloat = toFloat;
+    }
+
+    /**
+     * Parse a template.
+     *
+     * @param template the source of the template
+     * @return the template, or <code>null</code> if it is not a trivial template
+     */
+    static @Nullable SimpleValueTemplate parse(String template) {
+        Matcher matcher = TEMPLATE_PATTERN.matcher(template.strip());
+        if (!matcher.matches()) {
+            return null;
+        }
+        boolean json = "value_json".equals(matcher.group(1));
+        List<Object> path = new ArrayList<>();
+        Matcher segment = SEGMENT_PATTERN.matcher(matcher.group(2));
+        while (segment.find()) {
+            String attribute = segment.group(1);
+            if (attribute != null) {
+                if (attribute.startsWith("_") || DICT_ATTRIBUTES.contains(attribute)) {
+                    return null;
+                }
+                path.add(attribute);
+            } else if (segment.group(2) != null) {
+                path.add(segment.group(2));
+            } else if (segment.group(3) != null) {
+                path.add(segment.group(3));
+            } else {
+                path.add(Integer.valueOf(segment.group(4)));
+            }
+        }
+        if (!json && !path.isEmpty()) {
+            // attributes of a string
+            return null;
+        }
+        return new SimpleValueTemplate(json, List.copyOf(path), matcher.group(3) != null);
+    }
+
+    /**
+     * Render the template.
+     *
+     * @param payload the payload of the MQTT message
+     * @return the rendered template, or <code>null</code> if it has to be rendered by Python
+     */
+    @Nullable
+    String render(String payload) {
+        String result;
+        if (json) {
+            JsonElement element = parseJson(payload);
+            for (Object key : path) {
+                if (element == null) {
+                    return null;
+                }
+                element = get(element, key);
+            }
+            if (!(element instanceof JsonPrimitive primitive)) {
+                // containers are rendered as Python dicts or lists, null is rendered as None but can't be a float
+                return element != null && element.isJsonNull() && !toFloat ? "None" : null;
+            }
+            result = toFloat ? toFloat(primitive) : toPythonString(primitive);
+        } else {
+            result = toFloat ? toFloat(payload) : payload;
+        }
+        return result == null ? null : strip(result);
+    }
+
+    private static @Nullable JsonElement get(JsonElement element, Object key) {
+        if (key instanceof Integer index) {
+            if (element instanceof JsonArray array && index < array.size()) {
+                return array.get(index);
+            }
+        } else if (element instanceof JsonObject object) {
+            return object.get((String) key);
+        }
+        return null;
+    }
+
+    private static @Nullable JsonElement parseJson(String payload) {
+        if (!hasStandardStrings(payload)) {
+            return null;
+        }
+        try (JsonReader reader = new JsonReader(new StringReader(payload))) {
+            JsonElement element = JSON_ADAPTER.read(reader);
+            return reader.peek() == JsonToken.END_DOCUMENT ? element : null;
+        } catch (IOException | JsonParseException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Check for control characters and <code>\'</code> escapes within strings, which are accepted by Gson but
+     * rejected by Python's json module.
+     */
+    private static boolean hasStandardStrings(String payload) {
+        boolean inString = false;
+        for (int i = 0; i < payload.length(); i++) {
+            char c = payload.charAt(i);
+            if (!inString) {
+                inString = c == '"';
+            } else if (c < 0x20) {
+                return false;
+            } else if (c == '\\') {
+                i++;
+                if (i < payload.length() && payload.charAt(i) == '\'') {
+                    return false;
+                }
+            } else if (c == '"') {
+                inString = false;
+            }
+        }
+        return true;
+    }
+
+    // str() of the Python value json.loads() returns
+    private static @Nullable String toPythonString(JsonPrimitive primitive) {
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean() ? "True" : "False";
+        } else if (primitive.isString()) {
+            return primitive.getAsString();
+        }
+        String literal = primitive.getAsString();
+        if (isIntegerLiteral(literal)) {
+            return literal.length() > MAX_INT_DIGITS ? null : new BigInteger(literal).toString();
+        }
+        return toPythonFloat(Double.parseDouble(literal));
+    }
+
+    private static @Nullable String toFloat(JsonPrimitive primitive) {
+        if (primitive.isNumber()) {
+            return toPythonFloat(Double.parseDouble(primitive.getAsString()));
+        }
+        // float() of a bool is 1.0 or 0.0, leave the rare case to Python
+        return primitive.isString() ? toFloat(primitive.getAsString()) : null;
+    }
+
+    private static @Nullable String toFloat(String value) {
+        return FLOAT_PATTERN.matcher(value).matches() ? toPythonFloat(Double.parseDouble(value)) : null;
+    }
+
+    private static boolean isIntegerLiteral(String literal) {
+        return literal.indexOf('.') < 0 && literal.indexOf('e') < 0 && literal.indexOf('E') < 0;
+    }
+
+    /**
+     * Format a float like Python's repr(), which is the shortest representation that reads back to the same value.
+     * Returns <code>null</code> for values Python formats in scientific notation, which are left to Python.
+     */
+    static @Nullable String toPythonFloat(double value) {
+        if (!Double.isFinite(value)) {
+            return null;
+        }
+        if (value == 0) {
+            return Double.doubleToRawLongBits(value) < 0 ? "-0.0" : "0.0";
+        }
+        // Double.toString() returns the shortest representation as well
+        BigDecimal decimal = new BigDecimal(Double.toString(value)).stripTrailingZeros();
+        int exponent = decimal.precision() - decimal.scale() - 1;
+        if (exponent < -4 || exponent >= 16) {
+            return null;
+        }
+        String result = decimal.toPlainString();
+        return result.indexOf('.') < 0 ? result + ".0" : result;
+    }
+
+    /**
+     * Strip whitespace like Python's str.strip(), which also considers non-breaking spaces as whitespace.
+     */
+    static String strip(String value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && isPythonWhitespace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && isPythonWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+        return value.substring(start, end);
+    }
+
+    private static boolean isPythonWhitespace(char c) {
+        return Character.isWhitespace(c) || c == '\u0085' || c == '\u00A0' || c == '\u2007' || c == '\u202F';
+    }
+}
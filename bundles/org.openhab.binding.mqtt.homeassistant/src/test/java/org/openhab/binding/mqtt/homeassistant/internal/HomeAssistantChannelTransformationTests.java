@@ -17,6 +17,9 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.*;
 
+import java.util.List;
+import java.util.Objects;
+
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.junit.jupiter.api.BeforeEach;
@@ -108,6 +111,52 @@ public class HomeAssistantChannelTransformationTests extends AbstractHomeAssista
                 is("off"));
     }
 
+    @Test
+    public void testSimpleTemplatesMatchPython() {
+        List<String> templates = List.of("{{ value }}", "{{value_json.val}}", "{{ value_json['val'] }}",
+                "{{ value_json[\"val\"] | float }}", "{{ value | float }}", "{{ value_json.a.b }}",
+                "{{ value_json.list[1] }}", "{{ value_json }}", "{{ value_json['items'] }}");
+        List<String> payloads = List.of("", "abc", " padded\u00A0", "12", "-0", "1.50", "1e3", "1e-7", "true", "null",
+                "{ \"val\": \" abc \" }", "{ \"val\": null }", "{ \"val\": true }", "{ \"val\": 12345678901234567890 }",
+                "{ \"val\": 21.50 }", "{ \"val\": -0.0 }", "{ \"val\": 0.0001 }", "{ \"val\": 1e16 }",
+                "{ \"val\": 123456789012345.6 }", "{ \"val\": \"3.25\" }", "{ \"val\": \"1_000\" }",
+                "{ \"val\": NaN }", "{ \"val\": \"\\u00e9\\n\" }", "{ \"val\": \"a\tb\" }", "{ \"val\": 1 } x",
+                "{ \"a\": { \"b\": \"c\" } }", "{ \"a\": [1] }", "{ \"list\": [1, 2.5] }", "{ \"items\": 1 }",
+                "[1, 2]", "\"quoted\"");
+
+        for (String template : templates) {
+            SimpleValueTemplate simpleTemplate = Objects.requireNonNull(SimpleValueTemplate.parse(template), template);
+            for (String payload : payloads) {
+                String result = simpleTemplate.render(payload);
+                if (result != null) {
+                    String expected = PYTHON.renderValueTemplate(
+                            PYTHON.newValueTemplate(PYTHON.newRawTemplate(template)), payload, "default");
+                    assertThat(template + " with " + payload, result, is(expected));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSimpleTemplates() {
+        assertThat(SimpleValueTemplate.parse("{{ value_json.val | int }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value_json.val }} W"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value.upper }}"), is(nullValue()));
+        assertThat(SimpleValueTemplate.parse("{{ value_json.items }}"), is(nullValue()));
+
+        long nativeRenders = PYTHON.getRenderStatistics().nativeRenders();
+        assertThat(transform("{{ value_json.val }}", "{ \"val\": 21.50 }"), is("21.5"));
+        assertThat(transform("{{ value_json['a'].b | float }}", "{ \"a\": { \"b\": 3 } }"), is("3.0"));
+        assertThat(transform("{{ value }}", " on "), is("on"));
+        assertThat(PYTHON.getRenderStatistics().nativeRenders(), is(nativeRenders + 3));
+
+        // missing keys are left to Python
+        assertThat(transform("{{ value_json.val }}", "{ \"other\": 1 }", "default"), is("default"));
+        assertThat(SimpleValueTemplate.toPythonFloat(1e16), is(nullValue()));
+        assertThat(SimpleValueTemplate.toPythonFloat(1e15), is("1000000000000000.0"));
+        assertThat(SimpleValueTemplate.toPythonFloat(0.1 + 0.2), is("0.30000000000000004"));
+    }
+
     protected @Nullable Object transform(String template, Object value) {
         return new HomeAssistantChannelTransformation(PYTHON, component, PYTHON.newRawTemplate(template), false)
                 .transform(value);
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Write-behind buffer grouping items into BatchWriteItem requests.
+ *
+ * Items are queued in memory, up to a configured capacity, and written in batches of at most
+ * {@value #MAX_BATCH_SIZE} items, the limit of a single BatchWriteItem request. A batch is sent as soon as enough
+ * items are queued, remaining items are sent periodically. The number of concurrent requests is limited, so that a
+ * burst of updates does not result in hundreds of requests in flight.
+ *
+ * A BatchWriteItem request must not contain two items with the same primary key, the item name and the time in
+ * milliseconds. Of such items only the last queued one is sent, as it would overwrite the others with PutItem anyway.
+ *
+ * Unprocessed items returned by DynamoDB (e.g. due to throttling) and failed requests are retried with exponential
+ * backoff and jitter. Items are dropped after {@value #MAX_RETRIES} retries.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriter {
+
+    public static final int MAX_BATCH_SIZE = 25;
+    static final int MAX_IN_FLIGHT = 4;
+    static final int MAX_RETRIES = 8;
+    static final long DEFAULT_INITIAL_BACKOFF = 50; // in ms
+    static final long MAX_BACKOFF = 5000; // in ms
+
+    /**
+     * Sends a batch of items.
+     */
+    @FunctionalInterface
+    interface BatchSender {
+        /**
+         * @param items the items to write, at most {@value DynamoDBBatchWriter#MAX_BATCH_SIZE}
+         * @return future completing with the items that have not been processed
+         */
+        CompletableFuture<List<DynamoDBItem<?>>> send(List<DynamoDBItem<?>> items);
+    }
+
+    public record Statistics(int queued, long requests, long written, long retries, long dropped) {
+    }
+
+    private record ItemKey(String name, long time) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(DynamoDBBatchWriter.class);
+
+    private final BatchSender sender;
+    private final ScheduledExecutorService scheduler;
+    private final int capacity;
+    private final long initialBackoff;
+    private final Deque<DynamoDBItem<?>> queue = new ArrayDeque<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final @Nullable ScheduledFuture<?> flushJob;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+
+    /**
+     * @param sender sends the batches
+     * @param scheduler executor for flushes and retries
+     * @param interval the interval for writing queued items in ms
+     * @param capacity the maximum number of queued items
+     */
+    public DynamoDBBatchWriter(BatchSender sender, ScheduledExecutorService scheduler, long interval, int capacity) {
+        this(sender, scheduler, interval, capacity, DEFAULT_INITIAL_BACKOFF);
+    }
+
+    DynamoDBBatchWriter(BatchSender sender, ScheduledExecutorService scheduler, long interval, int capacity,
+            long initialBackoff) {
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.capacity = capacity;
+        this.initialBackoff = initialBackoff;
+        this.flushJob = interval > 0
+                ? scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS)
+                : null;
+    }
+
+    /**
+     * Queue an item for writing.
+     *
+     * @param item the item
+     */
+    public void add(DynamoDBItem<?> item) {
+        boolean batchReady;
+        synchronized (queue) {
+            if (queue.size() >= capacity) {
+                if (dropped.getAndIncrement() % 1000 == 0) {
+                    logger.warn("Write queue is full ({} items), dropped {} items so far.", capacity, dropped.get());
+                }
+                return;
+            }
+            queue.add(item);
+            batchReady = queue.size() >= MAX_BATCH_SIZE;
+        }
+        if (batchReady) {
+            scheduler.execute(this::flushFullBatches);
+        }
+    }
+
+    /**
+     * Send queued items, as long as the number of requests in flight allows it.
+     */
+    public void flush() {
+        flush(false);
+    }
+
+    private void flushFullBatches() {
+        flush(true);
+    }
+
+    private void flush(boolean fullBatchesOnly) {
+        while (true) {
+            if (inFlight.incrementAndGet() > MAX_IN_FLIGHT) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            List<DynamoDBItem<?>> batch = poll(fullBatchesOnly);
+            if (batch.isEmpty()) {
+                inFlight.decrementAndGet();
+                return;
+            }
+            send(batch, 0);
+        }
+    }
+
+    /**
+     * Stop the periodic flush and try to write the queued items.
+     *
+     * @param timeout the maximum time to wait for queued items to be written
+     */
+    public void close(Duration timeout) {
+        ScheduledFuture<?> localFlushJob = flushJob;
+        if (localFlushJob != null) {
+            localFlushJob.cancel(false);
+        }
+        long end = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < end && (inFlight.get() > 0 || size() > 0)) {
+            flush();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        int remaining = size();
+        if (remaining > 0 || inFlight.get() > 0) {
+            logger.warn("Failed to write {} queued items and {} requests in flight before shutdown.", remaining,
+                    inFlight.get());
+        }
+        logger.debug("Batch writer statistics: {}", getStatistics());
+    }
+
+    public int size() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(size(), requests.get(), written.get(), retries.get(), dropped.get());
+    }
+
+    private List<DynamoDBItem<?>> poll(boolean fullBatchOnly) {
+        synchronized (queue) {
+            if (fullBatchOnly && queue.size() < MAX_BATCH_SIZE) {
+                return List.of();
+            }
+            Map<ItemKey, DynamoDBItem<?>> batch = new LinkedHashMap<>();
+            int superseded = 0;
+            DynamoDBItem<?> item;
+            while (batch.size() < MAX_BATCH_SIZE && (item = queue.poll()) != null) {
+                ItemKey key = new ItemKey(item.getName(), item.getTime().toInstant().toEpochMilli());
+                if (batch.put(key, item) != null) {
+                    // the same key in one request is rejected, keep the last value like PutItem would
+                    superseded++;
+                }
+            }
+            if (superseded > 0) {
+                logger.debug("Replaced {} items with the same name and time by a later value", superseded);
+            }
+            return new ArrayList<>(batch.values());
+        }
+    }
+
+    private void send(List<DynamoDBItem<?>> batch, int attempt) {
+        requests.incrementAndGet();
+        CompletableFuture<List<DynamoDBItem<?>>> future;
+        try {
+            future = sender.send(batch);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((unprocessed, exception) -> {
+            if (exception != null) {
+                Throwable cause = exception.getCause();
+                logger.debug("BatchWriteItem with {} items failed: {}", batch.size(),
+                        cause == null ? exception.getMessage() : cause.getMessage());
+                retry(batch, attempt);
+            } else if (!unprocessed.isEmpty()) {
+                written.addAndGet(batch.size() - unprocessed.size());
+                logger.trace("BatchWriteItem returned {} of {} items unprocessed", unprocessed.size(), batch.size());
+                retry(unprocessed, attempt);
+            } else {
+                written.addAndGet(batch.size());
+                completed();
+            }
+        });
+    }
+
+    private void retry(List<DynamoDBItem<?>> items, int attempt) {
+        if (attempt >= MAX_RETRIES) {
+            dropped.addAndGet(items.size());
+            logger.warn("Failed to write {} items after {} retries, dropping them.", items.size(), attempt);
+            completed();
+            return;
+        }
+        retries.incrementAndGet();
+        long backoff = Math.min(MAX_BACKOFF, initialBackoff << attempt);
+        // jitter spreads the retries of concurrent requests
+        long delay = ThreadLocalRandom.current().nextLong(backoff / 2, backoff + 1);
+        scheduler.schedule(() -> send(items, attempt + 1), delay, TimeUnit.MILLISECONDS);
+    }
+
+    private void completed() {
+        inFlight.decrementAndGet();
+        if (size() >= MAX_BATCH_SIZE) {
+            scheduler.execute(this::flushFullBatches);
+        }
+    }
+}
@@ -49,6 +49,8 @@ public class DynamoDBConfig {
     public static final String DEFAULT_TABLE_NAME = "openhab";
     public static final long DEFAULT_READ_CAPACITY_UNITS = 1;
     public static final long DEFAULT_WRITE_CAPACITY_UNITS = 1;
+    public static final long DEFAULT_BATCH_INTERVAL = 0;
+    public static final int DEFAULT_BATCH_QUEUE_SIZE = 10000;
     private static final Logger LOGGER = LoggerFactory.getLogger(DynamoDBConfig.class);
 
     private long readCapacityUnits;
@@ -60,6 +62,8 @@ public class DynamoDBConfig {
     private String table;
     private String tablePrefixLegacy;
     private @Nullable Integer expireDays;
+    private long batchInterval = DEFAULT_BATCH_INTERVAL;
+    private int batchQueueSize = DEFAULT_BATCH_QUEUE_SIZE;
 
     /**
      *
@@ -168,25 +172,58 @@ public class DynamoDBConfig {
                 }
             }
 
+            final long batchInterval;
+            String batchIntervalParam = (String) config.get("batchInterval");
+            if (batchIntervalParam == null || batchIntervalParam.isBlank()) {
+                batchInterval = DEFAULT_BATCH_INTERVAL;
+            } else {
+                batchInterval = Long.parseLong(batchIntervalParam);
+                if (batchInterval < 0) {
+                    LOGGER.error("batchInterval should be zero or positive integer");
+                    return null;
+                }
+            }
+
+            final int batchQueueSize;
+            String batchQueueSizeParam = (String) config.get("batchQueueSize");
+            if (batchQueueSizeParam == null || batchQueueSizeParam.isBlank()) {
+                batchQueueSize = DEFAULT_BATCH_QUEUE_SIZE;
+            } else {
+                batchQueueSize = Integer.parseInt(batchQueueSizeParam);
+                if (batchQueueSize <= 0) {
+                    LOGGER.error("batchQueueSize should be positive integer");
+                    return null;
+                }
+            }
+
+            final DynamoDBConfig dbConfig;
             switch (tableRevision) {
                 case NEW:
                     LOGGER.debug("Using new DynamoDB table schema");
-                    return DynamoDBConfig.newSchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            table, readCapacityUnits, writeCapacityUnits, expireDays);
+                    dbConfig = DynamoDBConfig.newSchema(region, credentials,
+                            retryMode.map(AwsRetryPolicy::forRetryMode), table, readCapacityUnits, writeCapacityUnits,
+                            expireDays);
+                    break;
                 case LEGACY:
                     LOGGER.warn(
                             "Using legacy DynamoDB table schema. It is recommended to transition to new schema by defining 'table' parameter and not configuring 'tablePrefix'");
-                    return DynamoDBConfig.legacySchema(region, credentials, retryMode.map(AwsRetryPolicy::forRetryMode),
-                            tablePrefixLegacy, readCapacityUnits, writeCapacityUnits);
+                    dbConfig = DynamoDBConfig.legacySchema(region, credentials,
+                            retryMode.map(AwsRetryPolicy::forRetryMode), tablePrefixLegacy, readCapacityUnits,
+                            writeCapacityUnits);
+                    break;
                 case MAYBE_LEGACY:
                     LOGGER.debug(
                             "Unclear whether we should use new legacy DynamoDB table schema. It is recommended to explicitly define new 'table' parameter. The correct table schema will be detected at runtime.");
-                    return DynamoDBConfig.maybeLegacySchema(region, credentials,
+                    dbConfig = DynamoDBConfig.maybeLegacySchema(region, credentials,
                             retryMode.map(AwsRetryPolicy::forRetryMode), table, tablePrefixLegacy, readCapacityUnits,
                             writeCapacityUnits, expireDays);
+                    break;
                 default:
                     throw new IllegalStateException("Unhandled enum. Bug");
             }
+            dbConfig.batchInterval = batchInterval;
+            dbConfig.batchQueueSize = batchQueueSize;
+            return dbConfig;
         } catch (Exception e) {
             LOGGER.error("Error with configuration: {} {}", e.getClass().getSimpleName(), e.getMessage());
             return null;
@@ -263,4 +300,15 @@ public class DynamoDBConfig {
     public @Nullable Integer getExpireDays() {
         return expireDays;
     }
+
+    /**
+     * @return interval in ms for writing items with BatchWriteItem, 0 if every item is written with PutItem
+     */
+    public long getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
 }
@@ -17,6 +17,7 @@ import java.net.URI;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -24,6 +25,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -72,7 +74,9 @@ import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClientBuilder;
@@ -89,6 +93,7 @@ import software.amazon.awssdk.services.dynamodb.model.ResourceNotFoundException;
  *
  * @author Sami Salonen - Initial contribution
  * @author Kai Kreuzer - Migration to 3.x
+ * @author Marcel Verpaalen - Batch writes
  *
  */
 @NonNullByDefault
@@ -104,6 +109,10 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
 
     private static final String DYNAMODB_THREADPOOL_NAME = "dynamodbPersistenceService";
 
+    private static final String DYNAMODB_BATCH_THREADPOOL_NAME = "dynamodbPersistenceServiceBatch";
+
+    private static final Duration TIMEOUT_BATCH_WRITER_CLOSE = Duration.ofSeconds(10);
+
     private final ItemRegistry itemRegistry;
     private final UnitProvider unitProvider;
     private @Nullable DynamoDbEnhancedAsyncClient client;
@@ -112,6 +121,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     private boolean isProperlyConfigured;
     private @Nullable DynamoDBConfig dbConfig;
     private @Nullable DynamoDBTableNameResolver tableNameResolver;
+    private @Nullable DynamoDBBatchWriter batchWriter;
     private final ExecutorService executor = ThreadPoolManager.getPool(DYNAMODB_THREADPOOL_NAME);
     private static final Duration TIMEOUT_API_CALL = Duration.ofSeconds(60);
     private static final Duration TIMEOUT_API_CALL_ATTEMPT = Duration.ofSeconds(5);
@@ -178,6 +188,7 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
 
     @Activate
     public void activate(final @Nullable BundleContext bundleContext, final Map<String, Object> config) {
+        closeBatchWriter();
         disconnect();
         DynamoDBConfig localDbConfig = dbConfig = DynamoDBConfig.fromConfig(config);
         if (localDbConfig == null) {
@@ -197,6 +208,13 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             return;
         }
 
+        if (localDbConfig.getBatchInterval() > 0) {
+            batchWriter = new DynamoDBBatchWriter(this::sendBatch,
+                    ThreadPoolManager.getScheduledPool(DYNAMODB_BATCH_THREADPOOL_NAME),
+                    localDbConfig.getBatchInterval(), localDbConfig.getBatchQueueSize());
+            logger.debug("Using batch writes every {} ms", localDbConfig.getBatchInterval());
+        }
+
         isProperlyConfigured = true;
         logger.debug("dynamodb persistence service activated");
     }
@@ -205,9 +223,26 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
     public void deactivate() {
         logger.debug("dynamodb persistence service deactivated");
         logIfManyQueuedTasks();
+        closeBatchWriter();
         disconnect();
     }
 
+    private void closeBatchWriter() {
+        DynamoDBBatchWriter localBatchWriter = batchWriter;
+        if (localBatchWriter != null) {
+            localBatchWriter.close(TIMEOUT_BATCH_WRITER_CLOSE);
+            batchWriter = null;
+        }
+    }
+
+    /**
+     * For tests
+     */
+    @Nullable
+    DynamoDBBatchWriter getBatchWriter() {
+        return batchWriter;
+    }
+
     /**
      * Initializes Dynamo DB client and determines schema
      *
@@ -566,27 +601,101 @@ public class DynamoDBPersistenceService implements QueryablePersistenceService {
             }
             logger.trace("store() called with item {} {} '{}', which was converted to DTO {}",
                     copiedItem.getClass().getSimpleName(), effectiveName, copiedItem.getState(), dto);
-            dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(
-                        DynamoDBBigDecimalItem dynamoBigDecimalItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
-                            getTable(DynamoDBBigDecimalItem.class));
-                }
-
-                @Override
-                public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
-                    return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
-                            getTable(DynamoDBStringItem.class));
-                }
-            }).putItemAsync();
+            DynamoDBBatchWriter localBatchWriter = batchWriter;
+            if (localBatchWriter != null) {
+                localBatchWriter.add(dto);
+            } else {
+                putItemAsync(dto);
+            }
         }, executor).exceptionally(e -> {
             logger.error("Unexcepted error", e);
             return null;
         });
     }
 
+    private CompletableFuture<Void> putItemAsync(DynamoDBItem<?> dto) {
+        return dto.accept(new DynamoDBItemVisitor<TableCreatingPutItem<? extends DynamoDBItem<?>>>() {
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBBigDecimalItem dynamoBigDecimalItem) {
+                return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoBigDecimalItem,
+                        getTable(DynamoDBBigDecimalItem.class));
+            }
+
+            @Override
+            public TableCreatingPutItem<? extends DynamoDBItem<?>> visit(DynamoDBStringItem dynamoStringItem) {
+                return new TableCreatingPutItem<>(DynamoDBPersistenceService.this, dynamoStringItem,
+                        getTable(DynamoDBStringItem.class));
+            }
+        }).putItemAsync();
+    }
+
+    /**
+     * Write items with BatchWriteItem requests, one request per DTO class
+     *
+     * With the new table schema, both DTO classes are stored in the same table. The unprocessed items of a request
+     * can only be read per table, and are mapped with the schema of the given table. Writing every DTO class with its
+     * own request ensures that unprocessed items are returned once, and with their own class.
+     *
+     * If a table does not exist yet, the items are written with PutItem requests, which create the table.
+     *
+     * @param items items to write, at most 25
+     * @return future completing with the items that were not processed by DynamoDB
+     */
+    private CompletableFuture<List<DynamoDBItem<?>>> sendBatch(List<DynamoDBItem<?>> items) {
+        DynamoDbEnhancedAsyncClient localClient = client;
+        if (!isProperlyConfigured || localClient == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Client not ready"));
+        }
+        List<DynamoDBBigDecimalItem> numberItems = new ArrayList<>();
+        List<DynamoDBStringItem> stringItems = new ArrayList<>();
+        for (DynamoDBItem<?> item : items) {
+            if (item instanceof DynamoDBBigDecimalItem numberItem) {
+                numberItems.add(numberItem);
+            } else if (item instanceof DynamoDBStringItem stringItem) {
+                stringItems.add(stringItem);
+            }
+        }
+        // A failed request fails the whole batch. Retrying the items of the other request writes the same values
+        // again, which does not change the table.
+        CompletableFuture<List<DynamoDBItem<?>>> numbersWritten = sendBatch(localClient, DynamoDBBigDecimalItem.class,
+                numberItems);
+        CompletableFuture<List<DynamoDBItem<?>>> stringsWritten = sendBatch(localClient, DynamoDBStringItem.class,
+                stringItems);
+        return numbersWritten.thenCombine(stringsWritten, (numbersUnprocessed, stringsUnprocessed) -> {
+            List<DynamoDBItem<?>> unprocessed = new ArrayList<>(numbersUnprocessed);
+            unprocessed.addAll(stringsUnprocessed);
+            return unprocessed;
+        });
+    }
+
+    private <T extends DynamoDBItem<?>> CompletableFuture<List<DynamoDBItem<?>>> sendBatch(
+            DynamoDbEnhancedAsyncClient localClient, Class<T> dtoClass, List<T> items) {
+        if (items.isEmpty()) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        DynamoDbAsyncTable<T> table = getTable(dtoClass);
+        WriteBatch.Builder<T> batch = WriteBatch.builder(dtoClass).mappedTableResource(table);
+        items.forEach(batch::addPutItem);
+        BatchWriteItemEnhancedRequest request = BatchWriteItemEnhancedRequest.builder().addWriteBatch(batch.build())
+                .build();
+        return localClient.batchWriteItem(request)
+                .<List<DynamoDBItem<?>>> thenApply(
+                        result -> new ArrayList<DynamoDBItem<?>>(result.unprocessedPutItemsForTable(table)))
+                .exceptionallyCompose(exception -> {
+                    Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+                    if (cause instanceof ResourceNotFoundException) {
+                        // Table does not exist yet. PutItem creates it.
+                        logger.debug("BatchWriteItem: table not present, writing {} items with PutItem",
+                                items.size());
+                        return CompletableFuture
+                                .allOf(items.stream().map(this::putItemAsync).toArray(CompletableFuture[]::new))
+                                .thenApply(v -> List.of());
+                    }
+                    return CompletableFuture.failedFuture(cause == null ? exception : cause);
+                });
+    }
+
     private Item getEffectiveItem(Item item) {
         final Item effectiveItem;
         if (item instanceof GroupItem groupItem) {
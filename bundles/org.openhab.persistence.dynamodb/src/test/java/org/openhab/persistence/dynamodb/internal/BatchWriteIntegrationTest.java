@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInfo;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.items.StringItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.persistence.FilterCriteria;
+import org.openhab.core.persistence.FilterCriteria.Ordering;
+import org.openhab.core.persistence.HistoricItem;
+import org.openhab.core.types.State;
+
+/**
+ * Tests writing number and string values with BatchWriteItem requests
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class BatchWriteIntegrationTest extends BaseIntegrationTest {
+
+    public static final boolean LEGACY_MODE = false;
+
+    private static final String NUMBER_ITEM = "batchNumber";
+    private static final String STRING_ITEM = "batchString";
+    // more than one batch of 25 values
+    private static final int VALUES = 15;
+
+    @BeforeAll
+    public static void enableBatchWrites(TestInfo testInfo) {
+        Map<String, Object> config = getConfig(isLegacyTest(testInfo), null, null);
+        config.put("batchInterval", "100");
+        DynamoDBPersistenceService localService = service;
+        assertNotNull(localService);
+        localService.activate(null, config);
+    }
+
+    @AfterEach
+    public void removeItems() {
+        ITEMS.remove(NUMBER_ITEM);
+        ITEMS.remove(STRING_ITEM);
+    }
+
+    @Test
+    public void testNumbersAndStringsInSameBatch() throws InterruptedException {
+        DynamoDBPersistenceService localService = service;
+        assertNotNull(localService);
+        NumberItem numberItem = new NumberItem(NUMBER_ITEM);
+        StringItem stringItem = new StringItem(STRING_ITEM);
+        ITEMS.put(NUMBER_ITEM, numberItem);
+        ITEMS.put(STRING_ITEM, stringItem);
+
+        // The first values create the tables with PutItem
+        numberItem.setState(new DecimalType(-1));
+        localService.store(numberItem);
+        stringItem.setState(StringType.valueOf("s-1"));
+        localService.store(stringItem);
+        waitForAssert(() -> {
+            assertEquals(List.of(new DecimalType(-1)), queryAll(NUMBER_ITEM));
+            assertEquals(List.of(StringType.valueOf("s-1")), queryAll(STRING_ITEM));
+        });
+
+        // The following values are written with BatchWriteItem requests containing both DTO classes
+        List<State> expectedNumbers = new ArrayList<>(List.of(new DecimalType(-1)));
+        List<State> expectedStrings = new ArrayList<>(List.of(StringType.valueOf("s-1")));
+        for (int i = 0; i < VALUES; i++) {
+            Thread.sleep(5);
+            numberItem.setState(new DecimalType(i));
+            localService.store(numberItem);
+            expectedNumbers.add(new DecimalType(i));
+            stringItem.setState(StringType.valueOf("s" + i));
+            localService.store(stringItem);
+            expectedStrings.add(StringType.valueOf("s" + i));
+        }
+
+        waitForAssert(() -> {
+            assertEquals(expectedNumbers, queryAll(NUMBER_ITEM));
+            assertEquals(expectedStrings, queryAll(STRING_ITEM));
+        });
+    }
+
+    private List<State> queryAll(String itemName) {
+        DynamoDBPersistenceService localService = service;
+        assertNotNull(localService);
+        FilterCriteria criteria = new FilterCriteria();
+        criteria.setOrdering(Ordering.ASCENDING);
+        criteria.setItemName(itemName);
+        List<State> states = new ArrayList<>();
+        for (HistoricItem historicItem : localService.query(criteria)) {
+            states.add(historicItem.getState());
+        }
+        return states;
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.dynamodb.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link DynamoDBBatchWriter} with a fake BatchWriteItem sender
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ *
+ */
+@NonNullByDefault
+public class DynamoDBBatchWriterTest {
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    private final List<DynamoDBItem<?>> writtenItems = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger maxBatchSize = new AtomicInteger();
+
+    @AfterEach
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    private static DynamoDBItem<?> item(int i) {
+        return new DynamoDBBigDecimalItem("item" + i, new BigDecimal(i), ZonedDateTime.now(), null);
+    }
+
+    private CompletableFuture<List<DynamoDBItem<?>>> succeed(List<DynamoDBItem<?>> items) {
+        requestCount.incrementAndGet();
+        maxBatchSize.accumulateAndGet(items.size(), Math::max);
+        writtenItems.addAll(items);
+        return CompletableFuture.completedFuture(List.of());
+    }
+
+    private void waitFor(DynamoDBBatchWriter writer, long items) throws InterruptedException {
+        long end = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < end) {
+            DynamoDBBatchWriter.Statistics statistics = writer.getStatistics();
+            if (statistics.written() + statistics.dropped() >= items) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    public void testBurstIsWrittenInBatches() throws InterruptedException {
+        DynamoDBBatchWriter writer = new DynamoDBBatchWriter(this::succeed, scheduler, 100, 10000);
+
+        for (int i = 0; i < 500; i++) {
+            writer.add(item(i));
+        }
+        waitFor(writer, 500);
+
+        assertEquals(500, writtenItems.size());
+        assertEquals(20, requestCount.get(), "500 items should be written with 20 requests");
+        assertEquals(20, writer.getStatistics().requests());
+        assertEquals(DynamoDBBatchWriter.MAX_BATCH_SIZE, maxBatchSize.get());
+    }
+
+    @Test
+    public void testItemsWithTheSameKeyAreNotSentInOneBatch() throws InterruptedException {
+        DynamoDBBatchWriter writer = new DynamoDBBatchWriter(this::succeed, scheduler, 0, 10000);
+        ZonedDateTime time = ZonedDateTime.now();
+
+        writer.add(new DynamoDBBigDecimalItem("item", BigDecimal.ONE, time, null));
+        writer.add(new DynamoDBBigDecimalItem("other", BigDecimal.ONE, time, null));
+        writer.add(new DynamoDBBigDecimalItem("item", BigDecimal.TEN, time, null));
+        writer.flush();
+        waitFor(writer, 2);
+
+        assertEquals(1, requestCount.get());
+        assertEquals(2, writtenItems.size());
+        assertEquals("item", writtenItems.get(0).getName());
+        assertEquals(BigDecimal.TEN, writtenItems.get(0).getState());
+        assertEquals("other", writtenItems.get(1).getName());
+        DynamoDBBatchWriter.Statistics statistics = writer.getStatistics();
+        assertEquals(2, statistics.written());
+        assertEquals(0, statistics.dropped());
+    }
+
+    @Test
+    public void testRemainingItemsAreWrittenPeriodically() throws InterruptedException {
+        DynamoDBBatchWriter writer = new DynamoDBBatchWriter(this::succeed, scheduler, 50, 10000);
+
+        for (int i = 0; i < 30; i++) {
+            writer.add(item(i));
+        }
+        waitFor(writer, 30);
+
+        assertEquals(30, writtenItems.size());
+        assertEquals(2, requestCount.get());
+    }
+
+    @Test
+    public void testUnprocessedItemsAreRetried() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        DynamoDBBatchWriter writer = new DynamoDBBatchWriter(items -> {
+            if (attempts.getAndIncrement() == 0) {
+                // first request: the last 5 items are not processed, e.g. due to throttling
+                writtenItems.addAll(items.subList(0, items.size() - 5));
+                return CompletableFuture.completedFuture(List.copyOf(items.subList(items.size() - 5, items.size())));
+            }
+            return succeed(items);
+        }, scheduler, 50, 10000, 1);
+
+        for (int i = 0; i < 25; i++) {
+            writer.add(item(i));
+        }
+        waitFor(writer, 25);
+
+        DynamoDBBatchWriter.Statistics statistics = writer.getStatistics();
+        assertEquals(25, writtenItems.size());
+        assertEquals(25, statistics.written());
+        assertEquals(2, statistics.requests());
+        assertEquals(1, statistics.retries());
+        assertEquals(0, statistics.dropped());
+    }
+
+    @Test
+    public void testFailingRequestsAreDroppedAfterRetries() throws InterruptedException {
+        DynamoDBBatchWriter writer = new DynamoDBBatchWriter(
+                items -> CompletableFuture.failedFuture(new IllegalStateException("unavailable")), scheduler, 50, 10000,
+                1);
+
+        for (int i = 0; i < 25; i++) {
+            writer.add(item(i));
+        }
+        waitFor(writer, 25);
+
+        DynamoDBBatchWriter.Statistics statistics = writer.getStatistics();
+        assertEquals(0, statistics.written());
+        assertEquals(25, statistics.dropped());
+        assertEquals(DynamoDBBatchWriter.MAX_RETRIES, statistics.retries());
+        assertEquals(DynamoDBBatchWriter.MAX_RETRIES + 1, statistics.requests());
+    }
+
+    @Test
+    public void testQueueIsBounded() {
+        DynamoDBBatchWriter writer = new DynamoDBBatchWriter(this::succeed, scheduler, 0, 10);
+
+        for (int i = 0; i < 15; i++) {
+            writer.add(item(i));
+        }
+
+        assertEquals(10, writer.size());
+        assertEquals(5, writer.getStatistics().dropped());
+    }
+
+    @Test
+    public void testCloseWritesQueuedItems() {
+        DynamoDBBatchWriter writer = new DynamoDBBatchWriter(this::succeed, scheduler, 0, 10000);
+
+        for (int i = 0; i < 10; i++) {
+            writer.add(item(i));
+        }
+        writer.close(Duration.ofSeconds(5));
+
+        assertEquals(10, writtenItems.size());
+        assertEquals(0, writer.size());
+    }
+}
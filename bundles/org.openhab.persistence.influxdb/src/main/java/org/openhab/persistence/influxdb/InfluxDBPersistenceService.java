@@ -14,9 +14,9 @@ package org.openhab.persistence.influxdb;
 
 import static org.openhab.persistence.influxdb.internal.InfluxDBConstants.*;
 
+import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -24,15 +24,14 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
@@ -53,6 +52,7 @@ import org.openhab.persistence.influxdb.internal.InfluxDBConfiguration;
 import org.openhab.persistence.influxdb.internal.InfluxDBHistoricItem;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
 import org.openhab.persistence.influxdb.internal.InfluxDBPersistentItemInfo;
+import org.openhab.persistence.influxdb.internal.InfluxDBPointQueue;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBStateConvertUtils;
 import org.openhab.persistence.influxdb.internal.InfluxPoint;
@@ -86,6 +86,7 @@ import org.slf4j.LoggerFactory;
  * @author Joan Pujol Espinar - Addon rewrite refactoring code and adding
  *         support for InfluxDB 2.0. Some tag code is based from not integrated
  *         branch from Dominik Vorreiter
+ * @author Marcel Verpaalen - bounded queue and adaptive batching
  */
 @NonNullByDefault
 @Component(service = { PersistenceService.class,
@@ -110,7 +111,7 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
 
     // storage
     private final ScheduledFuture<?> storeJob;
-    private final BlockingQueue<InfluxPoint> pointsQueue = new LinkedBlockingQueue<>();
+    private final InfluxDBPointQueue pointsQueue;
 
     // conversion
     private final Set<ItemFactory> itemFactories = new HashSet<>();
@@ -123,6 +124,9 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         this.influxDBMetadataService = influxDBMetadataService;
         this.configuration = new InfluxDBConfiguration(config);
         if (configuration.isValid()) {
+            this.pointsQueue = new InfluxDBPointQueue(configuration.getQueueSize(),
+                    configuration.getSpillSize() > 0 ? getSpillDirectory() : null,
+                    configuration.getSpillSize() * 1024L * 1024L);
             this.influxDBRepository = createInfluxDBRepository();
             this.influxDBRepository.connect();
             this.storeJob = ThreadPoolManager.getScheduledPool("org.openhab.influxdb")
@@ -144,6 +148,11 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         };
     }
 
+    // Visible for testing
+    protected Path getSpillDirectory() {
+        return Path.of(OpenHAB.getUserDataFolder(), "persistence", SERVICE_NAME, "spill");
+    }
+
     /**
      * Disconnect from database when service is deactivated
      */
@@ -154,9 +163,16 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         storeJob.cancel(false);
         commit(); // ensure we at least tried to store the data;
 
-        if (!pointsQueue.isEmpty()) {
-            logger.warn("InfluxDB failed to finally store {} points.", pointsQueue.size());
+        InfluxDBPointQueue.Statistics statistics = pointsQueue.getStatistics();
+        if (statistics.queued() > 0) {
+            logger.warn("InfluxDB failed to finally store {} points.", statistics.queued());
         }
+        if (statistics.spilledSegments() > 0) {
+            logger.info("InfluxDB keeps {} segments of spilled points for the next start.",
+                    statistics.spilledSegments());
+        }
+        logger.debug("InfluxDB queue statistics: {}", statistics);
+        pointsQueue.close();
 
         influxDBRepository.disconnect();
         logger.info("InfluxDB persistence service stopped.");
@@ -209,11 +225,8 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
                 logger.trace("Ignoring item {}, conversion to an InfluxDB point failed.", item.getName());
                 return;
             }
-            if (pointsQueue.offer(point)) {
-                logger.trace("Queued {} for item {}", point, item);
-            } else {
-                logger.warn("Failed to queue {} for item {}", point, item);
-            }
+            pointsQueue.offer(point);
+            logger.trace("Queued {} for item {}", point, item);
         });
     }
 
@@ -283,20 +296,52 @@ public class InfluxDBPersistenceService implements ModifiablePersistenceService
         return false;
     }
 
-    private void commit() {
-        if (!pointsQueue.isEmpty() && checkConnection()) {
-            List<InfluxPoint> points = new ArrayList<>();
-            pointsQueue.drainTo(points);
-            if (!influxDBRepository.write(points)) {
+    /**
+     * Get the statistics of the queue of points waiting to be written, e.g. for the console.
+     *
+     * @return the statistics
+     */
+    public InfluxDBPointQueue.Statistics getQueueStatistics() {
+        return pointsQueue.getStatistics();
+    }
+
+    // Visible for testing
+    synchronized void commit() {
+        if (pointsQueue.isEmpty() || !checkConnection()) {
+            return;
+        }
+        // spilled points are older than the points in memory, write them first to keep the order
+        InfluxDBPointQueue.SpillSegment segment;
+        while ((segment = pointsQueue.nextSpilledSegment()) != null) {
+            if (!write(segment.points())) {
+                logger.warn("Failed to write {} spilled elements, keeping them for the next attempt.",
+                        segment.points().size());
+                influxDBRepository.disconnect();
+                return;
+            }
+            pointsQueue.replayed(segment);
+            logger.debug("Wrote {} spilled elements to database", segment.points().size());
+        }
+        List<InfluxPoint> points;
+        while (!pointsQueue.hasSpilledPoints() && !(points = pointsQueue.poll()).isEmpty()) {
+            if (!write(points)) {
                 logger.warn("Re-queuing {} elements, failed to write batch.", points.size());
-                pointsQueue.addAll(points);
+                pointsQueue.requeue(points);
                 influxDBRepository.disconnect();
-            } else {
-                logger.trace("Wrote {} elements to database", points.size());
+                return;
             }
+            pointsQueue.written(points.size());
+            logger.trace("Wrote {} elements to database", points.size());
         }
     }
 
+    private boolean write(List<InfluxPoint> points) {
+        long start = System.nanoTime();
+        boolean success = influxDBRepository.write(points);
+        pointsQueue.recordWrite(success, points.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return success;
+    }
+
     /**
      * Convert incoming data to an {@link InfluxPoint} for further processing. This is needed because storage is
      * asynchronous and the item data may have changed.
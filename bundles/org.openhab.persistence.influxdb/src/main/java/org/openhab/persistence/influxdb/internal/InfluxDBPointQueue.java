@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link InfluxDBPointQueue} holds the points waiting to be written to the database.
+ *
+ * The number of points kept in memory is limited. If a spill directory is configured and the limit is reached, the
+ * oldest points in memory are moved to segment files in this directory, which are replayed when the database is
+ * reachable again. Segments left over from a previous run are replayed as well. Spilled points are therefore always
+ * older than the points in memory and have to be written first. Without spill directory, or when the spill limit is
+ * reached, the oldest points in memory are dropped.
+ *
+ * The size of the batches written to the database adapts to the write latency.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBPointQueue {
+
+    public static final int MIN_BATCH_SIZE = 100;
+    public static final int MAX_BATCH_SIZE = 10000;
+    public static final int INITIAL_BATCH_SIZE = 1000;
+    public static final long TARGET_WRITE_TIME = 1000; // in ms
+
+    private static final int SEGMENT_SIZE = 1000; // points per spill segment
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+    private static final long DROP_WARNING_INTERVAL = 60000; // in ms
+
+    private static final byte VALUE_STRING = 0;
+    private static final byte VALUE_DECIMAL = 1;
+    private static final byte VALUE_LONG = 2;
+    private static final byte VALUE_INTEGER = 3;
+    private static final byte VALUE_DOUBLE = 4;
+    private static final byte VALUE_BOOLEAN = 5;
+
+    public record Statistics(int queued, int capacity, int spilledSegments, long spilledBytes, int batchSize,
+            long enqueued, long written, long dropped, long spilled, long replayed) {
+    }
+
+    /**
+     * A spilled segment read for replay.
+     */
+    public record SpillSegment(Path path, List<InfluxPoint> points) {
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(InfluxDBPointQueue.class);
+
+    private final Deque<InfluxPoint> queue = new ArrayDeque<>();
+    private final int capacity;
+    private final @Nullable Path spillDirectory;
+    private final long maxSpillBytes;
+
+    private final Deque<Path> segments = new ArrayDeque<>();
+    private @Nullable DataOutputStream spillOut;
+    private @Nullable Path spillFile;
+    private int spillCount = 0;
+    private long spillBytes = 0;
+    private int segmentSequence = 0;
+
+    private int batchSize = INITIAL_BATCH_SIZE;
+    private long lastDropWarning = 0;
+
+    private long enqueued = 0;
+    private long written = 0;
+    private long dropped = 0;
+    private long spilled = 0;
+    private long replayed = 0;
+
+    /**
+     * @param capacity the maximum number of points kept in memory
+     * @param spillDirectory the directory for spilled points or null to drop points exceeding the capacity
+     * @param maxSpillBytes the maximum size of all spilled segments
+     */
+    public InfluxDBPointQueue(int capacity, @Nullable Path spillDirectory, long maxSpillBytes) {
+        this.capacity = Math.max(capacity, 1);
+        this.spillDirectory = spillDirectory;
+        this.maxSpillBytes = maxSpillBytes;
+        if (spillDirectory != null && Files.isDirectory(spillDirectory)) {
+            try (Stream<Path> files = Files.list(spillDirectory)) {
+                files.filter(InfluxDBPointQueue::isSegment).sorted().forEach(path -> {
+                    segments.add(path);
+                    spillBytes += fileSize(path);
+                });
+            } catch (IOException e) {
+                logger.warn("Failed to read spilled points from '{}': {}", spillDirectory, e.getMessage());
+            }
+            if (!segments.isEmpty()) {
+                logger.info("Found {} segments with spilled points, they are written when InfluxDB is reachable",
+                        segments.size());
+            }
+        }
+    }
+
+    /**
+     * Add a point to the queue.
+     *
+     * @param point the point
+     */
+    public synchronized void offer(InfluxPoint point) {
+        enqueued++;
+        if (queue.size() >= capacity) {
+            // keep the most recent points in memory
+            InfluxPoint oldest = queue.poll();
+            if (oldest != null && !spill(oldest)) {
+                drop(1);
+            }
+        }
+        queue.add(point);
+    }
+
+    /**
+     * Remove the points for the next batch from the queue.
+     *
+     * @return the points, at most the current batch size
+     */
+    public synchronized List<InfluxPoint> poll() {
+        int count = Math.min(batchSize, queue.size());
+        List<InfluxPoint> points = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            points.add(queue.poll());
+        }
+        return points;
+    }
+
+    /**
+     * Put the points of a failed batch back to the head of the queue. The oldest points exceeding the capacity are
+     * spilled or dropped.
+     *
+     * @param points the points in ascending order of their age in the queue
+     */
+    public synchronized void requeue(List<InfluxPoint> points) {
+        // the points are newer than the spilled points, so the oldest of them can be spilled without changing the order
+        int overflow = Math.max(0, Math.min(points.size(), queue.size() + points.size() - capacity));
+        for (int i = 0; i < overflow; i++) {
+            if (!spill(points.get(i))) {
+                drop(1);
+            }
+        }
+        for (int i = points.size() - 1; i >= overflow; i--) {
+            queue.addFirst(points.get(i));
+        }
+    }
+
+    /**
+     * Check if spilled points are waiting to be written. These are older than the points in memory.
+     *
+     * @return true if points are spilled
+     */
+    public synchronized boolean hasSpilledPoints() {
+        return !segments.isEmpty() || spillCount > 0;
+    }
+
+    /**
+     * Read the oldest spilled segment. The segment stays on disk until {@link #replayed(SpillSegment)} is called.
+     *
+     * @return the segment or null if no points are spilled
+     */
+    public synchronized @Nullable SpillSegment nextSpilledSegment() {
+        if (segments.isEmpty()) {
+            // replay the segment currently written as well
+            closeSegment();
+        }
+        Path path = segments.peek();
+        if (path == null) {
+            return null;
+        }
+        try {
+            return new SpillSegment(path, readSegment(path));
+        } catch (IOException e) {
+            logger.warn("Discarding unreadable segment '{}': {}", path, e.getMessage());
+            removeSegment(path);
+            return null;
+        }
+    }
+
+    /**
+     * Remove a segment after its points have been written.
+     *
+     * @param segment the segment returned by {@link #nextSpilledSegment()}
+     */
+    public synchronized void replayed(SpillSegment segment) {
+        removeSegment(segment.path());
+        replayed += segment.points().size();
+        written += segment.points().size();
+    }
+
+    /**
+     * Record the result of a write and adapt the batch size. The batch size is increased if full batches are written
+     * fast, and reduced if writing takes too long or fails.
+     *
+     * @param success true if the points have been written
+     * @param points the number of points
+     * @param duration the duration of the write in ms
+     */
+    public synchronized void recordWrite(boolean success, int points, long duration) {
+        if (!success || duration > TARGET_WRITE_TIME) {
+            batchSize = Math.max(batchSize / 2, MIN_BATCH_SIZE);
+        } else if (points >= batchSize && duration < TARGET_WRITE_TIME / 2) {
+            batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Record points written from memory.
+     *
+     * @param points the number of points
+     */
+    public synchronized void written(int points) {
+        written += points;
+    }
+
+    public synchronized boolean isEmpty() {
+        return queue.isEmpty() && segments.isEmpty() && spillCount == 0;
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    public synchronized Statistics getStatistics() {
+        return new Statistics(queue.size(), capacity, segments.size() + (spillCount > 0 ? 1 : 0), spillBytes,
+                batchSize, enqueued, written, dropped, spilled, replayed);
+    }
+
+    /**
+     * Close the segment currently written. Spilled points are kept on disk and replayed after a restart.
+     */
+    public synchronized void close() {
+        closeSegment();
+    }
+
+    private void drop(int points) {
+        dropped += points;
+        long now = System.currentTimeMillis();
+        if (now - lastDropWarning > DROP_WARNING_INTERVAL) {
+            lastDropWarning = now;
+            logger.warn("InfluxDB queue is full, dropped {} points so far", dropped);
+        }
+    }
+
+    private boolean spill(InfluxPoint point) {
+        Path directory = spillDirectory;
+        if (directory == null || spillBytes >= maxSpillBytes) {
+            return false;
+        }
+        try {
+            DataOutputStream out = spillOut;
+            if (out == null) {
+                Files.createDirectories(directory);
+                Path path = directory.resolve(String.format("%s%013d-%06d%s", SEGMENT_PREFIX,
+                        System.currentTimeMillis(), segmentSequence++ % 1000000, SEGMENT_SUFFIX));
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+                spillOut = out;
+                spillFile = path;
+                spillCount = 0;
+            }
+            int before = out.size();
+            writePoint(out, point);
+            spillBytes += out.size() - before;
+            spilled++;
+            if (++spillCount >= SEGMENT_SIZE) {
+                closeSegment();
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to spill points to '{}': {}", directory, e.getMessage());
+            closeSegment();
+            return false;
+        }
+    }
+
+    private void closeSegment() {
+        DataOutputStream out = spillOut;
+        Path path = spillFile;
+        spillOut = null;
+        spillFile = null;
+        if (out == null || path == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close segment '{}': {}", path, e.getMessage());
+        }
+        if (spillCount > 0) {
+            segments.add(path);
+        } else {
+            deleteFile(path);
+        }
+        spillCount = 0;
+    }
+
+    private void removeSegment(Path path) {
+        segments.remove(path);
+        spillBytes = Math.max(0, spillBytes - fileSize(path));
+        deleteFile(path);
+    }
+
+    private List<InfluxPoint> readSegment(Path path) throws IOException {
+        List<InfluxPoint> points = new ArrayList<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            while (true) {
+                int marker = in.read();
+                if (marker == -1) {
+                    break;
+                }
+                points.add(readPoint(in));
+            }
+        } catch (EOFException e) {
+            // the segment was not closed properly, keep the points read so far
+            logger.debug("Segment '{}' is truncated after {} points", path, points.size());
+        }
+        return points;
+    }
+
+    private void writePoint(DataOutputStream out, InfluxPoint point) throws IOException {
+        out.writeByte(1);
+        out.writeUTF(point.getMeasurementName());
+        out.writeLong(point.getTime().getEpochSecond());
+        out.writeInt(point.getTime().getNano());
+        Object value = point.getValue();
+        if (value instanceof BigDecimal decimal) {
+            out.writeByte(VALUE_DECIMAL);
+            writeString(out, decimal.toString());
+        } else if (value instanceof Long longValue) {
+            out.writeByte(VALUE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Integer intValue) {
+            out.writeByte(VALUE_INTEGER);
+            out.writeInt(intValue);
+        } else if (value instanceof Double doubleValue) {
+            out.writeByte(VALUE_DOUBLE);
+            out.writeDouble(doubleValue);
+        } else if (value instanceof Boolean booleanValue) {
+            out.writeByte(VALUE_BOOLEAN);
+            out.writeBoolean(booleanValue);
+        } else {
+            out.writeByte(VALUE_STRING);
+            writeString(out, String.valueOf(value));
+        }
+        Map<String, String> tags = point.getTags();
+        out.writeInt(tags.size());
+        for (Map.Entry<String, String> tag : tags.entrySet()) {
+            out.writeUTF(tag.getKey());
+            writeString(out, tag.getValue());
+        }
+    }
+
+    private InfluxPoint readPoint(DataInputStream in) throws IOException {
+        InfluxPoint.Builder builder = InfluxPoint.newBuilder(in.readUTF());
+        builder.withTime(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+        byte type = in.readByte();
+        builder.withValue(switch (type) {
+            case VALUE_DECIMAL -> new BigDecimal(readString(in));
+            case VALUE_LONG -> in.readLong();
+            case VALUE_INTEGER -> in.readInt();
+            case VALUE_DOUBLE -> in.readDouble();
+            case VALUE_BOOLEAN -> in.readBoolean();
+            case VALUE_STRING -> readString(in);
+            default -> throw new IOException("Unknown value type " + type);
+        });
+        int tagCount = in.readInt();
+        for (int i = 0; i < tagCount; i++) {
+            builder.withTag(in.readUTF(), readString(in));
+        }
+        return builder.build();
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private long fileSize(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("Failed to delete segment '{}': {}", path, e.getMessage());
+        }
+    }
+}
@@ -12,22 +12,29 @@
  */
 package org.openhab.persistence.influxdb;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.DATABASE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.PASSWORD_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.QUEUE_SIZE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.RETENTION_POLICY_PARAM;
+import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.SPILL_SIZE_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.TOKEN_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.URL_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.USER_PARAM;
 import static org.openhab.persistence.influxdb.internal.InfluxDBConfiguration.VERSION_PARAM;
 
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
@@ -35,6 +42,7 @@ import org.mockito.quality.Strictness;
 import org.openhab.core.items.ItemRegistry;
 import org.openhab.core.items.MetadataRegistry;
 import org.openhab.persistence.influxdb.internal.InfluxDBMetadataService;
+import org.openhab.persistence.influxdb.internal.InfluxDBPointQueue;
 import org.openhab.persistence.influxdb.internal.InfluxDBRepository;
 import org.openhab.persistence.influxdb.internal.InfluxDBVersion;
 import org.openhab.persistence.influxdb.internal.ItemTestHelper;
@@ -75,6 +83,7 @@ public class InfluxDBPersistenceServiceTest {
             RETENTION_POLICY_PARAM, "default");
 
     private @Mock @NonNullByDefault({}) InfluxDBRepository influxDBRepositoryMock;
+    private @TempDir @NonNullByDefault({}) Path spillDirectory;
 
     private final InfluxDBMetadataService influxDBMetadataService = new InfluxDBMetadataService(
             mock(MetadataRegistry.class));
@@ -124,12 +133,84 @@ public class InfluxDBPersistenceServiceTest {
         verify(influxDBRepositoryMock, never()).write(any());
     }
 
+    @Test
+    public void pointsAreSpilledDuringOutageAndWrittenAfterRecovery() throws UnexpectedConditionException {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        config.put(QUEUE_SIZE_PARAM, 10);
+        config.put(SPILL_SIZE_PARAM, 1);
+        InfluxDBPersistenceService instance = getService(config);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(false);
+        when(influxDBRepositoryMock.connect()).thenReturn(false);
+
+        for (int i = 0; i < 25; i++) {
+            instance.store(ItemTestHelper.createNumberItem("number", i));
+        }
+        waitForQueuedPoints(instance, 25);
+        instance.commit();
+
+        verify(influxDBRepositoryMock, never()).write(any());
+        InfluxDBPointQueue.Statistics statistics = instance.getQueueStatistics();
+        assertThat(statistics.queued(), is(10));
+        assertThat(statistics.spilled(), is(15L));
+        assertThat(statistics.dropped(), is(0L));
+
+        when(influxDBRepositoryMock.isConnected()).thenReturn(true);
+        when(influxDBRepositoryMock.write(any())).thenReturn(false, true);
+        // the first attempt fails, the points are requeued
+        instance.commit();
+        assertThat(instance.getQueueStatistics().queued(), is(10));
+        instance.commit();
+
+        statistics = instance.getQueueStatistics();
+        assertThat(statistics.queued(), is(0));
+        assertThat(statistics.spilledSegments(), is(0));
+        assertThat(statistics.written(), is(25L));
+        assertThat(statistics.replayed(), is(15L));
+        assertThat(statistics.dropped(), is(0L));
+    }
+
+    @Test
+    public void oldestPointsAreDroppedWithoutSpilling() throws UnexpectedConditionException {
+        Map<String, Object> config = new HashMap<>(VALID_V2_CONFIGURATION);
+        config.put(QUEUE_SIZE_PARAM, 10);
+        InfluxDBPersistenceService instance = getService(config);
+        when(influxDBRepositoryMock.isConnected()).thenReturn(false);
+        when(influxDBRepositoryMock.connect()).thenReturn(false);
+
+        for (int i = 0; i < 25; i++) {
+            instance.store(ItemTestHelper.createNumberItem("number", i));
+        }
+        waitForQueuedPoints(instance, 25);
+
+        InfluxDBPointQueue.Statistics statistics = instance.getQueueStatistics();
+        assertThat(statistics.queued(), is(10));
+        assertThat(statistics.spilled(), is(0L));
+        assertThat(statistics.dropped(), is(15L));
+    }
+
+    private void waitForQueuedPoints(InfluxDBPersistenceService instance, long points) {
+        long end = System.currentTimeMillis() + 5000;
+        while (instance.getQueueStatistics().enqueued() < points && System.currentTimeMillis() < end) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
     private InfluxDBPersistenceService getService(Map<String, Object> config) {
         return new InfluxDBPersistenceService(mock(ItemRegistry.class), influxDBMetadataService, config) {
             @Override
             protected InfluxDBRepository createInfluxDBRepository() {
                 return influxDBRepositoryMock;
             }
+
+            @Override
+            protected Path getSpillDirectory() {
+                return spillDirectory;
+            }
         };
     }
 }
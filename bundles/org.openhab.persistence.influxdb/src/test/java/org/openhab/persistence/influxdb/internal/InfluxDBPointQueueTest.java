@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.influxdb.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the {@link InfluxDBPointQueue}.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class InfluxDBPointQueueTest {
+    private static final Instant START = Instant.parse("2024-05-01T10:15:30.123456789Z");
+
+    private @TempDir @NonNullByDefault({}) Path spillDirectory;
+
+    private InfluxPoint point(int i) {
+        return InfluxPoint.newBuilder("measurement").withTime(START.plusSeconds(i)).withValue(new BigDecimal(i))
+                .withTag("item", "item" + i).build();
+    }
+
+    private List<Object> values(List<InfluxPoint> points) {
+        return points.stream().map(InfluxPoint::getValue).toList();
+    }
+
+    @Test
+    public void oldestPointsAreDroppedWhenFull() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(3, null, 0);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(point(i));
+        }
+
+        assertThat(values(queue.poll()), contains(new BigDecimal(2), new BigDecimal(3), new BigDecimal(4)));
+        assertThat(queue.getStatistics().dropped(), is(2L));
+        assertThat(queue.isEmpty(), is(true));
+    }
+
+    @Test
+    public void requeuedPointsAreWrittenFirst() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(10, null, 0);
+        queue.offer(point(0));
+        queue.offer(point(1));
+        List<InfluxPoint> batch = queue.poll();
+        queue.offer(point(2));
+
+        queue.requeue(batch);
+
+        assertThat(values(queue.poll()), contains(new BigDecimal(0), new BigDecimal(1), new BigDecimal(2)));
+    }
+
+    @Test
+    public void spilledPointsAreReplayed() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(2, spillDirectory, 1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(point(i));
+        }
+        assertThat(queue.size(), is(2));
+        assertThat(queue.hasSpilledPoints(), is(true));
+        assertThat(queue.getStatistics().spilled(), is(3L));
+
+        // the oldest points are spilled, the most recent points stay in memory
+        InfluxDBPointQueue.SpillSegment segment = Objects.requireNonNull(queue.nextSpilledSegment());
+        assertThat(values(segment.points()), contains(new BigDecimal(0), new BigDecimal(1), new BigDecimal(2)));
+        InfluxPoint point = segment.points().getFirst();
+        assertThat(point.getMeasurementName(), is("measurement"));
+        assertThat(point.getTime(), is(START));
+        assertThat(point.getTags(), hasEntry("item", "item0"));
+
+        queue.replayed(segment);
+        assertThat(queue.nextSpilledSegment(), is(nullValue()));
+        assertThat(queue.hasSpilledPoints(), is(false));
+        assertThat(queue.getStatistics().replayed(), is(3L));
+        assertThat(values(queue.poll()), contains(new BigDecimal(3), new BigDecimal(4)));
+    }
+
+    @Test
+    public void oldestRequeuedPointsAreSpilledWhenFull() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(3, spillDirectory, 1024 * 1024);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(point(i));
+        }
+        List<InfluxPoint> batch = queue.poll();
+        queue.offer(point(3));
+        queue.offer(point(4));
+
+        queue.requeue(batch);
+
+        InfluxDBPointQueue.SpillSegment segment = Objects.requireNonNull(queue.nextSpilledSegment());
+        assertThat(values(segment.points()), contains(new BigDecimal(0), new BigDecimal(1)));
+        assertThat(values(queue.poll()), contains(new BigDecimal(2), new BigDecimal(3), new BigDecimal(4)));
+    }
+
+    @Test
+    public void spilledPointsSurviveRestart() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(1, spillDirectory, 1024 * 1024);
+        queue.offer(point(0));
+        queue.offer(InfluxPoint.newBuilder("m").withTime(START).withValue(42L).build());
+        queue.offer(InfluxPoint.newBuilder("m").withTime(START).withValue(1).build());
+        queue.offer(InfluxPoint.newBuilder("m").withTime(START).withValue("äöü").build());
+        queue.offer(point(1));
+        queue.close();
+
+        InfluxDBPointQueue restarted = new InfluxDBPointQueue(1, spillDirectory, 1024 * 1024);
+        assertThat(restarted.isEmpty(), is(false));
+        InfluxDBPointQueue.SpillSegment segment = Objects.requireNonNull(restarted.nextSpilledSegment());
+        assertThat(values(segment.points()), contains(new BigDecimal(0), 42L, 1, "äöü"));
+    }
+
+    @Test
+    public void pointsAreDroppedWhenSpillLimitIsReached() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(1, spillDirectory, 1);
+        queue.offer(point(0));
+        queue.offer(point(1));
+        queue.offer(point(2));
+
+        assertThat(queue.getStatistics().spilled(), is(1L));
+        assertThat(queue.getStatistics().dropped(), is(1L));
+    }
+
+    @Test
+    public void batchSizeAdaptsToWriteTime() {
+        InfluxDBPointQueue queue = new InfluxDBPointQueue(10, null, 0);
+        int initial = queue.getStatistics().batchSize();
+
+        queue.recordWrite(true, initial, 10);
+        assertThat(queue.getStatistics().batchSize(), is(initial * 2));
+
+        queue.recordWrite(true, 10, 10);
+        assertThat(queue.getStatistics().batchSize(), is(initial * 2));
+
+        queue.recordWrite(true, initial, InfluxDBPointQueue.TARGET_WRITE_TIME * 2);
+        assertThat(queue.getStatistics().batchSize(), is(initial));
+
+        for (int i = 0; i < 20; i++) {
+            queue.recordWrite(false, 0, 0);
+        }
+        assertThat(queue.getStatistics().batchSize(), is(InfluxDBPointQueue.MIN_BATCH_SIZE));
+
+        for (int i = 0; i < 20; i++) {
+            queue.recordWrite(true, InfluxDBPointQueue.MAX_BATCH_SIZE, 0);
+        }
+        assertThat(queue.getStatistics().batchSize(), is(InfluxDBPointQueue.MAX_BATCH_SIZE));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+import org.openhab.core.types.UnDefType;
+
+/**
+ * The {@link GenericItemStorage} stores values of any type in a sorted set.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+class GenericItemStorage implements ItemStorage {
+
+    // compare the instants, so that the period of a query is independent of the time zones
+    private final TreeSet<PersistEntry> database = new TreeSet<>(
+            Comparator.comparing((PersistEntry entry) -> entry.timestamp().toInstant()));
+
+    GenericItemStorage() {
+    }
+
+    GenericItemStorage(List<PersistEntry> entries) {
+        database.addAll(entries);
+    }
+
+    @Override
+    public boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        database.add(new PersistEntry(timestamp, state));
+        trim(maxEntries);
+        return true;
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        while (maxEntries > 0 && database.size() > maxEntries) {
+            database.pollFirst();
+        }
+    }
+
+    @Override
+    public List<PersistEntry> range(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end) {
+        if (begin != null && end != null && begin.isAfter(end)) {
+            // the sub set of an inverted range cannot be created
+            return List.of();
+        }
+        NavigableSet<PersistEntry> result = database;
+        if (begin != null) {
+            result = result.tailSet(new PersistEntry(begin, UnDefType.NULL), true);
+        }
+        if (end != null) {
+            result = result.headSet(new PersistEntry(end, UnDefType.NULL), true);
+        }
+        return List.copyOf(result);
+    }
+
+    @Override
+    public void removeIf(Predicate<PersistEntry> filter) {
+        database.removeIf(filter);
+    }
+
+    @Override
+    public int size() {
+        return database.size();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime firstTimestamp() {
+        return database.isEmpty() ? null : database.first().timestamp();
+    }
+
+    @Override
+    public @Nullable ZonedDateTime lastTimestamp() {
+        return database.isEmpty() ? null : database.last().timestamp();
+    }
+}
@@ -12,16 +12,15 @@
  */
 package org.openhab.persistence.inmemory.internal;
 
-import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -40,6 +39,7 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.strategy.PersistenceStrategy;
 import org.openhab.core.types.State;
 import org.openhab.core.types.UnDefType;
+import org.openhab.persistence.inmemory.internal.ItemStorage.PersistEntry;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -52,6 +52,7 @@ import org.slf4j.LoggerFactory;
  * This is the implementation of the volatile {@link PersistenceService}.
  *
  * @author Jan N. Klug - Initial contribution
+ * @author Marcel Verpaalen - numeric ring buffer storage
  */
 @NonNullByDefault
 @Component(service = { PersistenceService.class,
@@ -83,12 +84,10 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         maxEntries = ConfigParser.valueAsOrElse(config.get(MAX_ENTRIES_CONFIG), Long.class, MAX_ENTRIES_DEFAULT);
 
         persistMap.values().forEach(persistItem -> {
-            Lock lock = persistItem.lock();
+            Lock lock = persistItem.lock;
             lock.lock();
             try {
-                while (persistItem.database().size() > maxEntries) {
-                    persistItem.database().pollFirst();
-                }
+                persistItem.database.trim(maxEntries);
             } finally {
                 lock.unlock();
             }
@@ -148,11 +147,10 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return false;
         }
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            List<PersistEntry> toRemove = persistItem.database().stream().filter(e -> applies(e, filter)).toList();
-            toRemove.forEach(persistItem.database()::remove);
+            persistItem.database.removeIf(e -> applies(e, filter));
         } finally {
             lock.unlock();
         }
@@ -171,19 +169,22 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return List.of();
         }
 
-        Lock lock = persistItem.lock();
+        List<PersistEntry> entries;
+        Lock lock = persistItem.lock;
         lock.lock();
-
-        Comparator<PersistEntry> comparator = filter.getOrdering() == FilterCriteria.Ordering.ASCENDING
-                ? Comparator.comparing(PersistEntry::timestamp)
-                : Comparator.comparing(PersistEntry::timestamp).reversed();
-
         try {
-            return persistItem.database().stream().filter(e -> applies(e, filter)).sorted(comparator)
-                    .map(e -> toHistoricItem(itemName, e)).toList();
+            entries = persistItem.database.range(filter.getBeginDate(), filter.getEndDate());
         } finally {
             lock.unlock();
         }
+
+        // the entries are sorted ascending
+        List<HistoricItem> result = entries.stream().filter(e -> applies(e, filter))
+                .map(e -> toHistoricItem(itemName, e)).collect(Collectors.toCollection(ArrayList::new));
+        if (filter.getOrdering() != FilterCriteria.Ordering.ASCENDING) {
+            Collections.reverse(result);
+        }
+        return result;
     }
 
     @Override
@@ -193,13 +194,16 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
     }
 
     private PersistenceItemInfo toItemInfo(Map.Entry<String, PersistItem> itemEntry) {
-        Lock lock = itemEntry.getValue().lock();
+        Lock lock = itemEntry.getValue().lock;
         lock.lock();
         try {
+            ItemStorage database = itemEntry.getValue().database;
             String name = itemEntry.getKey();
-            Integer count = itemEntry.getValue().database().size();
-            Instant earliest = itemEntry.getValue().database().first().timestamp().toInstant();
-            Instant latest = itemEntry.getValue().database.last().timestamp.toInstant();
+            Integer count = database.size();
+            ZonedDateTime first = database.firstTimestamp();
+            ZonedDateTime last = database.lastTimestamp();
+            Date earliest = first != null ? Date.from(first.toInstant()) : null;
+            Date latest = last != null ? Date.from(last.toInstant()) : null;
             return new PersistenceItemInfo() {
 
                 @Override
@@ -214,12 +218,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
 
                 @Override
                 public @Nullable Date getEarliest() {
-                    return Date.from(earliest);
+                    return earliest;
                 }
 
                 @Override
                 public @Nullable Date getLatest() {
-                    return Date.from(latest);
+                    return latest;
                 }
             };
         } finally {
@@ -251,17 +255,20 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return;
         }
 
-        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName,
-                k -> new PersistItem(new TreeSet<>(Comparator.comparing(PersistEntry::timestamp)),
-                        new ReentrantLock())));
+        PersistItem persistItem = Objects.requireNonNull(persistMap.computeIfAbsent(itemName, k -> {
+            ItemStorage numericStorage = NumericItemStorage.forState(timestamp, state);
+            return new PersistItem(numericStorage != null ? numericStorage : new GenericItemStorage());
+        }));
 
-        Lock lock = persistItem.lock();
+        Lock lock = persistItem.lock;
         lock.lock();
         try {
-            persistItem.database().add(new PersistEntry(timestamp, state));
-
-            while (persistItem.database.size() > maxEntries) {
-                persistItem.database().pollFirst();
+            if (!persistItem.database.add(timestamp, state, maxEntries)
+                    && persistItem.database instanceof NumericItemStorage numericStorage) {
+                // the state can not be stored as a number, keep all values of this item in the generic storage
+                logger.debug("Moving item '{}' to generic storage for state {}", itemName, state);
+                persistItem.database = new GenericItemStorage(numericStorage.entries());
+                persistItem.database.add(timestamp, state, maxEntries);
             }
         } finally {
             lock.unlock();
@@ -294,7 +301,8 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
             return !entry.state().equals(refState);
         }
 
-        if (entry.state() instanceof Comparable comparableState && entry.state.getClass().equals(refState.getClass())) {
+        if (entry.state() instanceof Comparable comparableState
+                && entry.state().getClass().equals(refState.getClass())) {
             if (operator == FilterCriteria.Operator.GT) {
                 return comparableState.compareTo(refState) > 0;
             }
@@ -313,9 +321,12 @@ public class InMemoryPersistenceService implements ModifiablePersistenceService
         return true;
     }
 
-    private record PersistEntry(ZonedDateTime timestamp, State state) {
-    }
+    private static class PersistItem {
+        private final Lock lock = new ReentrantLock();
+        private ItemStorage database;
 
-    private record PersistItem(TreeSet<PersistEntry> database, Lock lock) {
+        private PersistItem(ItemStorage database) {
+            this.database = database;
+        }
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link ItemStorage} holds the persisted values of a single item, ordered by their timestamp.
+ *
+ * Implementations are not thread-safe, the caller has to hold the lock of the item.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+interface ItemStorage {
+
+    record PersistEntry(ZonedDateTime timestamp, State state) {
+    }
+
+    /**
+     * Add a value. A value with the same timestamp as an already stored value is ignored.
+     *
+     * @param timestamp the timestamp of the value
+     * @param state the value
+     * @param maxEntries the maximum number of values to keep, the oldest values are removed when it is exceeded. A
+     *            value of 0 keeps all values.
+     * @return false if the value can not be stored by this storage
+     */
+    boolean add(ZonedDateTime timestamp, State state, long maxEntries);
+
+    /**
+     * Remove the oldest values until at most the given number of values is left.
+     *
+     * @param maxEntries the maximum number of values to keep, 0 keeps all values
+     */
+    void trim(long maxEntries);
+
+    /**
+     * Get all values within the given period in ascending order.
+     *
+     * @param begin the begin of the period (inclusive) or null for no lower bound
+     * @param end the end of the period (inclusive) or null for no upper bound
+     * @return the values
+     */
+    List<PersistEntry> range(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end);
+
+    /**
+     * Remove all values matching the given predicate.
+     */
+    void removeIf(Predicate<PersistEntry> filter);
+
+    int size();
+
+    @Nullable
+    ZonedDateTime firstTimestamp();
+
+    @Nullable
+    ZonedDateTime lastTimestamp();
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import javax.measure.Unit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link NumericItemStorage} stores the values of a numeric item in primitive arrays.
+ *
+ * The timestamps (in nanoseconds) and values are kept in parallel arrays, which are used as a ring buffer. Values are
+ * usually stored in chronological order, so appending a value and removing the oldest value does not move any data.
+ * Periods are looked up by a binary search on the timestamps.
+ *
+ * A value is stored as the unscaled value and the scale of its {@link BigDecimal}, so it is returned with the same
+ * precision and scale as it was stored. All values have to be of the same type, either {@link DecimalType} or
+ * {@link QuantityType} with the same unit, their unscaled value has to fit into a long and all timestamps have to be
+ * in the same time zone. Other values are rejected, so that the item can be moved to a {@link GenericItemStorage}.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+class NumericItemStorage implements ItemStorage {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ZoneId zone;
+    private final @Nullable Unit<?> unit;
+
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private long[] unscaledValues = new long[INITIAL_CAPACITY];
+    private byte[] scales = new byte[INITIAL_CAPACITY];
+    private int head = 0;
+    private int size = 0;
+
+    private NumericItemStorage(ZoneId zone, @Nullable Unit<?> unit) {
+        this.zone = zone;
+        this.unit = unit;
+    }
+
+    /**
+     * Create a storage for values of the type of the given state.
+     *
+     * @param timestamp the timestamp of the first value, all values have to be in its time zone
+     * @param state the first value of the item
+     * @return the storage or null if the state is not numeric
+     */
+    static @Nullable NumericItemStorage forState(ZonedDateTime timestamp, State state) {
+        if (state.getClass() == DecimalType.class) {
+            return new NumericItemStorage(timestamp.getZone(), null);
+        } else if (state.getClass() == QuantityType.class) {
+            return new NumericItemStorage(timestamp.getZone(), ((QuantityType<?>) state).getUnit());
+        }
+        return null;
+    }
+
+    @Override
+    public boolean add(ZonedDateTime timestamp, State state, long maxEntries) {
+        BigDecimal value = toBigDecimal(state);
+        if (value == null || !zone.equals(timestamp.getZone())) {
+            return false;
+        }
+        long time = toNanos(timestamp.toInstant());
+        if (time == Long.MAX_VALUE || time == Long.MIN_VALUE) {
+            // outside of the range of a long, about the years 1677 to 2262
+            return false;
+        }
+        int index = size > 0 && time > timestampAt(size - 1) ? size : lowerBound(time);
+        if (index < size && timestampAt(index) == time) {
+            // same behaviour as a set: keep the value that was stored first
+            return true;
+        }
+        if (maxEntries > 0 && size >= maxEntries) {
+            if (index == 0) {
+                // older than all values of a full storage, it would be removed immediately
+                return true;
+            }
+            removeFirst();
+            index--;
+        }
+        insert(index, time, value.unscaledValue().longValue(), (byte) value.scale());
+        trim(maxEntries);
+        return true;
+    }
+
+    @Override
+    public void trim(long maxEntries) {
+        if (maxEntries <= 0 || size <= maxEntries) {
+            return;
+        }
+        while (size > maxEntries) {
+            removeFirst();
+        }
+        if (timestamps.length > maxEntries) {
+            // release the memory after the limit has been lowered
+            resize(Math.max((int) maxEntries, INITIAL_CAPACITY));
+        }
+    }
+
+    @Override
+    public List<PersistEntry> range(@Nullable ZonedDateTime begin, @Nullable ZonedDateTime end) {
+        int from = begin == null ? 0 : lowerBound(toNanos(begin.toInstant()));
+        int to = end == null ? size : upperBound(toNanos(end.toInstant()));
+        List<PersistEntry> result = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            result.add(entryAt(i));
+        }
+        return result;
+    }
+
+    @Override
+    public void removeIf(Predicate<PersistEntry> filter) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (!filter.test(entryAt(i))) {
+                int from = physical(i);
+                int to = physical(kept++);
+                timestamps[to] = timestamps[from];
+                unscaledValues[to] = unscaledValues[from];
+                scales[to] = scales[from];
+            }
+        }
+        size = kept;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public @Nullable ZonedDateTime firstTimestamp() {
+        return size == 0 ? null : toZonedDateTime(timestampAt(0));
+    }
+
+    @Override
+    public @Nullable ZonedDateTime lastTimestamp() {
+        return size == 0 ? null : toZonedDateTime(timestampAt(size - 1));
+    }
+
+    /**
+     * Get all values, e.g. to move them to a {@link GenericItemStorage}.
+     *
+     * @return the values in ascending order
+     */
+    List<PersistEntry> entries() {
+        return range(null, null);
+    }
+
+    private @Nullable BigDecimal toBigDecimal(State state) {
+        BigDecimal value;
+        if (unit == null && state.getClass() == DecimalType.class) {
+            value = ((DecimalType) state).toBigDecimal();
+        } else if (state instanceof QuantityType<?> quantity && state.getClass() == QuantityType.class
+                && quantity.getUnit().equals(unit)) {
+            value = quantity.toBigDecimal();
+        } else {
+            return null;
+        }
+        if (value.unscaledValue().bitLength() >= Long.SIZE || value.scale() != (byte) value.scale()) {
+            // the value would be changed by storing it in a long and a byte
+            return null;
+        }
+        return value;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private State toState(long unscaledValue, byte scale) {
+        BigDecimal value = BigDecimal.valueOf(unscaledValue, scale);
+        Unit<?> localUnit = unit;
+        if (localUnit == null) {
+            return new DecimalType(value);
+        }
+        return new QuantityType(value, localUnit);
+    }
+
+    /**
+     * Convert an instant to nanoseconds since the epoch, saturated to the range of a long.
+     */
+    private static long toNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+    }
+
+    private static Instant toInstant(long nanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(nanos, NANOS_PER_SECOND), Math.floorMod(nanos, NANOS_PER_SECOND));
+    }
+
+    private ZonedDateTime toZonedDateTime(long time) {
+        return toInstant(time).atZone(zone);
+    }
+
+    private PersistEntry entryAt(int index) {
+        int physical = physical(index);
+        return new PersistEntry(toZonedDateTime(timestamps[physical]),
+                toState(unscaledValues[physical], scales[physical]));
+    }
+
+    private long timestampAt(int index) {
+        return timestamps[physical(index)];
+    }
+
+    private int physical(int index) {
+        int physical = head + index;
+        return physical >= timestamps.length ? physical - timestamps.length : physical;
+    }
+
+    /**
+     * Find the first value with a timestamp at or after the given time.
+     */
+    private int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Find the first value with a timestamp after the given time.
+     */
+    private int upperBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestampAt(mid) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insert(int index, long time, long unscaledValue, byte scale) {
+        if (size == timestamps.length) {
+            resize(timestamps.length * 2);
+        }
+        // move the newer values one position up, nothing is moved for a chronological append
+        for (int i = size; i > index; i--) {
+            int to = physical(i);
+            int from = physical(i - 1);
+            timestamps[to] = timestamps[from];
+            unscaledValues[to] = unscaledValues[from];
+            scales[to] = scales[from];
+        }
+        int physical = physical(index);
+        timestamps[physical] = time;
+        unscaledValues[physical] = unscaledValue;
+        scales[physical] = scale;
+        size++;
+    }
+
+    private void removeFirst() {
+        head = physical(1);
+        size--;
+        if (size == 0) {
+            head = 0;
+        }
+    }
+
+    private void resize(int capacity) {
+        if (capacity == timestamps.length || capacity < size) {
+            return;
+        }
+        long[] newTimestamps = new long[capacity];
+        long[] newUnscaledValues = new long[capacity];
+        byte[] newScales = new byte[capacity];
+        for (int i = 0; i < size; i++) {
+            int physical = physical(i);
+            newTimestamps[i] = timestamps[physical];
+            newUnscaledValues[i] = unscaledValues[physical];
+            newScales[i] = scales[physical];
+        }
+        timestamps = newTimestamps;
+        unscaledValues = newUnscaledValues;
+        scales = newScales;
+        head = 0;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.StringType;
+import org.openhab.persistence.inmemory.internal.ItemStorage.PersistEntry;
+
+/**
+ * The {@link GenericItemStorageTest} contains tests for the {@link GenericItemStorage}
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class GenericItemStorageTest {
+    private static final ZonedDateTime START = ZonedDateTime.of(2022, 5, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+
+    private GenericItemStorage createStorage(int count) {
+        GenericItemStorage storage = new GenericItemStorage();
+        for (int i = 0; i < count; i++) {
+            storage.add(START.plusMinutes(i), new StringType(Integer.toString(i)), 0);
+        }
+        return storage;
+    }
+
+    private List<String> values(List<PersistEntry> entries) {
+        return entries.stream().map(e -> e.state().toString()).toList();
+    }
+
+    @Test
+    public void rangeIncludesBoundaries() {
+        GenericItemStorage storage = createStorage(10);
+
+        assertThat(values(storage.range(START.plusMinutes(4), START.plusMinutes(6))), contains("4", "5", "6"));
+        assertThat(values(storage.range(null, START.plusMinutes(1))), contains("0", "1"));
+        assertThat(values(storage.range(START.plusMinutes(8), null)), contains("8", "9"));
+        assertThat(values(storage.range(START.plusMinutes(5), START.plusMinutes(5))), contains("5"));
+    }
+
+    @Test
+    public void invertedRangeIsEmpty() {
+        GenericItemStorage storage = createStorage(10);
+
+        assertThat(storage.range(START.plusMinutes(6), START.plusMinutes(4)), is(empty()));
+        assertThat(storage.range(START.plusMinutes(4).plusNanos(1), START.plusMinutes(4)), is(empty()));
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.inmemory.internal;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.persistence.inmemory.internal.ItemStorage.PersistEntry;
+
+/**
+ * The {@link NumericItemStorageTest} contains tests for the {@link NumericItemStorage}
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class NumericItemStorageTest {
+    private static final ZonedDateTime START = ZonedDateTime.of(2022, 5, 31, 10, 0, 0, 0, ZoneId.systemDefault());
+
+    private NumericItemStorage createStorage() {
+        return Objects.requireNonNull(NumericItemStorage.forState(START, new DecimalType(0)));
+    }
+
+    private List<Integer> values(List<PersistEntry> entries) {
+        return entries.stream().map(e -> ((DecimalType) e.state()).intValue()).toList();
+    }
+
+    @Test
+    public void onlyPlainNumbersAreSupported() {
+        assertThat(NumericItemStorage.forState(START, new DecimalType(1)), is(notNullValue()));
+        assertThat(NumericItemStorage.forState(START, new QuantityType<>(1, SIUnits.CELSIUS)), is(notNullValue()));
+        assertThat(NumericItemStorage.forState(START, new PercentType(1)), is(nullValue()));
+        assertThat(NumericItemStorage.forState(START, new StringType("1")), is(nullValue()));
+    }
+
+    @Test
+    public void oldestValuesAreRemovedWhenFull() {
+        NumericItemStorage storage = createStorage();
+        for (int i = 0; i < 100; i++) {
+            storage.add(START.plusMinutes(i), new DecimalType(i), 10);
+        }
+
+        assertThat(storage.size(), is(10));
+        assertThat(values(storage.entries()), contains(90, 91, 92, 93, 94, 95, 96, 97, 98, 99));
+        assertThat(storage.firstTimestamp(), is(START.plusMinutes(90)));
+        assertThat(storage.lastTimestamp(), is(START.plusMinutes(99)));
+    }
+
+    @Test
+    public void valuesAreSortedByTimestamp() {
+        NumericItemStorage storage = createStorage();
+        storage.add(START.plusMinutes(2), new DecimalType(2), 0);
+        storage.add(START, new DecimalType(0), 0);
+        storage.add(START.plusMinutes(3), new DecimalType(3), 0);
+        storage.add(START.plusMinutes(1), new DecimalType(1), 0);
+        // same timestamp is ignored
+        storage.add(START.plusMinutes(1), new DecimalType(5), 0);
+
+        assertThat(values(storage.entries()), contains(0, 1, 2, 3));
+    }
+
+    @Test
+    public void rangeIncludesBoundaries() {
+        NumericItemStorage storage = createStorage();
+        for (int i = 0; i < 40; i++) {
+            storage.add(START.plusMinutes(i), new DecimalType(i), 20);
+        }
+
+        assertThat(values(storage.range(START.plusMinutes(25), START.plusMinutes(27))), contains(25, 26, 27));
+        assertThat(values(storage.range(null, START.plusMinutes(21))), contains(20, 21));
+        assertThat(values(storage.range(START.plusMinutes(38), null)), contains(38, 39));
+        assertThat(storage.range(START, START.plusMinutes(19)), is(empty()));
+    }
+
+    @Test
+    public void invertedRangeIsEmpty() {
+        NumericItemStorage storage = createStorage();
+        for (int i = 0; i < 10; i++) {
+            storage.add(START.plusMinutes(i), new DecimalType(i), 0);
+        }
+
+        assertThat(storage.range(START.plusMinutes(6), START.plusMinutes(4)), is(empty()));
+    }
+
+    @Test
+    public void removeIfKeepsOrder() {
+        NumericItemStorage storage = createStorage();
+        for (int i = 0; i < 20; i++) {
+            storage.add(START.plusMinutes(i), new DecimalType(i), 12);
+        }
+
+        storage.removeIf(e -> ((DecimalType) e.state()).intValue() % 2 == 0);
+        storage.add(START.plusMinutes(30), new DecimalType(30), 12);
+
+        assertThat(values(storage.entries()), contains(9, 11, 13, 15, 17, 19, 30));
+    }
+
+    @Test
+    public void trimReducesSize() {
+        NumericItemStorage storage = createStorage();
+        for (int i = 0; i < 50; i++) {
+            storage.add(START.plusMinutes(i), new DecimalType(i), 0);
+        }
+
+        storage.trim(3);
+
+        assertThat(values(storage.entries()), contains(47, 48, 49));
+    }
+
+    @Test
+    public void timestampsKeepTheirPrecision() {
+        NumericItemStorage storage = createStorage();
+        storage.add(START.plusNanos(1), new DecimalType(1), 0);
+        storage.add(START.plusNanos(2), new DecimalType(2), 0);
+        storage.add(START.plusNanos(1_000_001), new DecimalType(3), 0);
+
+        assertThat(values(storage.entries()), contains(1, 2, 3));
+        assertThat(storage.firstTimestamp(), is(START.plusNanos(1)));
+        assertThat(values(storage.range(START.plusNanos(2), START.plusNanos(2))), contains(2));
+    }
+
+    @Test
+    public void timestampsKeepTheirTimeZone() {
+        ZonedDateTime start = START.withZoneSameInstant(ZoneOffset.ofHours(5));
+        NumericItemStorage storage = Objects.requireNonNull(NumericItemStorage.forState(start, new DecimalType(0)));
+        storage.add(start, new DecimalType(1), 0);
+
+        assertThat(storage.entries().getFirst().timestamp(), is(start));
+        assertThat(storage.add(start.plusMinutes(1).withZoneSameInstant(ZoneOffset.UTC), new DecimalType(2), 0),
+                is(false));
+    }
+
+    @Test
+    public void valuesKeepTheirScale() {
+        NumericItemStorage storage = createStorage();
+
+        assertThat(storage.add(START, new DecimalType("20.50"), 0), is(true));
+        assertThat(storage.add(START.plusMinutes(1), new DecimalType("0.1234567890123456789"), 0), is(true));
+
+        List<PersistEntry> entries = storage.entries();
+        assertThat(((DecimalType) entries.get(0).state()).toBigDecimal().toString(), is("20.50"));
+        assertThat(((DecimalType) entries.get(1).state()).toBigDecimal().toString(), is("0.1234567890123456789"));
+    }
+
+    @Test
+    public void valuesNotRepresentableAsLongAreRejected() {
+        NumericItemStorage storage = createStorage();
+
+        assertThat(storage.add(START, new DecimalType("12345678901234567890.5"), 0), is(false));
+        assertThat(storage.add(START.plusMinutes(1), new QuantityType<>(1, SIUnits.CELSIUS), 0), is(false));
+        assertThat(storage.add(START.plusMinutes(2), new PercentType(1), 0), is(false));
+        assertThat(storage.size(), is(0));
+    }
+
+    @Test
+    public void quantitiesKeepTheirUnit() {
+        NumericItemStorage storage = Objects
+                .requireNonNull(NumericItemStorage.forState(START, new QuantityType<>(0, SIUnits.CELSIUS)));
+
+        storage.add(START, new QuantityType<>("21.30 °C"), 0);
+
+        assertThat(storage.add(START.plusMinutes(1), new QuantityType<>("70 °F"), 0), is(false));
+        QuantityType<?> state = (QuantityType<?>) storage.entries().getFirst().state();
+        assertThat(state.getUnit(), is(SIUnits.CELSIUS));
+        assertThat(state.toBigDecimal().toString(), is("21.30"));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.items.Item;
+import org.openhab.core.types.State;
+
+/**
+ * The {@link JdbcBatchQueue} holds the values waiting to be written by the batched writer.
+ *
+ * The queue is bounded. When it is full, the configured {@link OverflowPolicy} decides whether the oldest value is
+ * discarded, the new value is discarded or the caller waits for the writer to make room. Values that could not be
+ * written because the database is not available are put back at the head of the queue.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchQueue {
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DROP_NEWEST,
+        BLOCK;
+
+        public static OverflowPolicy fromConfig(String value) {
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "dropoldest" -> DROP_OLDEST;
+                case "dropnewest" -> DROP_NEWEST;
+                case "block" -> BLOCK;
+                default -> throw new IllegalArgumentException("Unknown overflow policy: " + value);
+            };
+        }
+    }
+
+    /**
+     * A queued value, the date is null if the database sets the time when the value is written.
+     */
+    public record PendingValue(Item item, State state, @Nullable ZonedDateTime date, @Nullable String alias) {
+
+        /**
+         * @return the alias, or the item name if no alias is used
+         */
+        public String name() {
+            String alias = this.alias;
+            return alias != null ? alias : item.getName();
+        }
+    }
+
+    public record Statistics(int queueDepth, int maxQueueDepth, int capacity, long enqueued, long dropped,
+            long written, long failed, long batches) {
+    }
+
+    private final BlockingDeque<PendingValue> queue;
+    private final int capacity;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeout;
+
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    /**
+     * @param capacity the maximum number of queued values
+     * @param overflowPolicy the behaviour when the queue is full
+     * @param blockTimeout the maximum time in milliseconds to wait for free space with {@link OverflowPolicy#BLOCK}
+     */
+    public JdbcBatchQueue(int capacity, OverflowPolicy overflowPolicy, long blockTimeout) {
+        this.capacity = Math.max(capacity, 1);
+        this.queue = new LinkedBlockingDeque<>(this.capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.blockTimeout = blockTimeout;
+    }
+
+    /**
+     * Add a value to the queue, applying the overflow policy if the queue is full.
+     *
+     * @param value the value to add
+     * @return true if the value was queued
+     */
+    public boolean offer(PendingValue value) {
+        boolean added = queue.offer(value);
+        if (!added) {
+            switch (overflowPolicy) {
+                case DROP_OLDEST -> {
+                    while (!added) {
+                        if (queue.poll() != null) {
+                            dropped.increment();
+                        }
+                        added = queue.offer(value);
+                    }
+                }
+                case BLOCK -> {
+                    try {
+                        added = queue.offer(value, blockTimeout, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                case DROP_NEWEST -> {
+                }
+            }
+            if (!added) {
+                dropped.increment();
+                return false;
+            }
+        }
+        enqueued.increment();
+        maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+        return true;
+    }
+
+    /**
+     * Remove up to the given number of values from the head of the queue.
+     *
+     * @param maxValues the maximum number of values to remove
+     * @return the removed values in insertion order
+     */
+    public List<PendingValue> drain(int maxValues) {
+        List<PendingValue> values = new ArrayList<>(Math.min(maxValues, queue.size()));
+        queue.drainTo(values, maxValues);
+        return values;
+    }
+
+    /**
+     * Remove all values of an item or alias from the queue, e.g. to write them before the item is queried.
+     *
+     * @param name the item name or alias
+     * @return the removed values in insertion order
+     */
+    public List<PendingValue> drain(String name) {
+        List<PendingValue> values = new ArrayList<>();
+        Iterator<PendingValue> iterator = queue.iterator();
+        while (iterator.hasNext()) {
+            PendingValue value = iterator.next();
+            if (name.equals(value.name())) {
+                iterator.remove();
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Put values that could not be written back at the head of the queue, keeping their order.
+     *
+     * If the queue has been filled up in the meantime, the oldest of these values are dropped.
+     *
+     * @param values the values to put back in insertion order
+     */
+    public void requeue(List<PendingValue> values) {
+        for (int i = values.size() - 1; i >= 0; i--) {
+            if (!queue.offerFirst(values.get(i))) {
+                dropped.add(i + 1);
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    /**
+     * Record the outcome of one flushed batch.
+     *
+     * @param writtenValues the number of values written to the database
+     * @param failedValues the number of values that could not be written
+     */
+    public void recordBatch(int writtenValues, int failedValues) {
+        batches.increment();
+        written.add(writtenValues);
+        failed.add(failedValues);
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(queue.size(), maxQueueDepth.get(), capacity, enqueued.sum(), dropped.sum(),
+                written.sum(), failed.sum(), batches.sum());
+    }
+}
@@ -66,6 +66,14 @@ public class JdbcConfiguration {
 
     private int errReconnectThreshold = 0;
 
+    private int batchSize = 0;
+    private int batchInterval = 1000;
+    private int batchQueueSize = 10000;
+    private int batchBlockTimeout = 1000;
+    private JdbcBatchQueue.OverflowPolicy batchOverflow = JdbcBatchQueue.OverflowPolicy.DROP_OLDEST;
+
+    private int queryPageSize = 0;
+
     public int timerCount = 0;
     public int time1000Statements = 0;
     public long timer1000 = 0;
@@ -191,6 +199,46 @@ public class JdbcConfiguration {
             logger.debug("JDBC::updateConfig: rebuildTableNames={}", rebuildTableNames);
         }
 
+        String bs = (String) configuration.get("batchSize");
+        if (bs != null && !bs.isBlank() && isNumericPattern.matcher(bs).matches()) {
+            batchSize = Integer.parseInt(bs);
+            logger.debug("JDBC::updateConfig: batchSize={}", batchSize);
+        }
+
+        String bi = (String) configuration.get("batchInterval");
+        if (bi != null && !bi.isBlank() && isNumericPattern.matcher(bi).matches()) {
+            batchInterval = Math.max(Integer.parseInt(bi), 10);
+            logger.debug("JDBC::updateConfig: batchInterval={}", batchInterval);
+        }
+
+        String bq = (String) configuration.get("batchQueueSize");
+        if (bq != null && !bq.isBlank() && isNumericPattern.matcher(bq).matches()) {
+            batchQueueSize = Math.max(Integer.parseInt(bq), batchSize);
+            logger.debug("JDBC::updateConfig: batchQueueSize={}", batchQueueSize);
+        }
+
+        String bt = (String) configuration.get("batchBlockTimeout");
+        if (bt != null && !bt.isBlank() && isNumericPattern.matcher(bt).matches()) {
+            batchBlockTimeout = Integer.parseInt(bt);
+            logger.debug("JDBC::updateConfig: batchBlockTimeout={}", batchBlockTimeout);
+        }
+
+        String bo = (String) configuration.get("batchOverflow");
+        if (bo != null && !bo.isBlank()) {
+            try {
+                batchOverflow = JdbcBatchQueue.OverflowPolicy.fromConfig(bo);
+                logger.debug("JDBC::updateConfig: batchOverflow={}", batchOverflow);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Unknown batchOverflow '{}', using '{}'", bo, batchOverflow);
+            }
+        }
+
+        String qp = (String) configuration.get("queryPageSize");
+        if (qp != null && !qp.isBlank() && isNumericPattern.matcher(qp).matches()) {
+            queryPageSize = Integer.parseInt(qp);
+            logger.debug("JDBC::updateConfig: queryPageSize={}", queryPageSize);
+        }
+
         // undocumented
         String ac = (String) configuration.get("maximumPoolSize");
         if (ac != null && !ac.isBlank()) {
@@ -404,6 +452,42 @@ public class JdbcConfiguration {
         return tableIdDigitCount;
     }
 
+    /**
+     * Get the number of values written with one batch, 0 if values are written immediately.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchInterval() {
+        return batchInterval;
+    }
+
+    public int getBatchQueueSize() {
+        return batchQueueSize;
+    }
+
+    public JdbcBatchQueue.OverflowPolicy getBatchOverflow() {
+        return batchOverflow;
+    }
+
+    /**
+     * Get the maximum time in milliseconds a caller waits for free space in a full queue with the block overflow
+     * policy.
+     */
+    public int getBatchBlockTimeout() {
+        return batchBlockTimeout;
+    }
+
+    /**
+     * Get the number of rows read with one query when an unpaged query is read page by page.
+     *
+     * @return the page size, or 0 to read unpaged queries at once
+     */
+    public int getQueryPageSize() {
+        return queryPageSize;
+    }
+
     public JdbcBaseDAO getDBDAO() {
         return dBDAO;
     }
@@ -427,6 +511,8 @@ public class JdbcConfiguration {
         dBDAO.initAfterFirstDbConnection();
         // Running once again to prior external configured SqlTypes!
         setSqlTypes();
+        // statements built before may use outdated templates or types
+        dBDAO.clearSqlCache();
         this.dbConnected = dbConnected;
     }
 
@@ -15,7 +15,10 @@ package org.openhab.persistence.jdbc.internal;
 import java.sql.SQLInvalidAuthorizationSpecException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -32,6 +35,7 @@ import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistenceItemInfo;
 import org.openhab.core.types.State;
+import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
 import org.openhab.persistence.jdbc.internal.dto.Column;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
@@ -226,6 +230,124 @@ public class JdbcMapper {
         errCnt = 0;
     }
 
+    /**
+     * Result of storing queued values.
+     *
+     * @param failed the number of values that could not be stored and are discarded
+     * @param unwritten the values that could not be stored because the database is not available, in insertion order
+     */
+    protected record StoreResult(int failed, List<JdbcBatchQueue.PendingValue> unwritten) {
+    }
+
+    /**
+     * Values with and without a time are inserted with different statements, so they are written in separate batches.
+     */
+    private record BatchKey(String tableName, boolean withTime) {
+    }
+
+    /**
+     * Store queued values, using one JDBC batch per table for values with a time and one for values without.
+     *
+     * If a batch fails because the database is not available, its values and those of the remaining batches are
+     * returned to be retried later. If a batch fails for another reason, its values are retried one by one so that a
+     * single bad value does not discard the others.
+     *
+     * @param values the values to store
+     * @return the result
+     */
+    protected StoreResult storeItemValues(List<JdbcBatchQueue.PendingValue> values) {
+        logger.debug("JDBC::storeItemValues: {} values", values.size());
+        long timerStart = System.currentTimeMillis();
+        JdbcBaseDAO dao = conf.getDBDAO();
+        Map<BatchKey, List<ItemVO>> batches = new LinkedHashMap<>();
+        Map<ItemVO, JdbcBatchQueue.PendingValue> pendingValues = new IdentityHashMap<>();
+        Set<JdbcBatchQueue.PendingValue> unwritten = Collections.newSetFromMap(new IdentityHashMap<>());
+        int failed = 0;
+        for (JdbcBatchQueue.PendingValue value : values) {
+            try {
+                String tableName = getTable(value.item(), value.alias());
+                ItemVO vo = dao.prepareItemValue(value.item(), value.state(), new ItemVO(tableName, null),
+                        value.date());
+                batches.computeIfAbsent(new BatchKey(tableName, value.date() != null), k -> new ArrayList<>()).add(vo);
+                pendingValues.put(vo, value);
+            } catch (JdbcSQLException e) {
+                if (isUnavailable(e)) {
+                    unwritten.add(value);
+                } else {
+                    logger.warn("JDBC::storeItemValues: Unable to store item '{}'", value.item().getName(), e);
+                    failed++;
+                }
+            } catch (JdbcException e) {
+                logger.warn("JDBC::storeItemValues: Unable to store item '{}'", value.item().getName(), e);
+                failed++;
+            }
+        }
+        for (Map.Entry<BatchKey, List<ItemVO>> batch : batches.entrySet()) {
+            String tableName = batch.getKey().tableName();
+            List<ItemVO> vos = batch.getValue();
+            if (!unwritten.isEmpty()) {
+                // the database is not available, the remaining batches are not even tried
+                vos.forEach(vo -> unwritten.add(Objects.requireNonNull(pendingValues.get(vo))));
+                continue;
+            }
+            try {
+                dao.doStoreItemValues(vos);
+            } catch (JdbcSQLException e) {
+                if (isUnavailable(e)) {
+                    logger.debug("JDBC::storeItemValues: batch for table '{}' failed, keeping values queued: {}",
+                            tableName, e.getMessage());
+                    vos.forEach(vo -> unwritten.add(Objects.requireNonNull(pendingValues.get(vo))));
+                    continue;
+                }
+                logger.debug("JDBC::storeItemValues: batch for table '{}' failed, storing values one by one: {}",
+                        tableName, e.getMessage());
+                for (ItemVO vo : vos) {
+                    if (!unwritten.isEmpty()) {
+                        unwritten.add(Objects.requireNonNull(pendingValues.get(vo)));
+                        continue;
+                    }
+                    try {
+                        dao.doStoreItemValues(List.of(vo));
+                    } catch (JdbcSQLException e2) {
+                        if (isUnavailable(e2)) {
+                            unwritten.add(Objects.requireNonNull(pendingValues.get(vo)));
+                        } else {
+                            logger.warn("JDBC::storeItemValues: Unable to store value '{}' in table '{}'",
+                                    vo.getValue(), tableName, e2);
+                            failed++;
+                        }
+                    }
+                }
+            }
+        }
+        logTime("storeItemValues", timerStart, System.currentTimeMillis());
+        if (unwritten.isEmpty()) {
+            if (failed < values.size()) {
+                errCnt = 0;
+            }
+        } else {
+            errCnt++;
+        }
+        return new StoreResult(failed, values.stream().filter(unwritten::contains).toList());
+    }
+
+    /**
+     * Check whether a statement failed because the database is not available, rather than because of the data.
+     *
+     * @param e the exception of the failed statement
+     * @return true if the database is not available
+     */
+    private boolean isUnavailable(JdbcSQLException e) {
+        if (e.isTransient()) {
+            return true;
+        }
+        try {
+            return !pingDB();
+        } catch (JdbcSQLException e2) {
+            return true;
+        }
+    }
+
     public long getRowCount(String tableName) throws JdbcSQLException {
         return conf.getDBDAO().doGetRowCount(tableName);
     }
@@ -243,6 +365,14 @@ public class JdbcMapper {
         return result;
     }
 
+    protected Iterable<HistoricItem> getHistItemFilterQueryPaged(FilterCriteria filter, int numberDecimalcount,
+            String table, Item item, int pageSize) throws JdbcSQLException {
+        logger.debug("JDBC::getHistItemFilterQueryPaged table='{}' itemName='{}' pageSize='{}'", table, item.getName(),
+                pageSize);
+        return conf.getDBDAO().doGetHistItemFilterQueryPaged(item, filter, numberDecimalcount, table, item.getName(),
+                timeZoneProvider.getTimeZone(), pageSize);
+    }
+
     protected void deleteItemValues(FilterCriteria filter, String table) throws JdbcSQLException {
         logger.debug("JDBC::deleteItemValues filter='{}' table='{}' itemName='{}'", true, table, filter.getItemName());
         long timerStart = System.currentTimeMillis();
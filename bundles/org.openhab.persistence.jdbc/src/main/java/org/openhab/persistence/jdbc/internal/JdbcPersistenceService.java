@@ -23,6 +23,9 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -62,6 +65,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Helmut Lehmeyer - Initial contribution
  * @author Kai Kreuzer - Migration to 3.x
+ * @author Marcel Verpaalen - batched writer
  */
 @NonNullByDefault
 @Component(service = { PersistenceService.class,
@@ -77,6 +81,10 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(1,
             new NamedThreadFactory(JdbcPersistenceServiceConstants.SERVICE_ID));
 
+    private @Nullable JdbcBatchQueue batchQueue;
+    private @Nullable ScheduledFuture<?> batchJob;
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+
     @Activate
     public JdbcPersistenceService(final @Reference ItemRegistry itemRegistry,
             final @Reference TimeZoneProvider timeZoneProvider) {
@@ -121,6 +129,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     public void deactivate(final int reason) {
         logger.debug("JDBC::deactivate:  persistence bundle stopping. Disconnecting from database. reason={}", reason);
         // closeConnection();
+        stopBatchWriter();
         initialized = false;
     }
 
@@ -137,22 +146,142 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
 
     @Override
     public void store(Item item) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), null));
+        scheduleStore(item, null, item.getState(), null);
     }
 
     @Override
     public void store(Item item, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, null, item.getState(), alias));
+        scheduleStore(item, null, item.getState(), alias);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state) {
-        scheduler.execute(() -> internalStore(item, date, state, null));
+        scheduleStore(item, date, state, null);
     }
 
     @Override
     public void store(Item item, ZonedDateTime date, State state, @Nullable String alias) {
-        scheduler.execute(() -> internalStore(item, date, state, alias));
+        scheduleStore(item, date, state, alias);
+    }
+
+    private void scheduleStore(Item item, @Nullable ZonedDateTime date, State state, @Nullable String alias) {
+        JdbcBatchQueue queue = batchQueue;
+        if (queue == null) {
+            scheduler.execute(() -> internalStore(item, date, state, alias));
+            return;
+        }
+        // Do not store undefined/uninitialized data
+        if (state instanceof UnDefType) {
+            logger.debug("JDBC::store: ignore Item '{}' because it is UnDefType", item.getName());
+            return;
+        }
+        // values without a time get the time of the database when they are written, like unbatched values
+        if (!queue.offer(new JdbcBatchQueue.PendingValue(item, state, date, alias))) {
+            logger.debug("JDBC::store: queue full, dropped state '{}' of item '{}'", state, item.getName());
+        }
+        if (queue.size() >= conf.getBatchSize() && flushPending.compareAndSet(false, true)) {
+            scheduler.execute(this::flushBatches);
+        }
+    }
+
+    private synchronized void flushBatches() {
+        flushPending.set(false);
+        JdbcBatchQueue queue = batchQueue;
+        if (queue == null || queue.isEmpty()) {
+            return;
+        }
+        if (!checkDBAccessability()) {
+            logger.warn(
+                    "JDBC::store: No connection to database. Keeping {} queued values! Will retry connecting to database when error count:{} equals errReconnectThreshold:{}",
+                    queue.size(), errCnt, conf.getErrReconnectThreshold());
+            return;
+        }
+        List<JdbcBatchQueue.PendingValue> values;
+        while (!(values = queue.drain(conf.getBatchSize())).isEmpty()) {
+            if (!storeBatch(queue, values)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Write the queued values of an item before it is queried or its values are removed.
+     *
+     * @param name the item name or alias
+     */
+    private synchronized void flushItem(String name) {
+        JdbcBatchQueue queue = batchQueue;
+        if (queue == null) {
+            return;
+        }
+        List<JdbcBatchQueue.PendingValue> values = queue.drain(name);
+        if (!values.isEmpty()) {
+            storeBatch(queue, values);
+        }
+    }
+
+    /**
+     * Write a batch of queued values, values that could not be written because the database is not available are put
+     * back into the queue.
+     *
+     * @return false if the database is not available
+     */
+    private boolean storeBatch(JdbcBatchQueue queue, List<JdbcBatchQueue.PendingValue> values) {
+        long timerStart = System.currentTimeMillis();
+        StoreResult result = storeItemValues(values);
+        int written = values.size() - result.failed() - result.unwritten().size();
+        queue.recordBatch(written, result.failed());
+        if (logger.isDebugEnabled()) {
+            logger.debug("JDBC: Stored {} values in SQL database in {} ms.", written,
+                    System.currentTimeMillis() - timerStart);
+        }
+        if (!result.unwritten().isEmpty()) {
+            queue.requeue(result.unwritten());
+            logger.warn("JDBC::store: Database not available. Keeping {} queued values, will retry later.",
+                    queue.size());
+            return false;
+        }
+        return true;
+    }
+
+    private void configureBatchWriter() {
+        int batchSize = conf.getBatchSize();
+        if (batchSize <= 0) {
+            return;
+        }
+        int interval = conf.getBatchInterval();
+        batchQueue = new JdbcBatchQueue(conf.getBatchQueueSize(), conf.getBatchOverflow(),
+                conf.getBatchBlockTimeout());
+        batchJob = scheduler.scheduleWithFixedDelay(this::flushBatches, interval, interval, TimeUnit.MILLISECONDS);
+        logger.debug(
+                "JDBC::configureBatchWriter: batchSize={} batchInterval={} batchQueueSize={} batchOverflow={} batchBlockTimeout={}",
+                batchSize, interval, conf.getBatchQueueSize(), conf.getBatchOverflow(), conf.getBatchBlockTimeout());
+    }
+
+    private void stopBatchWriter() {
+        ScheduledFuture<?> job = batchJob;
+        if (job != null) {
+            job.cancel(false);
+            batchJob = null;
+        }
+        JdbcBatchQueue queue = batchQueue;
+        if (queue != null) {
+            flushBatches();
+            if (!queue.isEmpty()) {
+                logger.warn("JDBC::stopBatchWriter: Unable to write {} queued values to the database.", queue.size());
+            }
+            batchQueue = null;
+        }
+    }
+
+    /**
+     * Get the statistics of the batched writer.
+     *
+     * @return the statistics, or null if values are written immediately
+     */
+    public JdbcBatchQueue.@Nullable Statistics getBatchStatistics() {
+        JdbcBatchQueue queue = batchQueue;
+        return queue != null ? queue.getStatistics() : null;
     }
 
     private synchronized void internalStore(Item item, @Nullable ZonedDateTime date, State state,
@@ -211,6 +340,11 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             logger.warn("JDBC::query: database not connected, query aborted for item '{}'", filter.getItemName());
             return List.of();
         }
+        String filterItemName = filter.getItemName();
+        if (filterItemName != null) {
+            // the result must include the values still waiting to be written
+            flushItem(alias != null ? alias : filterItemName);
+        }
 
         // Get the item name from the filter
         // Also get the Item object so we can determine the type
@@ -250,6 +384,20 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             return List.of();
         }
 
+        int queryPageSize = conf.getQueryPageSize();
+        if (queryPageSize > 0 && filter.getPageSize() == Integer.MAX_VALUE) {
+            // read unpaged queries lazily, page by page, instead of loading the complete result
+            try {
+                Iterable<HistoricItem> items = getHistItemFilterQueryPaged(filter, conf.getNumberDecimalcount(), table,
+                        item, queryPageSize);
+                errCnt = 0;
+                return items;
+            } catch (JdbcSQLException e) {
+                logger.warn("JDBC::query: Unable to query item", e);
+                return List.of();
+            }
+        }
+
         try {
             long timerStart = System.currentTimeMillis();
             List<HistoricItem> items = getHistItemFilterQuery(filter, conf.getNumberDecimalcount(), table, item);
@@ -269,6 +417,7 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
     private void updateConfig(Map<Object, Object> configuration) {
         logger.debug("JDBC::updateConfig");
 
+        stopBatchWriter();
         conf = new JdbcConfiguration(configuration);
         if (conf.valid && checkDBAccessability()) {
             namingStrategy = new NamingStrategy(conf);
@@ -283,6 +432,9 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
         } else {
             initialized = false;
         }
+        if (conf.valid) {
+            configureBatchWriter();
+        }
 
         logger.debug("JDBC::updateConfig: configuration complete for service={}.", getId());
     }
@@ -307,6 +459,9 @@ public class JdbcPersistenceService extends JdbcMapper implements ModifiablePers
             throw new IllegalArgumentException("Item name must not be null");
         }
 
+        // values still waiting to be written must be removed as well
+        flushItem(itemName);
+
         String table = itemNameToTableNameMap.get(itemName);
         if (table == null) {
             logger.debug("JDBC::remove: unable to find table for item with name: '{}', no data in database.", itemName);
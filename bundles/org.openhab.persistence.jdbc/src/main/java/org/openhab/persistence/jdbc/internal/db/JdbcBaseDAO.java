@@ -18,12 +18,18 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javax.measure.Quantity;
@@ -73,11 +79,21 @@ import org.slf4j.LoggerFactory;
  */
 @NonNullByDefault
 public class JdbcBaseDAO {
+    private static final int SQL_CACHE_SIZE = 1000;
+
     private final Logger logger = LoggerFactory.getLogger(JdbcBaseDAO.class);
 
     public final Properties databaseProps = new Properties();
     protected String urlSuffix = "";
     public final Map<String, String> sqlTypes = new HashMap<>();
+    private final Map<String, String> sqlCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > SQL_CACHE_SIZE;
+        }
+    };
 
     // Get Database Meta data
     protected @Nullable DbMetaData dbMeta;
@@ -432,10 +448,8 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), sqlTypes.get("tablePrimaryValue") });
-        Object[] params = { storedVO.getValue(), storedVO.getValue() };
+        String sql = getInsertItemValueSql(storedVO, false);
+        Object[] params = getInsertItemValueParams(storedVO, null);
         logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
         try {
             Yank.execute(sql, params);
@@ -446,12 +460,9 @@ public class JdbcBaseDAO {
 
     public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
         ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
-                new String[] { "#tableName#", "#tablePrimaryValue#" },
-                new String[] { formattedIdentifier(storedVO.getTableName()), "?" });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue(), storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} timestamp={} value='{}'", sql, timestamp, storedVO.getValue());
+        String sql = getInsertItemValueSql(storedVO, true);
+        Object[] params = getInsertItemValueParams(storedVO, date.toInstant());
+        logger.debug("JDBC::doStoreItemValue sql={} date={} value='{}'", sql, date, storedVO.getValue());
         try {
             Yank.execute(sql, params);
         } catch (YankSQLException e) {
@@ -459,13 +470,101 @@ public class JdbcBaseDAO {
         }
     }
 
+    /**
+     * Store several values of the same table with one JDBC batch.
+     *
+     * @param storedVOs values prepared by {@link #prepareItemValue}, all belonging to the same table and either all
+     *            with or all without a time
+     * @throws JdbcSQLException if the batch fails
+     */
+    public void doStoreItemValues(List<ItemVO> storedVOs) throws JdbcSQLException {
+        if (storedVOs.isEmpty()) {
+            return;
+        }
+        boolean withTime = storedVOs.get(0).getTime() != null;
+        String sql = getInsertItemValueSql(storedVOs.get(0), withTime);
+        Object[][] params = new Object[storedVOs.size()][];
+        for (int i = 0; i < params.length; i++) {
+            ItemVO storedVO = storedVOs.get(i);
+            params[i] = getInsertItemValueParams(storedVO, withTime ? storedVO.getTime().toInstant() : null);
+        }
+        logger.debug("JDBC::doStoreItemValues sql={} rows={}", sql, params.length);
+        try {
+            Yank.executeBatch(sql, params);
+        } catch (YankSQLException e) {
+            throw new JdbcSQLException(e);
+        }
+    }
+
+    /**
+     * Convert an item state into a value that can be stored later by {@link #doStoreItemValues(List)}.
+     *
+     * @param item the item
+     * @param itemState the state to store
+     * @param vo the value object holding the table name
+     * @param date the time of the state, or null if the database sets the time
+     * @return the prepared value object
+     */
+    public ItemVO prepareItemValue(Item item, State itemState, ItemVO vo, @Nullable ZonedDateTime date) {
+        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
+        if (date != null) {
+            storedVO.setTime(Date.from(date.toInstant()));
+        }
+        return storedVO;
+    }
+
+    private String getInsertItemValueSql(ItemVO storedVO, boolean withTime) {
+        String key = (withTime ? "insertTime:" : "insert:") + storedVO.getTableName() + ":" + storedVO.getDbType();
+        String timeValue = withTime ? getInsertTimeParameter()
+                : Objects.requireNonNullElse(sqlTypes.get("tablePrimaryValue"), "NOW()");
+        return getCachedSql(key, () -> buildInsertItemValueSql(storedVO, timeValue));
+    }
+
+    /**
+     * Build the insert statement for a value.
+     *
+     * The statement is cached per table and data type, so it must not depend on the value itself.
+     *
+     * @param storedVO the value to store
+     * @param timeValue the SQL expression for the time column
+     * @return the SQL statement
+     */
+    protected String buildInsertItemValueSql(ItemVO storedVO, String timeValue) {
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#" },
+                new String[] { formattedIdentifier(storedVO.getTableName()), timeValue });
+    }
+
+    /**
+     * Get the SQL expression binding the time of a value with an explicit time.
+     */
+    protected String getInsertTimeParameter() {
+        return "?";
+    }
+
+    /**
+     * Build the parameters of the insert statement.
+     *
+     * @param storedVO the value to store
+     * @param time the time of the value, or null if the database sets the time
+     * @return the statement parameters
+     */
+    protected Object[] getInsertItemValueParams(ItemVO storedVO, @Nullable Instant time) {
+        if (time == null) {
+            return new Object[] { storedVO.getValue(), storedVO.getValue() };
+        }
+        java.sql.Timestamp timestamp = new java.sql.Timestamp(time.toEpochMilli());
+        return new Object[] { timestamp, storedVO.getValue(), storedVO.getValue() };
+    }
+
     public List<HistoricItem> doGetHistItemFilterQuery(Item item, FilterCriteria filter, int numberDecimalcount,
             String table, String name, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name, timeZone);
-        logger.debug("JDBC::doGetHistItemFilterQuery sql={}", sql);
+        String sql = histItemFilterQueryProvider(filter, numberDecimalcount, table, name);
+        Object[] params = resolveTimeFilterParams(filter, timeZone);
+        logger.debug("JDBC::doGetHistItemFilterQuery sql={} params={}", sql, params);
         List<Object[]> m;
         try {
-            m = Yank.queryObjectArrays(sql, null);
+            m = Yank.queryObjectArrays(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
@@ -481,19 +580,49 @@ public class JdbcBaseDAO {
                 .collect(Collectors.<HistoricItem> toList());
     }
 
+    /**
+     * Query the history of an item page by page.
+     *
+     * The first page is read immediately, the following pages are read lazily while the result is iterated. Each page
+     * continues after the time of the last row of the previous page, so no connection is held between pages and at
+     * most one page is kept in memory. If a following page cannot be read, the iteration fails with an
+     * {@link IllegalStateException} instead of ending early, so a partial result is never taken as complete.
+     *
+     * @param pageSize the number of rows read with one query
+     * @return the lazily evaluated result
+     * @throws JdbcSQLException if the first page cannot be read
+     */
+    public Iterable<HistoricItem> doGetHistItemFilterQueryPaged(Item item, FilterCriteria filter,
+            int numberDecimalcount, String table, String name, ZoneId timeZone, int pageSize)
+            throws JdbcSQLException {
+        // we already retrieve the unit here once as it is a very costly operation
+        Unit<? extends Quantity<?>> unit = item instanceof NumberItem numberItem ? numberItem.getUnit() : null;
+        HistoricItemPageIterator first = new HistoricItemPageIterator(item, unit, filter, numberDecimalcount, table,
+                name, timeZone, pageSize);
+        first.fetchNextPage();
+        AtomicReference<@Nullable HistoricItemPageIterator> unused = new AtomicReference<>(first);
+        return () -> {
+            HistoricItemPageIterator iterator = unused.getAndSet(null);
+            return iterator != null ? iterator
+                    : new HistoricItemPageIterator(item, unit, filter, numberDecimalcount, table, name, timeZone,
+                            pageSize);
+        };
+    }
+
     public void doDeleteItemValues(FilterCriteria filter, String table, ZoneId timeZone) throws JdbcSQLException {
-        String sql = histItemFilterDeleteProvider(filter, table, timeZone);
-        logger.debug("JDBC::doDeleteItemValues sql={}", sql);
+        String sql = histItemFilterDeleteProvider(filter, table);
+        Object[] params = resolveTimeFilterParams(filter, timeZone);
+        logger.debug("JDBC::doDeleteItemValues sql={} params={}", sql, params);
         try {
-            Yank.execute(sql, null);
+            Yank.execute(sql, params);
         } catch (YankSQLException e) {
             throw new JdbcSQLException(e);
         }
     }
 
     public long doGetRowCount(String tableName) throws JdbcSQLException {
-        final String sql = StringUtilsExt.replaceArrayMerge(sqlGetRowCount, new String[] { "#tableName#" },
-                new String[] { formattedIdentifier(tableName) });
+        final String sql = getCachedSql("count:" + tableName, () -> StringUtilsExt.replaceArrayMerge(sqlGetRowCount,
+                new String[] { "#tableName#" }, new String[] { formattedIdentifier(tableName) }));
         logger.debug("JDBC::doGetRowCount sql={}", sql);
         try {
             final @Nullable Long result = Yank.queryScalar(sql, Long.class, null);
@@ -509,12 +638,12 @@ public class JdbcBaseDAO {
     static final DateTimeFormatter JDBC_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
-            String simpleName, ZoneId timeZone) {
+            String simpleName) {
         logger.debug(
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter, numberDecimalcount, table, simpleName);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != Integer.MAX_VALUE) {
             filterString += " LIMIT " + filter.getPageNumber() * filter.getPageSize() + "," + filter.getPageSize();
@@ -531,29 +660,77 @@ public class JdbcBaseDAO {
         return queryString;
     }
 
-    protected String histItemFilterDeleteProvider(FilterCriteria filter, String table, ZoneId timeZone) {
+    protected String histItemFilterDeleteProvider(FilterCriteria filter, String table) {
         logger.debug("JDBC::histItemFilterDeleteProvider filter = {}, table = {}", filter, table);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         String deleteString = filterString.isEmpty() ? "TRUNCATE TABLE " + formattedIdentifier(table)
                 : "DELETE FROM " + formattedIdentifier(table) + filterString;
         logger.debug("JDBC::delete deleteString = {}", deleteString);
         return deleteString;
     }
 
-    protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
+    /**
+     * Build the time condition of a query. The dates are bound as parameters, see
+     * {@link #resolveTimeFilterParams(FilterCriteria, ZoneId)}, so that the statement text only depends on which dates
+     * are set and the database can reuse the prepared statement.
+     */
+    protected String resolveTimeFilter(FilterCriteria filter) {
         String filterString = "";
+        if (filter.getBeginDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME>=?";
+        }
+        if (filter.getEndDate() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += " TIME<=?";
+        }
+        return resolvePageFilter(filter, filterString);
+    }
+
+    /**
+     * Append the condition continuing a paged query after the last row of the previous page.
+     *
+     * @param filter the filter, a {@link PageFilterCriteria} for paged queries
+     * @param filterString the time condition
+     * @return the time condition, extended for the continuation of a paged query
+     */
+    protected String resolvePageFilter(FilterCriteria filter, String filterString) {
+        if (filter instanceof PageFilterCriteria page && page.getAfter() != null) {
+            filterString += filterString.isEmpty() ? " WHERE" : " AND";
+            filterString += filter.getOrdering() == Ordering.ASCENDING ? " TIME>?" : " TIME<?";
+        }
+        return filterString;
+    }
+
+    protected Object[] resolveTimeFilterParams(FilterCriteria filter, ZoneId timeZone) {
+        List<Object> params = new ArrayList<>(2);
         ZonedDateTime beginDate = filter.getBeginDate();
         if (beginDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>='" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(timeFilterParameter(beginDate.withZoneSameInstant(timeZone)));
         }
         ZonedDateTime endDate = filter.getEndDate();
         if (endDate != null) {
-            filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<='" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone)) + "'";
+            params.add(timeFilterParameter(endDate.withZoneSameInstant(timeZone)));
         }
-        return filterString;
+        if (filter instanceof PageFilterCriteria page) {
+            Object after = page.getAfter();
+            if (after != null) {
+                // the time as returned by the driver, so that it matches the stored value exactly
+                params.add(after);
+            }
+        }
+        return params.toArray();
+    }
+
+    /**
+     * Convert a date of the time condition into a statement parameter.
+     *
+     * @param date the date in the configured time zone
+     * @return the parameter
+     */
+    protected Object timeFilterParameter(ZonedDateTime date) {
+        return JDBC_DATE_FORMAT.format(date);
     }
 
     private String updateItemTableNamesProvider(ItemVO itemTable) {
@@ -759,6 +936,33 @@ public class JdbcBaseDAO {
         };
     }
 
+    /**
+     * Get a statement from the cache, building it on first use.
+     *
+     * @param key identifies the statement, e.g. by kind and table name
+     * @param builder builds the statement
+     * @return the statement
+     */
+    protected String getCachedSql(String key, Supplier<String> builder) {
+        synchronized (sqlCache) {
+            String sql = sqlCache.get(key);
+            if (sql == null) {
+                sql = builder.get();
+                sqlCache.put(key, sql);
+            }
+            return sql;
+        }
+    }
+
+    /**
+     * Discard all cached statements, e.g. after the SQL templates or types have changed.
+     */
+    public void clearSqlCache() {
+        synchronized (sqlCache) {
+            sqlCache.clear();
+        }
+    }
+
     protected String formattedIdentifier(String identifier) {
         return identifier;
     }
@@ -807,4 +1011,99 @@ public class JdbcBaseDAO {
         }
         return dataType;
     }
+
+    /**
+     * Filter for one page of a paged query.
+     */
+    protected static class PageFilterCriteria extends FilterCriteria {
+        private final @Nullable Object after;
+
+        protected PageFilterCriteria(FilterCriteria filter, int pageSize, @Nullable Object after) {
+            setBeginDate(filter.getBeginDate());
+            setEndDate(filter.getEndDate());
+            setOrdering(filter.getOrdering());
+            setPageNumber(0);
+            setPageSize(pageSize);
+            this.after = after;
+        }
+
+        /**
+         * Get the time of the last row of the previous page, or null for the first page.
+         */
+        public @Nullable Object getAfter() {
+            return after;
+        }
+    }
+
+    private class HistoricItemPageIterator implements Iterator<HistoricItem> {
+        private final Item item;
+        private final @Nullable Unit<? extends Quantity<?>> unit;
+        private final FilterCriteria filter;
+        private final int numberDecimalcount;
+        private final String table;
+        private final String name;
+        private final ZoneId timeZone;
+        private final int pageSize;
+
+        private List<Object[]> page = List.of();
+        private int index = 0;
+        private @Nullable Object lastTime;
+        private boolean lastPage = false;
+
+        private HistoricItemPageIterator(Item item, @Nullable Unit<? extends Quantity<?>> unit, FilterCriteria filter,
+                int numberDecimalcount, String table, String name, ZoneId timeZone, int pageSize) {
+            this.item = item;
+            this.unit = unit;
+            this.filter = filter;
+            this.numberDecimalcount = numberDecimalcount;
+            this.table = table;
+            this.name = name;
+            this.timeZone = timeZone;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index < page.size()) {
+                return true;
+            }
+            if (lastPage) {
+                return false;
+            }
+            try {
+                fetchNextPage();
+            } catch (JdbcSQLException e) {
+                throw new IllegalStateException("Unable to read the history of item '" + item.getName() + "'", e);
+            }
+            return index < page.size();
+        }
+
+        @Override
+        public HistoricItem next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] row = page.get(index++);
+            return new JdbcHistoricItem(item.getName(), objectAsState(item, unit, row[1]), objectAsInstant(row[0]));
+        }
+
+        private void fetchNextPage() throws JdbcSQLException {
+            PageFilterCriteria pageFilter = new PageFilterCriteria(filter, pageSize, lastTime);
+            String sql = histItemFilterQueryProvider(pageFilter, numberDecimalcount, table, name);
+            Object[] params = resolveTimeFilterParams(pageFilter, timeZone);
+            logger.debug("JDBC::doGetHistItemFilterQueryPaged sql={} params={}", sql, params);
+            List<Object[]> rows;
+            try {
+                rows = Yank.queryObjectArrays(sql, params);
+            } catch (YankSQLException e) {
+                throw new JdbcSQLException(e);
+            }
+            page = rows != null ? rows : List.of();
+            index = 0;
+            lastPage = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                lastTime = page.get(page.size() - 1)[0];
+            }
+        }
+    }
 }
@@ -14,17 +14,14 @@ package org.openhab.persistence.jdbc.internal.db;
 
 import java.sql.SQLException;
 import java.time.Instant;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.util.List;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.Yank;
 import org.knowm.yank.exceptions.YankSQLException;
-import org.openhab.core.items.Item;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.FilterCriteria.Ordering;
-import org.openhab.core.types.State;
 import org.openhab.persistence.jdbc.internal.dto.ItemVO;
 import org.openhab.persistence.jdbc.internal.dto.ItemsVO;
 import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
@@ -110,7 +107,7 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
         sqlAlterTableColumn = "ALTER TABLE #tableName# MODIFY (#columnName# #columnType#)";
         sqlInsertItemValue = """
                 MERGE INTO #tableName# tgt
-                  USING (SELECT CAST(? AS TIMESTAMP) AS TIME, CAST(? AS #dbType#) AS VALUE FROM DUAL) src ON (tgt.TIME = src.TIME)
+                  USING (SELECT CAST(#tablePrimaryValue# AS TIMESTAMP) AS TIME, CAST(? AS #dbType#) AS VALUE FROM DUAL) src ON (tgt.TIME = src.TIME)
                   WHEN MATCHED THEN
                       UPDATE SET tgt.VALUE = src.VALUE
                   WHEN NOT MATCHED THEN
@@ -221,23 +218,20 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo) throws JdbcSQLException {
-        doStoreItemValue(item, itemState, vo, ZonedDateTime.now());
+    protected String buildInsertItemValueSql(ItemVO storedVO, String timeValue) {
+        // values without a time get CURRENT_TIMESTAMP of the database, like NOW() of the other databases
+        return StringUtilsExt.replaceArrayMerge(sqlInsertItemValue,
+                new String[] { "#tableName#", "#tablePrimaryValue#", "#dbType#" },
+                new String[] { storedVO.getTableName(), timeValue, storedVO.getDbType() });
     }
 
     @Override
-    public void doStoreItemValue(Item item, State itemState, ItemVO vo, ZonedDateTime date) throws JdbcSQLException {
-        ItemVO storedVO = storeItemValueProvider(item, itemState, vo);
-        String sql = StringUtilsExt.replaceArrayMerge(sqlInsertItemValue, new String[] { "#tableName#", "#dbType#" },
-                new String[] { storedVO.getTableName(), storedVO.getDbType() });
-        java.sql.Timestamp timestamp = new java.sql.Timestamp(date.toInstant().toEpochMilli());
-        Object[] params = { timestamp, storedVO.getValue() };
-        logger.debug("JDBC::doStoreItemValue sql={} value='{}'", sql, storedVO.getValue());
-        try {
-            Yank.execute(sql, params);
-        } catch (YankSQLException e) {
-            throw new JdbcSQLException(e);
+    protected Object[] getInsertItemValueParams(ItemVO storedVO, @Nullable Instant time) {
+        if (time == null) {
+            return new Object[] { storedVO.getValue() };
         }
+        java.sql.Timestamp timestamp = new java.sql.Timestamp(time.toEpochMilli());
+        return new Object[] { timestamp, storedVO.getValue() };
     }
 
     /****************************
@@ -246,12 +240,12 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
 
     @Override
     protected String histItemFilterQueryProvider(FilterCriteria filter, int numberDecimalcount, String table,
-            String simpleName, ZoneId timeZone) {
+            String simpleName) {
         logger.debug(
                 "JDBC::getHistItemFilterQueryProvider filter = {}, numberDecimalcount = {}, table = {}, simpleName = {}",
                 filter, numberDecimalcount, table, simpleName);
 
-        String filterString = resolveTimeFilter(filter, timeZone);
+        String filterString = resolveTimeFilter(filter);
         filterString += (filter.getOrdering() == Ordering.ASCENDING) ? " ORDER BY time ASC" : " ORDER BY time DESC";
         if (filter.getPageSize() != Integer.MAX_VALUE) {
             filterString += " OFFSET " + filter.getPageNumber() * filter.getPageSize() + " ROWS FETCH NEXT "
@@ -270,21 +264,17 @@ public class JdbcOracleDAO extends JdbcBaseDAO {
     }
 
     @Override
-    protected String resolveTimeFilter(FilterCriteria filter, ZoneId timeZone) {
+    protected String resolveTimeFilter(FilterCriteria filter) {
         String filterString = "";
-        ZonedDateTime beginDate = filter.getBeginDate();
-        if (beginDate != null) {
+        if (filter.getBeginDate() != null) {
             filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME>=TO_TIMESTAMP('" + JDBC_DATE_FORMAT.format(beginDate.withZoneSameInstant(timeZone))
-                    + "', 'YYYY-MM-dd HH24:MI:SS')";
+            filterString += " TIME>=TO_TIMESTAMP(?, 'YYYY-MM-dd HH24:MI:SS')";
         }
-        ZonedDateTime endDate = filter.getEndDate();
-        if (endDate != null) {
+        if (filter.getEndDate() != null) {
             filterString += filterString.isEmpty() ? " WHERE" : " AND";
-            filterString += " TIME<=TO_TIMESTAMP('" + JDBC_DATE_FORMAT.format(endDate.withZoneSameInstant(timeZone))
-                    + "', 'YYYY-MM-dd HH24:MI:SS')";
+            filterString += " TIME<=TO_TIMESTAMP(?, 'YYYY-MM-dd HH24:MI:SS')";
         }
-        return filterString;
+        return resolvePageFilter(filter, filterString);
     }
 
     @Override
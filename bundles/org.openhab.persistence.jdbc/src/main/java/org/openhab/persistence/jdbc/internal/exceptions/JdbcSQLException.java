@@ -12,22 +12,53 @@
  */
 package org.openhab.persistence.jdbc.internal.exceptions;
 
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
 import java.util.Objects;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.knowm.yank.exceptions.YankSQLException;
 
 /**
  * This exception wraps a {@link YankSQLException}.
  *
  * @author Jacob Laursen - Initial contribution
+ * @author Marcel Verpaalen - transient failures
  */
 @NonNullByDefault
 public class JdbcSQLException extends JdbcException {
 
     private static final long serialVersionUID = 4562191548585905000L;
 
+    // SQL state class of connection exceptions
+    private static final String SQL_STATE_CONNECTION = "08";
+
+    private final @Nullable String sqlState;
+    private final boolean transientFailure;
+
     public JdbcSQLException(YankSQLException sqlException) {
         super(Objects.requireNonNull(sqlException.getMessage()));
+        if (sqlException.getCause() instanceof SQLException cause) {
+            sqlState = cause.getSQLState();
+            transientFailure = cause instanceof SQLTransientException || cause instanceof SQLRecoverableException
+                    || cause instanceof SQLNonTransientConnectionException;
+        } else {
+            sqlState = null;
+            transientFailure = false;
+        }
+    }
+
+    /**
+     * Check whether the failure is caused by the connection to the database or is otherwise transient, so that the
+     * same statement may succeed when it is retried later.
+     *
+     * @return true if the statement may succeed later
+     */
+    public boolean isTransient() {
+        String sqlState = this.sqlState;
+        return transientFailure || (sqlState != null && sqlState.startsWith(SQL_STATE_CONNECTION));
     }
 }
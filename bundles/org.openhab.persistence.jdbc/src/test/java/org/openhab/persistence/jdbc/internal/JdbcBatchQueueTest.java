@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.JdbcBatchQueue.OverflowPolicy;
+import org.openhab.persistence.jdbc.internal.JdbcBatchQueue.PendingValue;
+
+/**
+ * Tests the {@link JdbcBatchQueue}.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcBatchQueueTest {
+
+    private final NumberItem item = new NumberItem("Test");
+
+    private PendingValue value(int i) {
+        return new PendingValue(item, new DecimalType(i), ZonedDateTime.now(), null);
+    }
+
+    @Test
+    void dropOldestKeepsNewestValues() {
+        JdbcBatchQueue queue = new JdbcBatchQueue(2, OverflowPolicy.DROP_OLDEST, 0);
+        for (int i = 0; i < 3; i++) {
+            assertThat(queue.offer(value(i)), is(true));
+        }
+        List<PendingValue> values = queue.drain(10);
+        assertThat(values.size(), is(2));
+        assertThat(values.get(0).state(), is(new DecimalType(1)));
+        assertThat(values.get(1).state(), is(new DecimalType(2)));
+        assertThat(queue.getStatistics().dropped(), is(1L));
+    }
+
+    @Test
+    void dropNewestKeepsOldestValues() {
+        JdbcBatchQueue queue = new JdbcBatchQueue(2, OverflowPolicy.DROP_NEWEST, 0);
+        assertThat(queue.offer(value(0)), is(true));
+        assertThat(queue.offer(value(1)), is(true));
+        assertThat(queue.offer(value(2)), is(false));
+        List<PendingValue> values = queue.drain(10);
+        assertThat(values.get(0).state(), is(new DecimalType(0)));
+        assertThat(values.get(1).state(), is(new DecimalType(1)));
+        assertThat(queue.getStatistics().dropped(), is(1L));
+    }
+
+    @Test
+    void blockGivesUpAfterTimeout() {
+        JdbcBatchQueue queue = new JdbcBatchQueue(1, OverflowPolicy.BLOCK, 10);
+        assertThat(queue.offer(value(0)), is(true));
+        assertThat(queue.offer(value(1)), is(false));
+        assertThat(queue.getStatistics().dropped(), is(1L));
+    }
+
+    @Test
+    void drainIsLimitedToBatchSize() {
+        JdbcBatchQueue queue = new JdbcBatchQueue(10, OverflowPolicy.DROP_OLDEST, 0);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(value(i));
+        }
+        assertThat(queue.drain(3).size(), is(3));
+        assertThat(queue.drain(3).size(), is(2));
+        assertThat(queue.getStatistics().maxQueueDepth(), is(5));
+    }
+
+    @Test
+    void requeuedValuesAreWrittenFirst() {
+        JdbcBatchQueue queue = new JdbcBatchQueue(10, OverflowPolicy.DROP_OLDEST, 0);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(value(i));
+        }
+        List<PendingValue> batch = queue.drain(2);
+        queue.offer(value(4));
+        queue.requeue(batch);
+
+        List<PendingValue> values = queue.drain(10);
+        assertThat(values.size(), is(5));
+        for (int i = 0; i < 5; i++) {
+            assertThat(values.get(i).state(), is(new DecimalType(i)));
+        }
+        assertThat(queue.getStatistics().dropped(), is(0L));
+    }
+
+    @Test
+    void requeueDropsOldestValuesIfFull() {
+        JdbcBatchQueue queue = new JdbcBatchQueue(3, OverflowPolicy.DROP_OLDEST, 0);
+        for (int i = 0; i < 3; i++) {
+            queue.offer(value(i));
+        }
+        List<PendingValue> batch = queue.drain(2);
+        queue.offer(value(3));
+        queue.offer(value(4));
+        queue.requeue(batch);
+
+        List<PendingValue> values = queue.drain(10);
+        assertThat(values.size(), is(3));
+        assertThat(values.get(0).state(), is(new DecimalType(2)));
+        assertThat(queue.getStatistics().dropped(), is(2L));
+    }
+
+    @Test
+    void drainByNameKeepsOtherItems() {
+        NumberItem other = new NumberItem("Other");
+        JdbcBatchQueue queue = new JdbcBatchQueue(10, OverflowPolicy.DROP_OLDEST, 0);
+        queue.offer(value(0));
+        queue.offer(new PendingValue(other, new DecimalType(1), ZonedDateTime.now(), null));
+        queue.offer(new PendingValue(other, new DecimalType(2), ZonedDateTime.now(), "Test"));
+        queue.offer(value(3));
+
+        List<PendingValue> values = queue.drain("Test");
+        assertThat(values.size(), is(3));
+        assertThat(values.get(0).state(), is(new DecimalType(0)));
+        assertThat(values.get(1).state(), is(new DecimalType(2)));
+        assertThat(values.get(2).state(), is(new DecimalType(3)));
+        assertThat(queue.size(), is(1));
+    }
+
+    @Test
+    void overflowPolicyIsParsedFromConfig() {
+        assertThat(OverflowPolicy.fromConfig("dropOldest"), is(OverflowPolicy.DROP_OLDEST));
+        assertThat(OverflowPolicy.fromConfig("dropnewest"), is(OverflowPolicy.DROP_NEWEST));
+        assertThat(OverflowPolicy.fromConfig(" Block "), is(OverflowPolicy.BLOCK));
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.jdbc.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.items.Item;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.persistence.jdbc.internal.JdbcBatchQueue.PendingValue;
+import org.openhab.persistence.jdbc.internal.JdbcMapper.StoreResult;
+import org.openhab.persistence.jdbc.internal.db.JdbcBaseDAO;
+import org.openhab.persistence.jdbc.internal.dto.ItemVO;
+import org.openhab.persistence.jdbc.internal.exceptions.JdbcSQLException;
+
+/**
+ * Tests the batched writes of the {@link JdbcMapper}.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class JdbcMapperTest {
+
+    private final NumberItem first = new NumberItem("First");
+    private final NumberItem second = new NumberItem("Second");
+    private final JdbcBaseDAO dao = mock(JdbcBaseDAO.class);
+    // the values of every batch passed to the DAO, successful or not
+    private final List<List<Object>> batches = new ArrayList<>();
+
+    private final JdbcMapper mapper = new JdbcMapper(mock(TimeZoneProvider.class)) {
+        @Override
+        protected String getTable(Item item, @Nullable String alias) {
+            return "item_" + item.getName();
+        }
+    };
+
+    @BeforeEach
+    void setup() throws JdbcSQLException {
+        JdbcConfiguration conf = mock(JdbcConfiguration.class);
+        when(conf.getDBDAO()).thenReturn(dao);
+        when(conf.isDriverAvailable()).thenReturn(true);
+        when(conf.isDbConnected()).thenReturn(true);
+        when(conf.getDbName()).thenReturn("openhab");
+        mapper.conf = conf;
+
+        when(dao.doPingDB()).thenReturn(1);
+        when(dao.prepareItemValue(any(), any(), any(), any())).thenAnswer(invocation -> {
+            ItemVO vo = invocation.getArgument(2);
+            vo.setValue(((DecimalType) invocation.getArgument(1)).intValue());
+            ZonedDateTime date = invocation.getArgument(3);
+            if (date != null) {
+                vo.setTime(Date.from(date.toInstant()));
+            }
+            return vo;
+        });
+    }
+
+    private PendingValue value(NumberItem item, int i) {
+        return new PendingValue(item, new DecimalType(i), ZonedDateTime.now(), null);
+    }
+
+    /**
+     * Let the DAO fail every batch containing one of the given values.
+     */
+    private void failBatchesWith(JdbcSQLException exception, int... failingValues) throws JdbcSQLException {
+        doAnswer(invocation -> {
+            List<ItemVO> vos = invocation.getArgument(0);
+            List<Object> values = vos.stream().map(ItemVO::getValue).toList();
+            batches.add(values);
+            for (int failingValue : failingValues) {
+                if (values.contains(failingValue)) {
+                    throw exception;
+                }
+            }
+            return null;
+        }).when(dao).doStoreItemValues(anyList());
+    }
+
+    private JdbcSQLException failure(boolean transientFailure) {
+        JdbcSQLException exception = mock(JdbcSQLException.class);
+        when(exception.isTransient()).thenReturn(transientFailure);
+        return exception;
+    }
+
+    @Test
+    void valuesAreWrittenWithOneBatchPerTable() throws JdbcSQLException {
+        failBatchesWith(failure(false));
+        StoreResult result = mapper.storeItemValues(
+                List.of(value(first, 1), value(second, 2), value(first, 3), value(second, 4)));
+
+        assertThat(result.failed(), is(0));
+        assertThat(result.unwritten(), is(List.of()));
+        assertThat(batches, is(List.of(List.of(1, 3), List.of(2, 4))));
+    }
+
+    @Test
+    void valuesWithoutTimeAreWrittenInSeparateBatch() throws JdbcSQLException {
+        failBatchesWith(failure(false));
+        StoreResult result = mapper.storeItemValues(List.of(value(first, 1),
+                new PendingValue(first, new DecimalType(2), null, null), value(first, 3)));
+
+        assertThat(result.failed(), is(0));
+        assertThat(batches, is(List.of(List.of(1, 3), List.of(2))));
+    }
+
+    @Test
+    void rejectedBatchIsWrittenRowByRow() throws JdbcSQLException {
+        failBatchesWith(failure(false), 2);
+        StoreResult result = mapper.storeItemValues(List.of(value(first, 1), value(first, 2), value(first, 3)));
+
+        // only the invalid value is discarded
+        assertThat(result.failed(), is(1));
+        assertThat(result.unwritten(), is(List.of()));
+        assertThat(batches, is(List.of(List.of(1, 2, 3), List.of(1), List.of(2), List.of(3))));
+    }
+
+    @Test
+    void valuesAreKeptWhenDatabaseIsNotAvailable() throws JdbcSQLException {
+        failBatchesWith(failure(true), 1);
+        List<PendingValue> values = List.of(value(first, 1), value(second, 2), value(first, 3));
+        StoreResult result = mapper.storeItemValues(values);
+
+        // the values of the remaining tables are not tried and returned in insertion order
+        assertThat(result.failed(), is(0));
+        assertThat(result.unwritten(), is(values));
+        assertThat(batches, is(List.of(List.of(1, 3))));
+    }
+
+    @Test
+    void valuesAreKeptWhenConnectionIsLostDuringRowByRowWrite() throws JdbcSQLException {
+        List<PendingValue> values = List.of(value(first, 1), value(first, 2), value(first, 3));
+        JdbcSQLException rejected = failure(false);
+        JdbcSQLException connectionLost = failure(true);
+        doAnswer(invocation -> {
+            List<ItemVO> vos = invocation.getArgument(0);
+            List<Object> batch = vos.stream().map(ItemVO::getValue).toList();
+            batches.add(batch);
+            if (batch.size() > 1) {
+                throw rejected;
+            } else if (batch.contains(2)) {
+                throw connectionLost;
+            }
+            return null;
+        }).when(dao).doStoreItemValues(anyList());
+
+        StoreResult result = mapper.storeItemValues(values);
+
+        // the first value is written, the others are kept for the next attempt
+        assertThat(result.failed(), is(0));
+        assertThat(result.unwritten(), is(values.subList(1, 3)));
+        assertThat(batches, is(List.of(List.of(1, 2, 3), List.of(1), List.of(2))));
+    }
+}
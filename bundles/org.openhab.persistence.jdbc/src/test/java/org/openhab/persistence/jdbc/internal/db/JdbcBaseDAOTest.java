@@ -18,12 +18,12 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Objects;
 import java.util.stream.Stream;
 
 import javax.measure.Quantity;
@@ -160,7 +160,7 @@ public class JdbcBaseDAOTest {
 
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrder() {
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC"));
     }
 
@@ -168,7 +168,7 @@ public class JdbcBaseDAOTest {
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseAscendingOrder() {
         filter.setOrdering(Ordering.ASCENDING);
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time ASC"));
     }
 
@@ -177,24 +177,22 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
-        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "' ORDER BY time DESC"));
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
+        assertThat(sql,
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=? ORDER BY time DESC"));
     }
 
     @Test
     void testHistItemFilterQueryProviderReturnsSelectQueryWithoutWhereClauseDescendingOrderAndLimit() {
         filter.setPageSize(1);
 
-        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST", UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(filter, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME + " ORDER BY time DESC LIMIT 0,1"));
     }
 
     @Test
     void testHistItemFilterDeleteProviderReturnsDeleteQueryWithoutWhereClause() {
-        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME);
         assertThat(sql, is("TRUNCATE TABLE " + DB_TABLE_NAME));
     }
 
@@ -203,16 +201,13 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME, UTC_ZONE_ID);
-        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>='" //
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'" //
-                + " AND TIME<='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate()))
-                + "'"));
+        String sql = jdbcBaseDAO.histItemFilterDeleteProvider(filter, DB_TABLE_NAME);
+        assertThat(sql, is("DELETE FROM " + DB_TABLE_NAME + " WHERE TIME>=? AND TIME<=?"));
     }
 
     @Test
     void testResolveTimeFilterWithNoDatesReturnsEmptyString() {
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
         assertThat(sql, is(""));
     }
 
@@ -220,18 +215,16 @@ public class JdbcBaseDAOTest {
     void testResolveTimeFilterWithStartDateOnlyReturnsWhereClause() {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME>='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME>=?"));
     }
 
     @Test
     void testResolveTimeFilterWithEndDateOnlyReturnsWhereClause() {
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
-        assertThat(sql, is(" WHERE TIME<='"
-                + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME<=?"));
     }
 
     @Test
@@ -239,12 +232,60 @@ public class JdbcBaseDAOTest {
         filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
         filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
 
-        String sql = jdbcBaseDAO.resolveTimeFilter(filter, UTC_ZONE_ID);
+        String sql = jdbcBaseDAO.resolveTimeFilter(filter);
+        assertThat(sql, is(" WHERE TIME>=? AND TIME<=?"));
+    }
+
+    @Test
+    void testResolveTimeFilterParamsWithNoDatesReturnsEmptyArray() {
+        Object[] params = jdbcBaseDAO.resolveTimeFilterParams(filter, UTC_ZONE_ID);
+        assertThat(params.length, is(0));
+    }
+
+    @Test
+    void testResolveTimeFilterParamsWithStartAndEndDateReturnsFormattedDatesInTimeZone() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setEndDate(parseDateTimeString("2022-01-15T15:01:44"));
+
+        Object[] params = jdbcBaseDAO.resolveTimeFilterParams(filter, ZoneId.of("Europe/Berlin"));
+        assertThat(params.length, is(2));
+        assertThat(params[0], is("2022-01-10 16:01:44"));
+        assertThat(params[1], is("2022-01-15 16:01:44"));
+    }
+
+    @Test
+    void testHistItemFilterQueryProviderForFirstPageReturnsSelectQueryWithLimit() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        JdbcBaseDAO.PageFilterCriteria page = new JdbcBaseDAO.PageFilterCriteria(filter, 100, null);
+
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(page, 0, DB_TABLE_NAME, "TEST");
         assertThat(sql,
-                is(" WHERE TIME>='" + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getBeginDate()))
-                        + "'" //
-                        + " AND TIME<='"
-                        + JdbcBaseDAO.JDBC_DATE_FORMAT.format(Objects.requireNonNull(filter.getEndDate())) + "'"));
+                is("SELECT time, value FROM " + DB_TABLE_NAME + " WHERE TIME>=? ORDER BY time DESC LIMIT 0,100"));
+        assertThat(jdbcBaseDAO.resolveTimeFilterParams(page, UTC_ZONE_ID).length, is(1));
+    }
+
+    @Test
+    void testHistItemFilterQueryProviderForNextPageContinuesAfterLastTime() {
+        filter.setBeginDate(parseDateTimeString("2022-01-10T15:01:44"));
+        filter.setOrdering(Ordering.ASCENDING);
+        Object after = Timestamp.valueOf("2022-01-12 10:00:00");
+        JdbcBaseDAO.PageFilterCriteria page = new JdbcBaseDAO.PageFilterCriteria(filter, 100, after);
+
+        String sql = jdbcBaseDAO.histItemFilterQueryProvider(page, 0, DB_TABLE_NAME, "TEST");
+        assertThat(sql, is("SELECT time, value FROM " + DB_TABLE_NAME
+                + " WHERE TIME>=? AND TIME>? ORDER BY time ASC LIMIT 0,100"));
+        Object[] params = jdbcBaseDAO.resolveTimeFilterParams(page, UTC_ZONE_ID);
+        assertThat(params.length, is(2));
+        assertThat(params[0], is("2022-01-10 15:01:44"));
+        assertThat(params[1], is(after));
+    }
+
+    @Test
+    void testResolveTimeFilterForNextPageInDescendingOrderContinuesBeforeLastTime() {
+        JdbcBaseDAO.PageFilterCriteria page = new JdbcBaseDAO.PageFilterCriteria(filter, 100, "2022-01-12 10:00:00");
+
+        String sql = jdbcBaseDAO.resolveTimeFilter(page);
+        assertThat(sql, is(" WHERE TIME<?"));
     }
 
     private ZonedDateTime parseDateTimeString(String dts) {
@@ -86,6 +86,23 @@ class MapDbItem implements PersistedItem, PersistenceItemInfo {
         this.lastStateChange = lastStateChange;
     }
 
+    /**
+     * Create a copy of this item with another name.
+     *
+     * @param name the name of the copy
+     * @return the copy
+     */
+    MapDbItem copy(String name) {
+        MapDbItem copy = new MapDbItem();
+        copy.name = name;
+        copy.state = state;
+        copy.timestamp = new Date(timestamp.getTime());
+        copy.lastState = lastState;
+        Date localLastStateChange = lastStateChange;
+        copy.lastStateChange = localLastStateChange != null ? new Date(localLastStateChange.getTime()) : null;
+        return copy;
+    }
+
     @Override
     public String toString() {
         return DateFormat.getDateTimeInstance().format(timestamp) + ": " + name + " -> " + state.toString();
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.types.State;
+import org.openhab.core.types.TypeParser;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+
+/**
+ * The {@link MapDbItemCodec} converts a {@link MapDbItem} to a compact binary representation and back.
+ *
+ * The most common state types are written in a binary form that can be read without parsing. All other states are
+ * written with their class name and full string representation, like the {@link StateTypeAdapter} does. The item name
+ * is not part of the binary representation, as it is the key of the stored value.
+ *
+ * Older versions stored the items as JSON strings, these can still be decoded.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+class MapDbItemCodec {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte TAG_OTHER = 0;
+    private static final byte TAG_DECIMAL = 1;
+    private static final byte TAG_PERCENT = 2;
+    private static final byte TAG_QUANTITY = 3;
+    private static final byte TAG_ON_OFF = 4;
+    private static final byte TAG_OPEN_CLOSED = 5;
+    private static final byte TAG_STRING = 6;
+
+    private final Map<String, Class<? extends State>> stateClasses = new ConcurrentHashMap<>();
+    private final Gson gson = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
+            .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+
+    /**
+     * Encode an item.
+     *
+     * @param item the item
+     * @return the binary representation
+     */
+    byte[] encode(MapDbItem item) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeLong(item.getTimestamp().toInstant().toEpochMilli());
+            writeState(out, item.getState());
+            State lastState = item.getLastState();
+            out.writeBoolean(lastState != null);
+            if (lastState != null) {
+                writeState(out, lastState);
+            }
+            ZonedDateTime lastStateChange = item.getLastStateChange();
+            out.writeBoolean(lastStateChange != null);
+            if (lastStateChange != null) {
+                out.writeLong(lastStateChange.toInstant().toEpochMilli());
+            }
+        } catch (IOException e) {
+            // writing to a byte array does not fail
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decode an item in the binary format or in the JSON format of older versions.
+     *
+     * @param name the name of the item
+     * @param value the stored value, a byte array or a JSON string
+     * @return the item
+     * @throws IOException if the value is invalid
+     */
+    MapDbItem decode(String name, Object value) throws IOException {
+        if (value instanceof byte[] data) {
+            return decode(name, data);
+        } else if (value instanceof String json) {
+            return decodeJson(json);
+        }
+        throw new IOException("Unknown format " + value.getClass().getName());
+    }
+
+    /**
+     * Decode an item.
+     *
+     * @param name the name of the item
+     * @param data the binary representation
+     * @return the item
+     * @throws IOException if the data is invalid
+     */
+    MapDbItem decode(String name, byte[] data) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported format version " + version);
+            }
+            MapDbItem item = new MapDbItem();
+            item.setName(name);
+            item.setTimestamp(new Date(in.readLong()));
+            item.setState(readState(in));
+            if (in.readBoolean()) {
+                item.setLastState(readState(in));
+            }
+            if (in.readBoolean()) {
+                item.setLastStateChange(new Date(in.readLong()));
+            }
+            return item;
+        }
+    }
+
+    @SuppressWarnings("null")
+    private MapDbItem decodeJson(String json) throws IOException {
+        MapDbItem item;
+        try {
+            item = gson.fromJson(json, MapDbItem.class);
+        } catch (JsonParseException e) {
+            throw new IOException("Invalid JSON: " + e.getMessage());
+        }
+        if (item == null || !item.isValid()) {
+            throw new IOException("Invalid item " + item);
+        }
+        return item;
+    }
+
+    private void writeState(DataOutputStream out, State state) throws IOException {
+        Class<?> type = state.getClass();
+        if (type == DecimalType.class) {
+            out.writeByte(TAG_DECIMAL);
+            writeBigDecimal(out, ((DecimalType) state).toBigDecimal());
+        } else if (type == PercentType.class) {
+            out.writeByte(TAG_PERCENT);
+            writeBigDecimal(out, ((PercentType) state).toBigDecimal());
+        } else if (type == QuantityType.class) {
+            out.writeByte(TAG_QUANTITY);
+            writeString(out, state.toFullString());
+        } else if (type == OnOffType.class) {
+            out.writeByte(TAG_ON_OFF);
+            out.writeBoolean(state == OnOffType.ON);
+        } else if (type == OpenClosedType.class) {
+            out.writeByte(TAG_OPEN_CLOSED);
+            out.writeBoolean(state == OpenClosedType.OPEN);
+        } else if (type == StringType.class) {
+            out.writeByte(TAG_STRING);
+            writeString(out, state.toFullString());
+        } else {
+            out.writeByte(TAG_OTHER);
+            writeString(out, type.getName());
+            writeString(out, state.toFullString());
+        }
+    }
+
+    private State readState(DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        return switch (tag) {
+            case TAG_DECIMAL -> new DecimalType(readBigDecimal(in));
+            case TAG_PERCENT -> new PercentType(readBigDecimal(in));
+            case TAG_QUANTITY -> new QuantityType<>(readString(in));
+            case TAG_ON_OFF -> in.readBoolean() ? OnOffType.ON : OnOffType.OFF;
+            case TAG_OPEN_CLOSED -> in.readBoolean() ? OpenClosedType.OPEN : OpenClosedType.CLOSED;
+            case TAG_STRING -> new StringType(readString(in));
+            case TAG_OTHER -> readOtherState(in);
+            default -> throw new IOException("Unknown state tag " + tag);
+        };
+    }
+
+    private State readOtherState(DataInputStream in) throws IOException {
+        String typeName = readString(in);
+        String value = readString(in);
+        Class<? extends State> type = stateClasses.get(typeName);
+        if (type == null) {
+            try {
+                type = Class.forName(typeName).asSubclass(State.class);
+            } catch (ClassNotFoundException | ClassCastException e) {
+                throw new IOException("Unknown state type " + typeName);
+            }
+            stateClasses.put(typeName, type);
+        }
+        State state = TypeParser.parseState(List.of(type), value);
+        if (state == null) {
+            throw new IOException("Cannot parse '" + value + "' as " + typeName);
+        }
+        return state;
+    }
+
+    private void writeBigDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        out.writeInt(value.scale());
+        out.writeInt(unscaled.length);
+        out.write(unscaled);
+    }
+
+    private BigDecimal readBigDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        byte[] unscaled = new byte[readLength(in)];
+        in.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), scale);
+    }
+
+    private void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readLength(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid length " + length);
+        }
+        return length;
+    }
+}
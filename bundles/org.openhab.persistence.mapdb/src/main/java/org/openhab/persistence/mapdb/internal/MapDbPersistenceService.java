@@ -19,15 +19,20 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
@@ -35,8 +40,9 @@ import org.mapdb.DB;
 import org.mapdb.DBMaker;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.Item;
-import org.openhab.core.library.types.DateTimeType;
 import org.openhab.core.persistence.FilterCriteria;
 import org.openhab.core.persistence.HistoricItem;
 import org.openhab.core.persistence.PersistedItem;
@@ -49,48 +55,67 @@ import org.openhab.core.types.UnDefType;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.ConfigurationPolicy;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 /**
  * This is the implementation of the MapDB {@link PersistenceService}. To learn more about MapDB please visit their
  * <a href="http://www.mapdb.org/">website</a>.
  *
  * @author Jens Viebig - Initial contribution
  * @author Martin Kühl - Port to 3.x
+ * @author Marcel Verpaalen - binary format and commit coalescing
  */
 @NonNullByDefault
-@Component(service = { PersistenceService.class, QueryablePersistenceService.class }, property = Constants.SERVICE_PID
-        + "=org.openhab.mapdb")
+@Component(service = { PersistenceService.class,
+        QueryablePersistenceService.class }, configurationPid = "org.openhab.mapdb", configurationPolicy = ConfigurationPolicy.OPTIONAL, property = Constants.SERVICE_PID
+                + "=org.openhab.mapdb")
+@ConfigurableService(category = "persistence", label = "MapDB Persistence Service", description_uri = MapDbPersistenceService.CONFIG_URI)
 public class MapDbPersistenceService implements QueryablePersistenceService {
 
     private static final String SERVICE_ID = "mapdb";
     private static final String SERVICE_LABEL = "MapDB";
+    protected static final String CONFIG_URI = "persistence:mapdb";
     private static final Path DB_DIR = new File(OpenHAB.getUserDataFolder(), "persistence").toPath().resolve("mapdb");
     private static final Path BACKUP_DIR = DB_DIR.resolve("backup");
     private static final String DB_FILE_NAME = "storage.mapdb";
+    private static final String CONFIG_COMMIT_INTERVAL = "commitInterval";
+    private static final long DEFAULT_COMMIT_INTERVAL = 0;
 
     private final Logger logger = LoggerFactory.getLogger(MapDbPersistenceService.class);
 
-    private final ExecutorService threadPool = ThreadPoolManager.getPool(getClass().getSimpleName());
+    private final ScheduledExecutorService threadPool = ThreadPoolManager
+            .getScheduledPool(getClass().getSimpleName());
 
     /**
      * holds the local instance of the MapDB database
      */
 
     private @NonNullByDefault({}) DB db;
-    private @NonNullByDefault({}) Map<String, String> map;
+    // values are stored in binary format, older versions stored JSON strings
+    private @NonNullByDefault({}) Map<String, Object> map;
 
-    private transient Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
-            .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+    /**
+     * holds the decoded items of the database, items in {@link #dirtyItems} are not written yet
+     */
+    private final Map<String, MapDbItem> items = new ConcurrentHashMap<>();
+    private final Set<String> dirtyItems = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean flushPending = new AtomicBoolean();
+    private final MapDbItemCodec codec = new MapDbItemCodec();
+    private long commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder commits = new LongAdder();
+    private long activationTime = System.currentTimeMillis();
 
     @Activate
-    public void activate() {
+    public void activate(Map<String, Object> config) {
         logger.debug("MapDB persistence service is being activated");
+        modified(config);
+        activationTime = System.currentTimeMillis();
 
         try {
             Files.createDirectories(DB_DIR);
@@ -139,19 +164,83 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
             } else {
                 logger.warn("Failed to create or open the MapDB: {}", re.getMessage());
                 logger.warn("MapDB persistence service activation has failed.");
+                return;
             }
         }
+        loadItems();
         logger.debug("MapDB persistence service is now activated");
     }
 
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        commitInterval = Math.max(0, ConfigParser.valueAsOrElse(config.get(CONFIG_COMMIT_INTERVAL), Long.class,
+                DEFAULT_COMMIT_INTERVAL));
+        logger.debug("MapDB commit interval is {} ms", commitInterval);
+    }
+
     @Deactivate
     public void deactivate() {
         logger.debug("MapDB persistence service deactivated");
         if (db != null) {
+            flush();
+            logStatistics();
             db.close();
         }
     }
 
+    /**
+     * Read all items in one pass, so that later queries do not need to access and decode the database. Items still
+     * stored as JSON by older versions are converted to the binary format, after the database has been copied to the
+     * backup directory. Items that cannot be decoded are left unchanged.
+     */
+    private void loadItems() {
+        long start = System.currentTimeMillis();
+        List<String> converted = new ArrayList<>();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            try {
+                items.put(entry.getKey(), codec.decode(entry.getKey(), entry.getValue()));
+                if (entry.getValue() instanceof String) {
+                    converted.add(entry.getKey());
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Couldn't deserialize item '{}': {}", entry.getKey(), e.getMessage());
+            }
+        }
+        if (!converted.isEmpty() && backupDatabase()) {
+            converted.forEach(name -> map.put(name, codec.encode(Objects.requireNonNull(items.get(name)))));
+            db.commit();
+        } else {
+            converted.clear();
+        }
+        logger.debug("Loaded {} items from MapDB in {} ms, converted {} items to the binary format", items.size(),
+                System.currentTimeMillis() - start, converted.size());
+    }
+
+    /**
+     * Copy the database files to the backup directory, so that the database can still be used by older versions.
+     *
+     * @return true if the files have been copied
+     */
+    private boolean backupDatabase() {
+        long epochMilli = Instant.now().toEpochMilli();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(DB_DIR)) {
+            Files.createDirectories(BACKUP_DIR);
+            for (Path path : stream) {
+                if (!Files.isDirectory(path)) {
+                    Path newPath = BACKUP_DIR.resolve(epochMilli + "--" + path.getFileName());
+                    Files.copy(path, newPath);
+                    logger.info("Copied MapDB file '{}' to '{}' before converting it to the binary format", path,
+                            newPath);
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warn("Failed to copy the MapDB files to '{}', the items are kept in the JSON format: {}", BACKUP_DIR,
+                    e.getMessage());
+            return false;
+        }
+    }
+
     @Override
     public String getId() {
         return SERVICE_ID;
@@ -164,8 +253,7 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
 
     @Override
     public Set<PersistenceItemInfo> getItemInfo() {
-        return map.values().stream().map(this::deserialize).flatMap(MapDbPersistenceService::streamOptional)
-                .collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
+        return items.values().stream().collect(Collectors.<PersistenceItemInfo> toUnmodifiableSet());
     }
 
     @Override
@@ -192,57 +280,79 @@ public class MapDbPersistenceService implements QueryablePersistenceService {
         mItem.setTimestamp(lastStateUpdate != null ? Date.from(lastStateUpdate.toInstant()) : new Date());
         ZonedDateTime lastStateChange = item.getLastStateChange();
         mItem.setLastStateChange(lastStateChange != null ? Date.from(lastStateChange.toInstant()) : null);
-        threadPool.submit(() -> {
-            String json = serialize(mItem);
-            map.put(localAlias, json);
-            db.commit();
-            logger.debug("Stored '{}' with state '{}' as '{}' in MapDB database", localAlias, state, json);
-        });
+        items.put(localAlias, mItem);
+        dirtyItems.add(localAlias);
+        scheduleFlush();
+        logger.debug("Stored '{}' with state '{}' in MapDB database", localAlias, state);
     }
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter) {
-        String json = map.get(filter.getItemName());
-        if (json == null) {
-            return List.of();
-        }
-        Optional<MapDbItem> item = deserialize(json);
-        return item.isPresent() ? List.of(item.get()) : List.of();
+        String itemName = filter.getItemName();
+        MapDbItem item = itemName != null ? items.get(itemName) : null;
+        return item != null ? List.of(item.copy(item.getName())) : List.of();
     }
 
     @Override
     public @Nullable PersistedItem persistedItem(String itemName, @Nullable String alias) {
-        String json = map.get(alias != null ? alias : itemName);
-        if (json == null) {
-            return null;
-        }
-        Optional<MapDbItem> item = deserialize(json);
-        MapDbItem dbItem = item.orElse(null);
-        if (dbItem != null) {
-            dbItem.setName(itemName);
-        }
-        return dbItem;
+        MapDbItem item = items.get(alias != null ? alias : itemName);
+        return item != null ? item.copy(itemName) : null;
     }
 
-    private String serialize(MapDbItem item) {
-        return mapper.toJson(item);
+    private void scheduleFlush() {
+        if (flushPending.compareAndSet(false, true)) {
+            // stores arriving until the flush is executed are written with the same commit
+            threadPool.schedule(() -> {
+                try {
+                    flush();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to write to the MapDB: {}", e.getMessage());
+                }
+            }, commitInterval, TimeUnit.MILLISECONDS);
+        }
     }
 
-    @SuppressWarnings("null")
-    private Optional<MapDbItem> deserialize(String json) {
-        MapDbItem item = mapper.fromJson(json, MapDbItem.class);
-        if (item == null || !item.isValid()) {
-            logger.warn("Deserialized invalid item: {}", item);
-            return Optional.empty();
-        } else if (logger.isDebugEnabled()) {
-            logger.debug("Deserialized '{}' with state '{}' from '{}'", item.getName(), item.getState(), json);
+    /**
+     * Write all modified items to the database and commit them.
+     */
+    private synchronized void flush() {
+        flushPending.set(false);
+        if (dirtyItems.isEmpty() || db == null || db.isClosed()) {
+            return;
         }
+        int count = 0;
+        long bytes = 0;
+        Iterator<String> iterator = dirtyItems.iterator();
+        while (iterator.hasNext()) {
+            String name = iterator.next();
+            iterator.remove();
+            MapDbItem item = items.get(name);
+            if (item != null) {
+                byte[] data = codec.encode(item);
+                map.put(name, data);
+                bytes += data.length;
+                count++;
+            }
+        }
+        db.commit();
+        bytesWritten.add(bytes);
+        commits.increment();
+        if (logger.isDebugEnabled()) {
+            logger.debug("Committed {} items with {} bytes to MapDB database, {}", count, bytes, getStatistics());
+        }
+    }
 
-        return Optional.of(item);
+    private void logStatistics() {
+        if (logger.isDebugEnabled()) {
+            logger.debug("MapDB {}", getStatistics());
+        }
     }
 
-    private static <T> Stream<T> streamOptional(Optional<T> opt) {
-        return opt.isPresent() ? Stream.of(opt.get()) : Stream.empty();
+    private String getStatistics() {
+        long hours = Math.max(1, (System.currentTimeMillis() - activationTime) / 3600000);
+        long bytes = bytesWritten.sum();
+        return String.format("wrote %d bytes in %d commits since activation (%d bytes per hour)", bytes,
+                commits.sum(), bytes / hours);
     }
 
     @Override
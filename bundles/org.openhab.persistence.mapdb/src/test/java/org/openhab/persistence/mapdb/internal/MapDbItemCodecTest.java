@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.mapdb.internal;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
+import java.util.stream.Stream;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.openhab.core.library.types.DateTimeType;
+import org.openhab.core.library.types.DecimalType;
+import org.openhab.core.library.types.HSBType;
+import org.openhab.core.library.types.OnOffType;
+import org.openhab.core.library.types.OpenClosedType;
+import org.openhab.core.library.types.PercentType;
+import org.openhab.core.library.types.PointType;
+import org.openhab.core.library.types.QuantityType;
+import org.openhab.core.library.types.StringType;
+import org.openhab.core.library.unit.SIUnits;
+import org.openhab.core.library.unit.Units;
+import org.openhab.core.types.State;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Tests the {@link MapDbItemCodec}.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class MapDbItemCodecTest {
+    private final MapDbItemCodec codec = new MapDbItemCodec();
+
+    public static Stream<State> encodeDecodeRoundtripShouldRecreateTheState() {
+        return Stream.of(DecimalType.ZERO, new DecimalType(new BigDecimal("-1.123")),
+                new DecimalType(new BigDecimal("123456789012345678901234567890.5")), PercentType.HUNDRED,
+                PercentType.valueOf("99.999"), QuantityType.valueOf("1 kW"),
+                new QuantityType<>(new BigDecimal("21.23"), SIUnits.CELSIUS), QuantityType.valueOf(20, Units.AMPERE),
+                OnOffType.ON, OnOffType.OFF, OpenClosedType.OPEN, OpenClosedType.CLOSED, StringType.valueOf(""),
+                StringType.valueOf("äöü @@@ test"), HSBType.fromRGB(11, 22, 33), new PointType("52.5,13.4"),
+                new DateTimeType("2024-05-01T10:15:30Z"));
+    }
+
+    @ParameterizedTest
+    @MethodSource
+    public void encodeDecodeRoundtripShouldRecreateTheState(State state) throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("test");
+        item.setState(state);
+        item.setTimestamp(new Date(1700000000123L));
+
+        MapDbItem actual = codec.decode("test", codec.encode(item));
+
+        assertThat(actual.getName(), is("test"));
+        assertThat(actual.getState(), is(equalTo(state)));
+        assertThat(actual.getTimestamp(), is(item.getTimestamp()));
+        assertThat(actual.getLastState(), is(nullValue()));
+        assertThat(actual.getLastStateChange(), is(nullValue()));
+    }
+
+    @Test
+    public void lastStateAndLastStateChangeAreRestored() throws IOException {
+        MapDbItem item = new MapDbItem();
+        item.setName("test");
+        item.setState(OnOffType.ON);
+        item.setTimestamp(new Date(1700000000123L));
+        item.setLastState(OnOffType.OFF);
+        item.setLastStateChange(new Date(1700000000000L));
+
+        MapDbItem actual = codec.decode("test", codec.encode(item));
+
+        assertThat(actual.getLastState(), is(OnOffType.OFF));
+        assertThat(actual.getLastStateChange(), is(item.getLastStateChange()));
+    }
+
+    @Test
+    public void invalidDataThrowsException() {
+        assertThrows(IOException.class, () -> codec.decode("test", new byte[] { 42 }));
+        assertThrows(IOException.class, () -> codec.decode("test", new byte[] { 1, 0, 0 }));
+        assertThrows(IOException.class, () -> codec.decode("test", (Object) "{ invalid"));
+        assertThrows(IOException.class, () -> codec.decode("test", (Object) Integer.valueOf(1)));
+    }
+
+    @Test
+    public void jsonOfOlderVersionsIsDecoded() throws IOException {
+        // older versions stored the item as JSON string written with this mapper
+        Gson mapper = new GsonBuilder().setDateFormat(DateTimeType.DATE_PATTERN_JSON_COMPAT)
+                .registerTypeHierarchyAdapter(State.class, new StateTypeAdapter()).create();
+        MapDbItem item = new MapDbItem();
+        item.setName("test");
+        item.setState(new DecimalType(new BigDecimal("20.50")));
+        item.setTimestamp(new Date(1700000000000L));
+        item.setLastState(new DecimalType(1));
+
+        MapDbItem actual = codec.decode("test", (Object) mapper.toJson(item));
+
+        assertThat(actual.getName(), is("test"));
+        assertThat(actual.getState(), is(item.getState()));
+        assertThat(actual.getTimestamp(), is(item.getTimestamp()));
+        assertThat(actual.getLastState(), is(item.getLastState()));
+    }
+
+    @Test
+    public void copyIsIndependentOfTheItem() {
+        MapDbItem item = new MapDbItem();
+        item.setName("test");
+        item.setState(OnOffType.ON);
+        item.setTimestamp(new Date(1700000000123L));
+
+        MapDbItem copy = item.copy("alias");
+        item.setState(OnOffType.OFF);
+
+        assertThat(copy.getName(), is("alias"));
+        assertThat(copy.getState(), is(OnOffType.ON));
+        assertThat(copy.getTimestamp(), is(item.getTimestamp()));
+    }
+}
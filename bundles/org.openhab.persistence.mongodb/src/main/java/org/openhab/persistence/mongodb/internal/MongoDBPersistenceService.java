@@ -16,15 +16,21 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.Document;
 import org.bson.types.ObjectId;
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
+import org.openhab.core.config.core.ConfigParser;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.items.ItemRegistry;
@@ -50,10 +56,17 @@ import org.osgi.service.component.annotations.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.MongoException;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoCursor;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.CreateCollectionOptions;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.model.TimeSeriesGranularity;
+import com.mongodb.client.model.TimeSeriesOptions;
 import com.mongodb.client.result.DeleteResult;
 
 /**
@@ -62,6 +75,7 @@ import com.mongodb.client.result.DeleteResult;
  * @author Thorsten Hoeger - Initial contribution
  * @author Stephan Brunner - Query fixes, Cleanup
  * @author René Ulbricht - Fixes type handling, driver update and cleanup
+ * @author Marcel Verpaalen - Buffered bulk inserts and time-series collections
  */
 @NonNullByDefault
 @Component(service = { PersistenceService.class, QueryablePersistenceService.class,
@@ -71,10 +85,15 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     private final Logger logger = LoggerFactory.getLogger(MongoDBPersistenceService.class);
 
+    private static final int MAX_PENDING_DOCUMENTS = 100000;
+
     private String url = "";
     private String db = "";
     private String collection = "";
     private boolean collectionPerItem;
+    private int flushInterval = 0; // in ms
+    private int bufferSize = 1000;
+    private boolean timeSeries = false;
 
     private boolean initialized = false;
 
@@ -82,6 +101,16 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     private @Nullable MongoClient cl;
 
+    // collections with their index created, so this is only done once per collection
+    private final Map<String, MongoCollection<Document>> collections = new ConcurrentHashMap<>();
+
+    // documents waiting to be written, grouped by collection name
+    private final Object pendingLock = new Object();
+    private final Object flushLock = new Object();
+    private Map<String, List<Document>> pendingDocuments = new LinkedHashMap<>();
+    private int pendingCount = 0;
+    private @Nullable ScheduledFuture<?> flushJob;
+
     @Activate
     public MongoDBPersistenceService(final @Reference ItemRegistry itemRegistry) {
         this.itemRegistry = itemRegistry;
@@ -113,16 +142,38 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         collection = dbCollection == null ? "" : dbCollection;
         collectionPerItem = dbCollection == null || dbCollection.isBlank();
 
+        flushInterval = ConfigParser.valueAsOrElse(config.get("flushInterval"), Integer.class, 0);
+        bufferSize = Math.max(1, ConfigParser.valueAsOrElse(config.get("bufferSize"), Integer.class, 1000));
+        timeSeries = ConfigParser.valueAsOrElse(config.get("timeSeries"), Boolean.class, false);
+        logger.debug("MongoDB flush interval {} ms, buffer size {}, time series {}", flushInterval, bufferSize,
+                timeSeries);
+
         if (!tryConnectToDatabase()) {
             logger.warn("Failed to connect to MongoDB server. Trying to reconnect later.");
         }
 
+        if (flushInterval > 0) {
+            flushJob = ThreadPoolManager.getScheduledPool("org.openhab.mongodb").scheduleWithFixedDelay(this::flush,
+                    flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        }
+
         initialized = true;
     }
 
     @Deactivate
     public void deactivate(final int reason) {
         logger.debug("MongoDB persistence bundle stopping. Disconnecting from database.");
+        ScheduledFuture<?> localFlushJob = flushJob;
+        if (localFlushJob != null) {
+            localFlushJob.cancel(false);
+            flushJob = null;
+        }
+        flush();
+        synchronized (pendingLock) {
+            if (pendingCount > 0) {
+                logger.warn("MongoDB failed to finally store {} documents.", pendingCount);
+            }
+        }
         disconnectFromDatabase();
     }
 
@@ -211,6 +262,10 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
      * @return The collection object when collection creation was successful. Null otherwise.
      */
     private @Nullable MongoCollection<Document> connectToCollection(String collectionName) {
+        MongoCollection<Document> cachedCollection = collections.get(collectionName);
+        if (cachedCollection != null) {
+            return cachedCollection;
+        }
         try {
             @Nullable
             MongoClient db = getDatabase();
@@ -220,12 +275,17 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
                 return null;
             }
 
-            MongoCollection<Document> mongoCollection = db.getDatabase(this.db).getCollection(collectionName);
+            MongoDatabase database = db.getDatabase(this.db);
+            if (timeSeries) {
+                createTimeSeriesCollection(database, collectionName);
+            }
+            MongoCollection<Document> mongoCollection = database.getCollection(collectionName);
 
             Document idx = new Document();
             idx.append(MongoDBFields.FIELD_ITEM, 1).append(MongoDBFields.FIELD_TIMESTAMP, 1);
             mongoCollection.createIndex(idx);
 
+            collections.put(collectionName, mongoCollection);
             return mongoCollection;
         } catch (Exception e) {
             logger.error("Failed to connect to collection {}: {}", collectionName, e.getMessage(), e);
@@ -233,6 +293,27 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
     }
 
+    /**
+     * Creates a time-series collection with the item name as meta field, if the collection does not exist yet.
+     * Existing collections are used as they are. Time-series collections require MongoDB 5.0 or newer, on older
+     * servers a regular collection is created.
+     */
+    private void createTimeSeriesCollection(MongoDatabase database, String collectionName) {
+        if (database.listCollectionNames().into(new ArrayList<>()).contains(collectionName)) {
+            return;
+        }
+        TimeSeriesOptions timeSeriesOptions = new TimeSeriesOptions(MongoDBFields.FIELD_TIMESTAMP)
+                .metaField(MongoDBFields.FIELD_ITEM).granularity(TimeSeriesGranularity.SECONDS);
+        try {
+            database.createCollection(collectionName,
+                    new CreateCollectionOptions().timeSeriesOptions(timeSeriesOptions));
+            logger.debug("Created time-series collection {}", collectionName);
+        } catch (MongoException e) {
+            logger.warn("Failed to create time-series collection {}, using a regular collection: {}", collectionName,
+                    e.getMessage());
+        }
+    }
+
     /**
      * Disconnects from the database
      */
@@ -243,6 +324,7 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
         }
 
         cl = null;
+        collections.clear();
     }
 
     @Override
@@ -252,6 +334,8 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Override
     public Iterable<HistoricItem> query(FilterCriteria filter, @Nullable String alias) {
+        // make buffered documents visible to the query
+        flush();
         String realItemName = filter.getItemName();
         if (alias != null) {
             filter.setItemName(alias);
@@ -351,6 +435,18 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
+        String realItemName = item.getName();
+        String name = (alias != null) ? alias : realItemName;
+        String collectionName = collectionPerItem ? name : this.collection;
+        Document obj = createDocument(item, date, state, name);
+
+        if (flushInterval > 0) {
+            // written by the next flush
+            bufferDocument(collectionName, obj);
+            logger.debug("MongoDB buffer {}={}", name, obj.get(MongoDBFields.FIELD_VALUE));
+            return;
+        }
+
         // Connect to mongodb server if we're not already connected
         // If we can't connect, log.
         if (!tryConnectToDatabase()) {
@@ -360,10 +456,6 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        String realItemName = item.getName();
-        String name = (alias != null) ? alias : realItemName;
-        String collectionName = collectionPerItem ? name : this.collection;
-
         @Nullable
         MongoCollection<Document> collection = connectToCollection(collectionName);
 
@@ -372,24 +464,125 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
             return;
         }
 
-        Object value = MongoDBTypeConversions.convertValue(state);
+        try {
+            collection.insertOne(obj);
+        } catch (org.bson.BsonMaximumSizeExceededException e) {
+            logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
+            throw e;
+        }
+        logger.debug("MongoDB save {}={}", name, obj.get(MongoDBFields.FIELD_VALUE));
+    }
 
+    private Document createDocument(Item item, Date date, State state, String name) {
         Document obj = new Document();
         obj.put(MongoDBFields.FIELD_ID, new ObjectId());
         obj.put(MongoDBFields.FIELD_ITEM, name);
-        obj.put(MongoDBFields.FIELD_REALNAME, realItemName);
+        obj.put(MongoDBFields.FIELD_REALNAME, item.getName());
         obj.put(MongoDBFields.FIELD_TIMESTAMP, date);
-        obj.put(MongoDBFields.FIELD_VALUE, value);
+        obj.put(MongoDBFields.FIELD_VALUE, MongoDBTypeConversions.convertValue(state));
         if (item instanceof NumberItem && state instanceof QuantityType<?>) {
             obj.put(MongoDBFields.FIELD_UNIT, ((QuantityType<?>) state).getUnit().toString());
         }
+        return obj;
+    }
+
+    private void bufferDocument(String collectionName, Document obj) {
+        boolean flushNow;
+        synchronized (pendingLock) {
+            if (pendingCount >= MAX_PENDING_DOCUMENTS) {
+                logger.warn("MongoDB buffer is full, item '{}' not persisted.", obj.get(MongoDBFields.FIELD_ITEM));
+                return;
+            }
+            pendingDocuments.computeIfAbsent(collectionName, k -> new ArrayList<>()).add(obj);
+            pendingCount++;
+            flushNow = pendingCount % bufferSize == 0;
+        }
+        if (flushNow) {
+            ThreadPoolManager.getScheduledPool("org.openhab.mongodb").execute(this::flush);
+        }
+    }
+
+    /**
+     * Writes the buffered documents with one unordered bulk insert per collection. Documents that could not be
+     * written because of a connection problem are kept for the next flush.
+     */
+    // Visible for testing
+    void flush() {
+        synchronized (flushLock) {
+            Map<String, List<Document>> documents;
+            synchronized (pendingLock) {
+                if (pendingCount == 0) {
+                    return;
+                }
+                documents = pendingDocuments;
+                pendingDocuments = new LinkedHashMap<>();
+                pendingCount = 0;
+            }
+            if (!tryConnectToDatabase()) {
+                logger.warn("mongodb: No connection to database. Keeping {} documents for the next attempt.",
+                        documents.values().stream().mapToInt(List::size).sum());
+                requeue(documents);
+                return;
+            }
+            Map<String, List<Document>> failed = new LinkedHashMap<>();
+            documents.forEach((collectionName, list) -> {
+                MongoCollection<Document> collection = connectToCollection(collectionName);
+                if (collection == null || !insertMany(collection, collectionName, list)) {
+                    failed.put(collectionName, list);
+                }
+            });
+            if (!failed.isEmpty()) {
+                requeue(failed);
+            }
+        }
+    }
+
+    private boolean insertMany(MongoCollection<Document> collection, String collectionName, List<Document> list) {
         try {
-            collection.insertOne(obj);
+            collection.insertMany(list, new InsertManyOptions().ordered(false));
+            logger.debug("MongoDB saved {} documents to {}", list.size(), collectionName);
+        } catch (MongoBulkWriteException e) {
+            // unordered: all documents without an error have been written
+            logger.warn("Failed to write {} of {} documents to {}: {}", e.getWriteErrors().size(), list.size(),
+                    collectionName, e.getMessage());
         } catch (org.bson.BsonMaximumSizeExceededException e) {
-            logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.", name);
-            throw e;
+            // a single oversized document fails the whole batch, so write the documents one by one
+            for (Document obj : list) {
+                try {
+                    collection.insertOne(obj);
+                } catch (org.bson.BsonMaximumSizeExceededException e1) {
+                    logger.error("Document size exceeds maximum size of 16MB. Item {} not persisted.",
+                            obj.get(MongoDBFields.FIELD_ITEM));
+                }
+            }
+        } catch (MongoException e) {
+            logger.warn("Failed to write {} documents to {}: {}", list.size(), collectionName, e.getMessage());
+            return false;
         }
-        logger.debug("MongoDB save {}={}", name, value);
+        return true;
+    }
+
+    private void requeue(Map<String, List<Document>> documents) {
+        synchronized (pendingLock) {
+            Map<String, List<Document>> newer = pendingDocuments;
+            pendingDocuments = new LinkedHashMap<>();
+            pendingCount = 0;
+            documents.forEach((collectionName, list) -> addPending(collectionName, list));
+            newer.forEach((collectionName, list) -> addPending(collectionName, list));
+        }
+    }
+
+    private void addPending(String collectionName, List<Document> list) {
+        int space = MAX_PENDING_DOCUMENTS - pendingCount;
+        if (space < list.size()) {
+            logger.warn("MongoDB buffer is full, {} documents not persisted.", list.size() - Math.max(space, 0));
+        }
+        if (space <= 0) {
+            return;
+        }
+        List<Document> toAdd = list.size() > space ? list.subList(list.size() - space, list.size()) : list;
+        pendingDocuments.computeIfAbsent(collectionName, k -> new ArrayList<>()).addAll(toAdd);
+        pendingCount += toAdd.size();
     }
 
     @Nullable
@@ -472,6 +665,8 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
     @Override
     public boolean remove(FilterCriteria filter) {
+        // buffered documents must not be written after they have been removed
+        flush();
         MongoCollection<Document> collection = prepareCollection(filter);
         // If collection creation failed, return nothing.
         if (collection == null) {
@@ -486,7 +681,21 @@ public class MongoDBPersistenceService implements ModifiablePersistenceService {
 
         logger.debug("Query: {}", query);
 
-        DeleteResult result = collection.deleteMany(query);
+        DeleteResult result;
+        try {
+            result = collection.deleteMany(query);
+        } catch (MongoException e) {
+            if (timeSeries && query.containsKey(MongoDBFields.FIELD_TIMESTAMP)) {
+                // time-series collections only support deletes on the meta field before MongoDB 7.0
+                logger.warn(
+                        "Failed to remove documents from collection {}, removing a time range from a time-series collection requires MongoDB 7.0 or newer: {}",
+                        collection.getNamespace().getCollectionName(), e.getMessage());
+            } else {
+                logger.warn("Failed to remove documents from collection {}: {}",
+                        collection.getNamespace().getCollectionName(), e.getMessage());
+            }
+            return false;
+        }
 
         logger.debug("Deleted {} documents", result.getDeletedCount());
         return true;
@@ -267,7 +267,8 @@ public class DataCreationHelper {
                     Arguments.of(new DatabaseTestContainer("mongo:3.6")),
                     Arguments.of(new DatabaseTestContainer("mongo:4.4")),
                     Arguments.of(new DatabaseTestContainer("mongo:5.0")),
-                    Arguments.of(new DatabaseTestContainer("mongo:6.0")));
+                    Arguments.of(new DatabaseTestContainer("mongo:6.0")),
+                    Arguments.of(new DatabaseTestContainer("mongo:7.0")));
         } else {
             // If Docker is not available, create a stream of Arguments with only the MemoryBackend
             return Stream.of(Arguments.of(new DatabaseTestContainer(new MemoryBackend())));
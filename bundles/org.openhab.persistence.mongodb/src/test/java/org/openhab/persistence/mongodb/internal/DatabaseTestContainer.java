@@ -38,6 +38,9 @@ public class DatabaseTestContainer {
     // The MongoDBContainer instance for this DatabaseTestContainer.
     private @Nullable MongoDBContainer mongoDBContainer;
 
+    // The MongoDB version of the container, null for the in-memory MongoDB server.
+    private @Nullable String mongoDBVersion;
+
     // The MongoServer instance for this DatabaseTestContainer.
     private @Nullable MongoServer server;
 
@@ -53,6 +56,7 @@ public class DatabaseTestContainer {
     public DatabaseTestContainer(String mongoDBVersion) {
         server = null;
         serverAddress = null;
+        this.mongoDBVersion = mongoDBVersion;
         mongoDBContainer = mongoDBContainers.computeIfAbsent(mongoDBVersion, MongoDBContainer::new);
     }
 
@@ -82,6 +86,19 @@ public class DatabaseTestContainer {
     public void stop() {
     }
 
+    /**
+     * Returns the major version of the MongoDB container.
+     *
+     * @return The major version, or 0 for the in-memory MongoDB server.
+     */
+    public int getMajorVersion() {
+        String version = mongoDBVersion;
+        if (version == null) {
+            return 0;
+        }
+        return Integer.parseInt(version.replaceAll("^mongo:(\\d+).*$", "$1"));
+    }
+
     /**
      * Returns the connection string for connecting to the MongoDB container or the in-memory MongoDB server.
      * 
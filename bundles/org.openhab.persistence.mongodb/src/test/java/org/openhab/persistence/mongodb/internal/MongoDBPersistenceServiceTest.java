@@ -1033,4 +1033,205 @@ public class MongoDBPersistenceServiceTest {
             dbContainer.stop();
         }
     }
+
+    /*
+     * Test that buffered values are written with the next flush
+     */
+    @Test
+    public void testBufferedStoreIsWrittenOnFlush() {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testcollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+            setupResult.config.put("flushInterval", 3600000);
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            // Execution
+            for (int i = 0; i < 100; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem" + (i % 3), i));
+            }
+
+            // Verification
+            MongoCollection<Document> collection = database.getCollection("testcollection");
+            assertEquals(0, collection.countDocuments());
+
+            service.flush();
+
+            List<Document> documents = collection.find().into(new ArrayList<>());
+            assertEquals(100, documents.size());
+            VerificationHelper.verifyDocument(documents.get(0), "TestItem0", 0.0);
+
+            service.deactivate(1);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /*
+     * Test that a query includes buffered values
+     */
+    @Test
+    public void testQueryIncludesBufferedValues() {
+        // Preparation
+        DatabaseTestContainer dbContainer = new DatabaseTestContainer(new MemoryBackend());
+        try {
+            SetupResult setupResult = DataCreationHelper.setupMongoDB(null, dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            setupResult.config.put("flushInterval", 3600000);
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem"))
+                        .thenReturn(DataCreationHelper.createNumberItem("TestItem", 0));
+            } catch (ItemNotFoundException e) {
+            }
+
+            // Execution
+            service.store(DataCreationHelper.createNumberItem("TestItem", 10.1));
+            service.store(DataCreationHelper.createNumberItem("TestItem", 10.2));
+            Iterable<HistoricItem> result = service.query(DataCreationHelper.createFilterCriteria("TestItem"));
+
+            // Verification
+            List<HistoricItem> items = new ArrayList<>();
+            result.forEach(items::add);
+            assertEquals(2, items.size());
+
+            service.deactivate(1);
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests that values are stored in and read from a time-series collection.
+     * On servers without time-series support, a regular collection is used.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testTimeSeriesStoreAndQuery(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testcollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            setupResult.config.put("timeSeries", true);
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+            try {
+                Mockito.when(setupResult.itemRegistry.getItem("TestItem"))
+                        .thenReturn(DataCreationHelper.createNumberItem("TestItem", 0));
+            } catch (ItemNotFoundException e) {
+            }
+
+            // Execution
+            ZonedDateTime startDate = ZonedDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            for (int i = 0; i < 5; i++) {
+                service.store(DataCreationHelper.createNumberItem("TestItem", i), startDate.plusMinutes(i),
+                        new DecimalType(i));
+            }
+            service.store(DataCreationHelper.createNumberItem("TestItemOther", 100), startDate, new DecimalType(100));
+            Iterable<HistoricItem> result = service.query(DataCreationHelper.createFilterCriteria("TestItem"));
+
+            // Verification
+            String expectedType = dbContainer.getMajorVersion() >= 5 ? "timeseries" : "collection";
+            assertEquals(expectedType, getCollectionType(setupResult.database, "testcollection"));
+
+            List<HistoricItem> items = new ArrayList<>();
+            result.forEach(items::add);
+            assertEquals(5, items.size());
+            for (int i = 0; i < 5; i++) {
+                assertEquals(i, ((DecimalType) items.get(i).getState()).intValue());
+                assertEquals(startDate.plusMinutes(i).toInstant(), items.get(i).getInstant());
+            }
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests that an existing regular collection is used as it is when time-series collections are enabled.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testTimeSeriesKeepsExistingCollection(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testcollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoDatabase database = setupResult.database;
+            setupResult.config.put("timeSeries", true);
+            database.getCollection("testcollection")
+                    .insertOne(DataCreationHelper.createDocument("TestItem", 1.0, LocalDate.now()));
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+
+            // Execution
+            service.store(DataCreationHelper.createNumberItem("TestItem", 2.0));
+
+            // Verification
+            assertEquals("collection", getCollectionType(database, "testcollection"));
+            assertEquals(2, database.getCollection("testcollection").countDocuments());
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    /**
+     * Tests removing a time range from a time-series collection. Before MongoDB 7.0, the removal fails and is logged.
+     *
+     * @param dbContainer The container running the MongoDB instance.
+     */
+    @ParameterizedTest
+    @MethodSource("org.openhab.persistence.mongodb.internal.DataCreationHelper#provideDatabaseBackends")
+    public void testTimeSeriesRemoveATimeRange(DatabaseTestContainer dbContainer) {
+        try {
+            // Preparation
+            SetupResult setupResult = DataCreationHelper.setupMongoDB("testcollection", dbContainer);
+            MongoDBPersistenceService service = setupResult.service;
+            MongoCollection<Document> collection = setupResult.database.getCollection("testcollection");
+            setupResult.config.put("timeSeries", true);
+
+            service.activate(setupResult.bundleContext, setupResult.config);
+            ListAppender<ILoggingEvent> listAppender = DataCreationHelper.setupLogger(MongoDBPersistenceService.class,
+                    Level.WARN);
+
+            List<PersistenceTestItem> testDataList = DataCreationHelper.createTestData(service, "TestItem",
+                    "TestItemOther");
+            ZonedDateTime startDate = ZonedDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS);
+            ZonedDateTime endDate = ZonedDateTime.now().plusDays(17).truncatedTo(ChronoUnit.DAYS);
+
+            // Execution
+            boolean removed = service.remove(DataCreationHelper.createFilterCriteria("TestItem", startDate, endDate));
+
+            // Verification
+            long expectedRemoved = testDataList.stream().filter(testData -> testData.itemName.equals("TestItem")
+                    && testData.date.isAfter(startDate) && testData.date.isBefore(endDate)).count();
+            int majorVersion = dbContainer.getMajorVersion();
+            if (majorVersion >= 5 && majorVersion < 7) {
+                assertFalse(removed);
+                assertEquals(testDataList.size(), collection.countDocuments());
+                assertTrue(listAppender.list.stream().anyMatch(event -> event.getLevel() == Level.WARN
+                        && event.getFormattedMessage().contains("requires MongoDB 7.0 or newer")));
+            } else {
+                assertTrue(removed);
+                assertEquals(testDataList.size() - expectedRemoved, collection.countDocuments());
+            }
+        } finally {
+            dbContainer.stop();
+        }
+    }
+
+    private static String getCollectionType(MongoDatabase database, String collectionName) {
+        Document info = database.listCollections().filter(new Document("name", collectionName)).first();
+        assertNotNull(info);
+        // servers without time-series support may not report a type
+        String type = info.getString("type");
+        return type != null ? type : "collection";
+    }
 }
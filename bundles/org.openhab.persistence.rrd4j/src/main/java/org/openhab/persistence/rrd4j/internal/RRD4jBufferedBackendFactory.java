@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.rrd4j.core.RrdBackend;
+import org.rrd4j.core.RrdBackendAnnotation;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RRD4jBufferedBackendFactory} keeps the content of all open database files in memory.
+ *
+ * All backends opened for the same file share one buffer, so that a database opened in parallel (e.g. by the chart
+ * servlet) sees the unflushed samples. Modified pages are written back to the file by {@link #flush()}, which is
+ * called periodically by the persistence service, and when the last backend of a file is closed. Only files that are
+ * kept open, e.g. by the handle cache of the persistence service, are therefore buffered between two flushes.
+ *
+ * Modifications are tracked per page of {@value #PAGE_SIZE} bytes. A sample updates the header and a few rows spread
+ * over the archives of a database, so only the pages containing them are written, not the range between them. The
+ * pages are written in place, a power failure while a file is written can therefore leave the file partially updated.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+@RrdBackendAnnotation(name = "BUFFERED", shouldValidateHeader = true)
+public class RRD4jBufferedBackendFactory extends RrdRandomAccessFileBackendFactory {
+
+    static final int PAGE_SIZE = 512;
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jBufferedBackendFactory.class);
+
+    private final Map<String, FileBuffer> buffers = new HashMap<>();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    @Override
+    protected RrdBackend open(String path, boolean readOnly) throws IOException {
+        synchronized (buffers) {
+            FileBuffer buffer = buffers.get(path);
+            if (buffer == null) {
+                buffer = new FileBuffer(path);
+                buffers.put(path, buffer);
+            }
+            buffer.references++;
+            return new BufferedBackend(path, buffer);
+        }
+    }
+
+    @Override
+    protected boolean exists(String path) throws IOException {
+        synchronized (buffers) {
+            if (buffers.containsKey(path)) {
+                return true;
+            }
+        }
+        return super.exists(path);
+    }
+
+    /**
+     * Write all modified regions of all open files to disk.
+     */
+    public void flush() {
+        List<FileBuffer> toFlush;
+        synchronized (buffers) {
+            toFlush = List.copyOf(buffers.values());
+        }
+        for (FileBuffer buffer : toFlush) {
+            try {
+                buffer.flush();
+            } catch (IOException e) {
+                logger.warn("Failed to write rrd4j database '{}': {}", buffer.path, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Get the number of bytes written to disk since the factory was created.
+     *
+     * @return the number of bytes
+     */
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    private void release(FileBuffer buffer) throws IOException {
+        synchronized (buffers) {
+            buffer.references--;
+            if (buffer.references > 0) {
+                return;
+            }
+            buffers.remove(buffer.path);
+        }
+        buffer.flush();
+    }
+
+    private class FileBuffer {
+        private final String path;
+        private byte[] data;
+        private final BitSet dirtyPages = new BitSet();
+        private boolean lengthChanged = false;
+        private int references = 0;
+
+        private FileBuffer(String path) throws IOException {
+            this.path = path;
+            if (!Files.exists(Path.of(path))) {
+                // a new database, the file is created by the first flush
+                data = new byte[0];
+                return;
+            }
+            try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+                long length = file.length();
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException("File too large to be buffered: " + path);
+                }
+                data = new byte[(int) length];
+                file.readFully(data);
+            }
+        }
+
+        private synchronized void write(long offset, byte[] b) throws IOException {
+            if (offset + b.length > data.length) {
+                throw new IOException("Write beyond the end of " + path);
+            }
+            System.arraycopy(b, 0, data, (int) offset, b.length);
+            markDirty(offset, b.length);
+        }
+
+        private void markDirty(long offset, int length) {
+            if (length > 0) {
+                dirtyPages.set((int) (offset / PAGE_SIZE), (int) ((offset + length - 1) / PAGE_SIZE) + 1);
+            }
+        }
+
+        private synchronized void read(long offset, byte[] b) throws IOException {
+            if (offset + b.length > data.length) {
+                throw new IOException("Read beyond the end of " + path);
+            }
+            System.arraycopy(data, (int) offset, b, 0, b.length);
+        }
+
+        private synchronized long getLength() {
+            return data.length;
+        }
+
+        private synchronized void setLength(long length) throws IOException {
+            if (length > Integer.MAX_VALUE) {
+                throw new IOException("File too large to be buffered: " + path);
+            }
+            byte[] newData = new byte[(int) length];
+            System.arraycopy(data, 0, newData, 0, Math.min(data.length, newData.length));
+            data = newData;
+            lengthChanged = true;
+            // a new database is written completely on the next flush
+            dirtyPages.clear();
+            markDirty(0, data.length);
+        }
+
+        private synchronized void flush() throws IOException {
+            if (dirtyPages.isEmpty() && !lengthChanged) {
+                return;
+            }
+            if (!lengthChanged && !Files.exists(Path.of(path))) {
+                // the file has been deleted (e.g. by the clean console command), do not create it again
+                logger.debug("Discarding buffered changes of deleted rrd4j database '{}'", path);
+                dirtyPages.clear();
+                return;
+            }
+            try (RandomAccessFile file = new RandomAccessFile(path, "rw")) {
+                if (lengthChanged) {
+                    file.setLength(data.length);
+                }
+                // adjacent modified pages are written at once
+                for (int page = dirtyPages.nextSetBit(0); page >= 0; page = dirtyPages.nextSetBit(page)) {
+                    int endPage = dirtyPages.nextClearBit(page);
+                    int start = page * PAGE_SIZE;
+                    int end = (int) Math.min((long) endPage * PAGE_SIZE, data.length);
+                    if (start < end) {
+                        file.seek(start);
+                        file.write(data, start, end - start);
+                        bytesWritten.add(end - start);
+                    }
+                    page = endPage;
+                }
+                file.getFD().sync();
+            }
+            dirtyPages.clear();
+            lengthChanged = false;
+        }
+    }
+
+    private class BufferedBackend extends RrdBackend {
+        private final FileBuffer buffer;
+        private boolean closed = false;
+
+        private BufferedBackend(String path, FileBuffer buffer) {
+            super(path);
+            this.buffer = buffer;
+        }
+
+        @Override
+        protected void write(long offset, byte[] b) throws IOException {
+            buffer.write(offset, b);
+        }
+
+        @Override
+        protected void read(long offset, byte[] b) throws IOException {
+            buffer.read(offset, b);
+        }
+
+        @Override
+        public long getLength() throws IOException {
+            return buffer.getLength();
+        }
+
+        @Override
+        protected void setLength(long length) throws IOException {
+            buffer.setLength(length);
+        }
+
+        @Override
+        public synchronized void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                release(buffer);
+            }
+        }
+    }
+}
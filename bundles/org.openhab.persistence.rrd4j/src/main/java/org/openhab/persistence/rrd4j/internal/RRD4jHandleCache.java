@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link RRD4jHandleCache} keeps a bounded number of recently written databases open.
+ *
+ * The {@link RrdDbPool} closes the underlying file as soon as its last reference is released. This cache holds one
+ * additional reference for each recently used database, so that subsequent requests to the pool are served from the
+ * already opened file. The least recently used reference is released when the capacity is exceeded.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jHandleCache {
+
+    private final Logger logger = LoggerFactory.getLogger(RRD4jHandleCache.class);
+
+    private final Map<String, RrdDb> handles = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private int capacity;
+
+    public RRD4jHandleCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * Make sure the database with the given name is held open by this cache.
+     *
+     * @param name the name of the database
+     * @param opener supplies a new pool reference to the database if it is not cached yet
+     * @return true if the database was already cached
+     */
+    public boolean retain(String name, Supplier<@Nullable RrdDb> opener) {
+        List<RrdDb> evicted;
+        synchronized (this) {
+            if (handles.get(name) != null) {
+                hits.increment();
+                return true;
+            }
+            misses.increment();
+            if (capacity <= 0) {
+                return false;
+            }
+            RrdDb db = opener.get();
+            if (db == null) {
+                return false;
+            }
+            handles.put(name, db);
+            evicted = evict();
+        }
+        evicted.forEach(this::release);
+        return false;
+    }
+
+    /**
+     * Release the cached reference of a single database, e.g. before its file is deleted.
+     *
+     * @param name the name of the database
+     */
+    public void invalidate(String name) {
+        RrdDb db;
+        synchronized (this) {
+            db = handles.remove(name);
+        }
+        if (db != null) {
+            release(db);
+        }
+    }
+
+    /**
+     * Release all cached references.
+     */
+    public void clear() {
+        List<RrdDb> evicted;
+        synchronized (this) {
+            evicted = new ArrayList<>(handles.values());
+            handles.clear();
+        }
+        evicted.forEach(this::release);
+    }
+
+    public void setCapacity(int capacity) {
+        List<RrdDb> evicted;
+        synchronized (this) {
+            this.capacity = capacity;
+            evicted = evict();
+        }
+        evicted.forEach(this::release);
+    }
+
+    public synchronized int getCapacity() {
+        return capacity;
+    }
+
+    public synchronized int size() {
+        return handles.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private List<RrdDb> evict() {
+        List<RrdDb> evicted = new ArrayList<>();
+        Iterator<RrdDb> iterator = handles.values().iterator();
+        while (handles.size() > capacity && iterator.hasNext()) {
+            evicted.add(iterator.next());
+            iterator.remove();
+        }
+        return evicted;
+    }
+
+    private void release(RrdDb db) {
+        try {
+            db.close();
+        } catch (IOException e) {
+            logger.debug("Error closing rrd4j database: {}", e.getMessage());
+        }
+    }
+}
@@ -21,7 +21,9 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -29,11 +31,16 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.DoubleFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -45,6 +52,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.OpenHAB;
 import org.openhab.core.common.NamedThreadFactory;
+import org.openhab.core.config.core.ConfigurableService;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
@@ -84,10 +92,13 @@ import org.rrd4j.DsType;
 import org.rrd4j.core.Archive;
 import org.rrd4j.core.FetchData;
 import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.core.RrdDbPool;
 import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdNioBackendFactory;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
 import org.rrd4j.core.Sample;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -106,6 +117,7 @@ import org.slf4j.LoggerFactory;
 @Component(service = { PersistenceService.class,
         QueryablePersistenceService.class }, configurationPid = "org.openhab.rrd4j", configurationPolicy = ConfigurationPolicy.OPTIONAL, property = Constants.SERVICE_PID
                 + "=org.openhab.rrd4j")
+@ConfigurableService(category = "persistence", label = "RRD4j Persistence Service", description_uri = RRD4jPersistenceService.CONFIG_URI)
 public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     private record Key(long timestamp, String name) implements Comparable<Key> {
@@ -118,11 +130,26 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     }
 
     public static final String SERVICE_ID = "rrd4j";
+    protected static final String CONFIG_URI = "persistence:rrd4j";
 
     private static final String DEFAULT_OTHER = "default_other";
     private static final String DEFAULT_NUMERIC = "default_numeric";
     private static final String DEFAULT_QUANTIFIABLE = "default_quantifiable";
 
+    private static final String CONFIG_WRITER_THREADS = "writerThreads";
+    private static final String CONFIG_HANDLE_CACHE_SIZE = "handleCacheSize";
+    private static final int DEFAULT_WRITER_THREADS = 1;
+    private static final int DEFAULT_HANDLE_CACHE_SIZE = 100;
+    private static final String CONFIG_BACKEND = "backend";
+    private static final String CONFIG_SYNC_PERIOD = "syncPeriod";
+    private static final String BACKEND_DEFAULT = "default";
+    private static final String BACKEND_NIO = "nio";
+    private static final String BACKEND_FILE = "file";
+    private static final String BACKEND_BUFFERED = "buffered";
+    private static final int DEFAULT_SYNC_PERIOD = 300;
+    // number of pool entries kept free for queries and charts in addition to the cached handles
+    private static final int POOL_HEADROOM = 100;
+
     private static final Set<String> SUPPORTED_TYPES = Set.of(CoreItemFactory.SWITCH, CoreItemFactory.CONTACT,
             CoreItemFactory.DIMMER, CoreItemFactory.NUMBER, CoreItemFactory.ROLLERSHUTTER, CoreItemFactory.COLOR);
 
@@ -143,6 +170,25 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
     private final ItemRegistry itemRegistry;
     private boolean active = false;
 
+    private final RRD4jHandleCache handleCache = new RRD4jHandleCache(DEFAULT_HANDLE_CACHE_SIZE);
+    private final Object storeLock = new Object();
+    private final Object writerLock = new Object();
+    // one lock per database, so that different databases can be opened and written in parallel
+    private final Map<String, Object> databaseLocks = new ConcurrentHashMap<>();
+    private volatile @Nullable ExecutorService writers;
+    private volatile int writerThreads = 0;
+
+    private final long activationTime = System.currentTimeMillis();
+    private final LongAdder samplesWritten = new LongAdder();
+    private final LongAdder batchesWritten = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final Map<String, Long> lastWriteTimes = new ConcurrentHashMap<>();
+
+    private volatile @Nullable RrdBackendFactory backendFactory;
+    private String backend = BACKEND_DEFAULT;
+    private int syncPeriod = DEFAULT_SYNC_PERIOD;
+    private @Nullable ScheduledFuture<?> flushJob;
+
     public static Path getDatabasePath(String name) {
         return DB_FOLDER.resolve(name + ".rrd");
     }
@@ -151,6 +197,15 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return DATABASE_POOL;
     }
 
+    /**
+     * Get the backend factory configured for the database files.
+     *
+     * @return the backend factory or null if the rrd4j default is used
+     */
+    public @Nullable RrdBackendFactory getBackendFactory() {
+        return backendFactory;
+    }
+
     private final ScheduledFuture<?> storeJob;
 
     @Activate
@@ -163,6 +218,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
     @Modified
     protected void modified(final Map<String, Object> config) {
+        configureWriters(getIntConfig(config, CONFIG_WRITER_THREADS, DEFAULT_WRITER_THREADS),
+                getIntConfig(config, CONFIG_HANDLE_CACHE_SIZE, DEFAULT_HANDLE_CACHE_SIZE));
+        Object backendConfig = config.get(CONFIG_BACKEND);
+        configureBackend(backendConfig instanceof String value ? value.trim().toLowerCase() : BACKEND_DEFAULT,
+                getIntConfig(config, CONFIG_SYNC_PERIOD, DEFAULT_SYNC_PERIOD));
+
         // clean existing definitions
         rrdDefs.clear();
 
@@ -219,6 +280,12 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
                 continue;
             }
 
+            if (CONFIG_WRITER_THREADS.equals(key) || CONFIG_HANDLE_CACHE_SIZE.equals(key)
+                    || CONFIG_BACKEND.equals(key) || CONFIG_SYNC_PERIOD.equals(key)) {
+                // already processed above
+                continue;
+            }
+
             String[] subkeys = key.split("\\.");
             if (subkeys.length != 2) {
                 logger.debug("config '{}' should have the format 'name.configkey'", key);
@@ -276,6 +343,125 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
 
         // make sure we really store everything
         doStore(true);
+
+        synchronized (writerLock) {
+            ExecutorService writers = this.writers;
+            if (writers != null) {
+                writers.shutdown();
+                this.writers = null;
+            }
+        }
+        handleCache.clear();
+
+        synchronized (writerLock) {
+            ScheduledFuture<?> flushJob = this.flushJob;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                this.flushJob = null;
+            }
+            closeBackendFactory(backendFactory);
+            backendFactory = null;
+            backend = BACKEND_DEFAULT;
+        }
+    }
+
+    private void closeBackendFactory(@Nullable RrdBackendFactory factory) {
+        if (factory instanceof RRD4jBufferedBackendFactory bufferedFactory) {
+            bufferedFactory.flush();
+        }
+        if (factory != null) {
+            try {
+                // stops the sync threads of the nio backend
+                factory.close();
+            } catch (IOException e) {
+                logger.debug("Error closing rrd4j backend factory: {}", e.getMessage());
+            }
+        }
+    }
+
+    private int getIntConfig(Map<String, Object> config, String key, int defaultValue) {
+        Object value = config.get(key);
+        if (value instanceof Number number) {
+            return number.intValue();
+        } else if (value instanceof String string && !string.isBlank()) {
+            try {
+                return Integer.parseInt(string.trim());
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring illegal configuration {}={}, using default {}", key, value, defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    private void configureWriters(int threads, int cacheSize) {
+        int newCacheSize = Math.max(0, cacheSize);
+        if (DATABASE_POOL.getCapacity() < newCacheSize + POOL_HEADROOM) {
+            DATABASE_POOL.setCapacity(newCacheSize + POOL_HEADROOM);
+        }
+        handleCache.setCapacity(newCacheSize);
+
+        int newThreads = Math.max(1, threads);
+        synchronized (writerLock) {
+            if (newThreads != writerThreads) {
+                ExecutorService oldWriters = writers;
+                // a single writer thread is handled by the store job itself
+                writers = newThreads > 1
+                        ? Executors.newFixedThreadPool(newThreads, new NamedThreadFactory("RRD4j-writer"))
+                        : null;
+                writerThreads = newThreads;
+                if (oldWriters != null) {
+                    // already submitted batches are still processed
+                    oldWriters.shutdown();
+                }
+            }
+        }
+        logger.debug("Using {} writer thread(s) and keeping up to {} database(s) open", newThreads, newCacheSize);
+    }
+
+    private void configureBackend(String newBackend, int newSyncPeriod) {
+        synchronized (writerLock) {
+            int period = Math.max(1, newSyncPeriod);
+            if (newBackend.equals(backend) && period == syncPeriod) {
+                return;
+            }
+
+            RrdBackendFactory factory;
+            switch (newBackend) {
+                case BACKEND_DEFAULT:
+                    factory = null;
+                    break;
+                case BACKEND_NIO:
+                    factory = new RrdNioBackendFactory(period);
+                    break;
+                case BACKEND_FILE:
+                    factory = new RrdRandomAccessFileBackendFactory();
+                    break;
+                case BACKEND_BUFFERED:
+                    factory = new RRD4jBufferedBackendFactory();
+                    break;
+                default:
+                    logger.warn("Ignoring unknown backend '{}', supported are: {}", newBackend,
+                            List.of(BACKEND_DEFAULT, BACKEND_NIO, BACKEND_FILE, BACKEND_BUFFERED));
+                    return;
+            }
+
+            // databases are re-opened with the new backend
+            handleCache.clear();
+            ScheduledFuture<?> oldFlushJob = flushJob;
+            if (oldFlushJob != null) {
+                oldFlushJob.cancel(false);
+                flushJob = null;
+            }
+            closeBackendFactory(backendFactory);
+
+            backendFactory = factory;
+            backend = newBackend;
+            syncPeriod = period;
+            if (factory instanceof RRD4jBufferedBackendFactory bufferedFactory) {
+                flushJob = scheduler.scheduleWithFixedDelay(bufferedFactory::flush, period, period, TimeUnit.SECONDS);
+            }
+            logger.debug("Using rrd4j backend '{}' with a sync period of {} s", newBackend, period);
+        }
     }
 
     @Override
@@ -341,33 +527,133 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         }
     }
 
-    private void doStore(boolean force) {
+    // Visible for testing
+    void doStore(boolean force) {
+        synchronized (storeLock) {
+            doStoreBatches(force);
+        }
+    }
+
+    private void doStoreBatches(boolean force) {
         long now = System.currentTimeMillis() / 1000;
-        while (!storageMap.isEmpty()) {
-            Key key = storageMap.firstKey();
-            if (now > key.timestamp || force) {
-                // no new elements can be added for this timestamp because we are already past that time or the service
-                // requires forced storing
-                Double value = storageMap.pollFirstEntry().getValue();
-                writePointToDatabase(key.name, value, key.timestamp);
-            } else {
-                return;
+        // group the pending samples by database, the samples of each database stay ordered by timestamp
+        Map<String, List<Map.Entry<Key, Double>>> batches = new LinkedHashMap<>();
+        while (true) {
+            Map.Entry<Key, Double> entry = storageMap.firstEntry();
+            if (entry == null || (now <= entry.getKey().timestamp && !force)) {
+                // new elements can still be added for this timestamp because we are not yet past that time
+                break;
+            }
+            entry = storageMap.pollFirstEntry();
+            if (entry != null) {
+                batches.computeIfAbsent(entry.getKey().name, name -> new ArrayList<>()).add(entry);
             }
         }
-    }
+        if (batches.isEmpty()) {
+            return;
+        }
 
-    private synchronized void writePointToDatabase(String name, double value, long timestamp) {
-        RrdDb db = null;
+        ExecutorService writers = this.writers;
+        if (writers == null || batches.size() == 1) {
+            batches.forEach(this::writeBatchToDatabase);
+            return;
+        }
+
+        // write different databases in parallel and wait until all batches are stored
+        // each batch is claimed by the thread writing it, unclaimed batches are returned to the queue if interrupted
+        Map<String, AtomicBoolean> claims = new HashMap<>();
+        batches.keySet().forEach(name -> claims.put(name, new AtomicBoolean()));
+        List<Future<?>> futures = new ArrayList<>(batches.size());
         try {
-            db = getDB(name, true);
-        } catch (Exception e) {
-            logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            batches.forEach((name, samples) -> futures.add(writers.submit(() -> {
+                if (claim(claims, name)) {
+                    writeBatchToDatabase(name, samples);
+                }
+            })));
+        } catch (RejectedExecutionException e) {
+            // writers have been replaced or shut down in the meantime, the batches not yet claimed are written here
+            batches.forEach((name, samples) -> {
+                if (claim(claims, name)) {
+                    writeBatchToDatabase(name, samples);
+                }
+            });
         }
-        if (db == null) {
-            return;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                logger.warn("Failed to write rrd4j database: {}", String.valueOf(e.getCause()));
+            } catch (InterruptedException e) {
+                // batches that are being written are completed by the writers, they are not cancelled to avoid
+                // interrupting the file I/O
+                batches.forEach((name, samples) -> {
+                    if (claim(claims, name)) {
+                        requeue(samples);
+                    }
+                });
+                Thread.currentThread().interrupt();
+                return;
+            }
         }
+    }
+
+    private boolean claim(Map<String, AtomicBoolean> claims, String name) {
+        AtomicBoolean claim = claims.get(name);
+        return claim != null && claim.compareAndSet(false, true);
+    }
+
+    // Visible for testing
+    void queue(String name, long timestamp, double value) {
+        storageMap.put(new Key(timestamp, name), value);
+    }
 
-        ConsolFun function = getConsolidationFunction(db);
+    private void requeue(List<Map.Entry<Key, Double>> samples) {
+        // a newer value that arrived for the same timestamp in the meantime is kept
+        samples.forEach(sample -> storageMap.putIfAbsent(sample.getKey(), sample.getValue()));
+    }
+
+    private Object getDatabaseLock(String name) {
+        return databaseLocks.computeIfAbsent(name, n -> new Object());
+    }
+
+    private void writeBatchToDatabase(String name, List<Map.Entry<Key, Double>> samples) {
+        long startTime = System.nanoTime();
+        // the lock prevents the database from being closed or deleted while the batch is written
+        synchronized (getDatabaseLock(name)) {
+            RrdDb db = null;
+            try {
+                db = openDB(name, true);
+            } catch (Exception e) {
+                logger.warn("Failed to open rrd4j database '{}' to store data ({})", name, e.toString());
+            }
+            if (db == null) {
+                return;
+            }
+
+            // keep the database open for the next batch
+            handleCache.retain(name, () -> openDB(name, false));
+
+            try {
+                ConsolFun function = getConsolidationFunction(db);
+                for (Map.Entry<Key, Double> sample : samples) {
+                    writePointToDatabase(db, function, name, sample.getValue(), sample.getKey().timestamp);
+                }
+            } finally {
+                try {
+                    db.close();
+                } catch (IOException e) {
+                    logger.debug("Error closing rrd4j database: {}", e.getMessage());
+                }
+            }
+        }
+
+        lastWriteTimes.put(name, samples.get(samples.size() - 1).getKey().timestamp);
+        samplesWritten.add(samples.size());
+        batchesWritten.increment();
+        writeNanos.add(System.nanoTime() - startTime);
+    }
+
+    private void writePointToDatabase(RrdDb db, ConsolFun function, String name, double value, long timestamp) {
         if (function != ConsolFun.AVERAGE) {
             try {
                 // we store the last value again, so that the value change
@@ -401,11 +687,6 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         } catch (Exception e) {
             logger.warn("Could not persist '{}' to rrd4j database: {}", name, e.getMessage());
         }
-        try {
-            db.close();
-        } catch (IOException e) {
-            logger.debug("Error closing rrd4j database: {}", e.getMessage());
-        }
     }
 
     @Override
@@ -700,12 +981,22 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return Set.of();
     }
 
-    protected synchronized @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+    protected @Nullable RrdDb getDB(String alias, boolean createFileIfAbsent) {
+        synchronized (getDatabaseLock(alias)) {
+            return openDB(alias, createFileIfAbsent);
+        }
+    }
+
+    private @Nullable RrdDb openDB(String alias, boolean createFileIfAbsent) {
         RrdDb db = null;
         Path path = getDatabasePath(alias);
         try {
             Builder builder = RrdDb.getBuilder();
             builder.setPool(DATABASE_POOL);
+            RrdBackendFactory factory = backendFactory;
+            if (factory != null) {
+                builder.setBackendFactory(factory);
+            }
 
             if (Files.exists(path)) {
                 // recreate the RrdDb instance from the file
@@ -824,6 +1115,55 @@ public class RRD4jPersistenceService implements QueryablePersistenceService {
         return SUPPORTED_TYPES.contains(ItemUtil.getMainItemType(item.getType()));
     }
 
+    /**
+     * Release a database kept open by the writer and delete its file.
+     *
+     * @param name the name of the database
+     * @return true if the file has been deleted
+     */
+    public boolean deleteDatabase(String name) {
+        synchronized (getDatabaseLock(name)) {
+            handleCache.invalidate(name);
+            lastWriteTimes.remove(name);
+            try {
+                return Files.deleteIfExists(getDatabasePath(name));
+            } catch (IOException e) {
+                logger.warn("Failed to delete rrd4j database '{}': {}", name, e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Get the timestamp of the last sample written to a database by this service.
+     *
+     * @param name the name of the database
+     * @return the timestamp in seconds, or 0 if the database has not been written since the service was started
+     */
+    public long getLastWriteTime(String name) {
+        return lastWriteTimes.getOrDefault(name, 0L);
+    }
+
+    /**
+     * Get the current statistics of the write pipeline.
+     *
+     * @return the write statistics
+     */
+    public WriteStatistics getWriteStatistics() {
+        long bytesFlushed = backendFactory instanceof RRD4jBufferedBackendFactory bufferedFactory
+                ? bufferedFactory.getBytesWritten()
+                : -1;
+        return new WriteStatistics((System.currentTimeMillis() - activationTime) / 1000, samplesWritten.sum(),
+                batchesWritten.sum(), TimeUnit.NANOSECONDS.toMillis(writeNanos.sum()), storageMap.size(),
+                writerThreads, handleCache.size(), handleCache.getCapacity(), handleCache.getHits(),
+                handleCache.getMisses(), backend, syncPeriod, bytesFlushed);
+    }
+
+    public record WriteStatistics(long uptime, long samples, long batches, long writeTime, int pending,
+            int writerThreads, int openHandles, int handleCapacity, long handleHits, long handleMisses,
+            String backend, int syncPeriod, long bytesFlushed) {
+    }
+
     public List<String> getRrdFiles() {
         try (Stream<Path> stream = Files.list(DB_FOLDER)) {
             return stream.filter(file -> !Files.isDirectory(file) && file.toFile().getName().endsWith(".rrd"))
@@ -17,12 +17,22 @@ import static java.util.Map.entry;
 import java.awt.Color;
 import java.awt.Font;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.imageio.ImageIO;
 import javax.servlet.Servlet;
@@ -33,11 +43,14 @@ import javax.servlet.ServletResponse;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.eclipse.jdt.annotation.Nullable;
+import org.openhab.core.common.ThreadPoolManager;
 import org.openhab.core.i18n.TimeZoneProvider;
 import org.openhab.core.items.GroupItem;
 import org.openhab.core.items.Item;
 import org.openhab.core.items.ItemNotFoundException;
 import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.PersistenceService;
+import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.persistence.registry.PersistenceServiceConfiguration;
 import org.openhab.core.persistence.registry.PersistenceServiceConfigurationRegistry;
 import org.openhab.core.ui.chart.ChartProvider;
@@ -50,6 +63,9 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.http.HttpService;
 import org.osgi.service.http.NamespaceException;
 import org.rrd4j.ConsolFun;
+import org.rrd4j.core.FetchData;
+import org.rrd4j.core.FetchRequest;
+import org.rrd4j.core.RrdBackendFactory;
 import org.rrd4j.core.RrdDb;
 import org.rrd4j.core.RrdDb.Builder;
 import org.rrd4j.graph.RrdGraph;
@@ -72,6 +88,7 @@ import org.slf4j.LoggerFactory;
  * @author Kai Kreuzer - Initial contribution
  * @author Chris Jackson - a few improvements
  * @author Jan N. Klug - a few improvements
+ * @author Marcel Verpaalen - rendered chart cache and parallel data fetch
  *
  */
 @NonNullByDefault
@@ -95,6 +112,9 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
 
     private static final Duration DEFAULT_PERIOD = Duration.ofDays(1);
 
+    private static final int MAX_CACHED_CHARTS = 16;
+    private static final String THREADPOOL_NAME = "rrd4j-chart";
+
     private static final Map<String, Duration> PERIODS = Map.ofEntries( //
             entry("h", Duration.ofHours(1)), entry("4h", Duration.ofHours(4)), //
             entry("8h", Duration.ofHours(8)), entry("12h", Duration.ofHours(12)), //
@@ -109,15 +129,52 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     private final ItemUIRegistry itemUIRegistry;
     private final TimeZoneProvider timeZoneProvider;
     private final PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry;
+    private final PersistenceServiceRegistry persistenceServiceRegistry;
+
+    private final ExecutorService fetchExecutor = ThreadPoolManager.getPool(THREADPOOL_NAME);
+    private final Map<ChartKey, CachedChart> chartCache = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<ChartKey, CachedChart> eldest) {
+            return size() > MAX_CACHED_CHARTS;
+        }
+    };
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder renderNanos = new LongAdder();
+
+    private record ChartKey(@Nullable String theme, long period, int height, int width, @Nullable String items,
+            @Nullable String groups, @Nullable Integer dpi, @Nullable String interpolation, @Nullable Boolean legend,
+            List<@Nullable String> labels) {
+    }
+
+    // the encoded image is cached, so that callers cannot modify the cached chart
+    private record CachedChart(byte[] png, List<Long> lastUpdates, long endTime, long maxAge) {
+    }
+
+    private record RenderedChart(byte[] png, boolean complete) {
+    }
+
+    private record Series(Item item, @Nullable String label, String name, String rrdName) {
+    }
+
+    /**
+     * Statistics of the rendered chart cache.
+     */
+    public record ChartStatistics(long hits, long misses, long renderTime, int cachedCharts) {
+    }
 
     @Activate
     public RRD4jChartServlet(final @Reference HttpService httpService, final @Reference ItemUIRegistry itemUIRegistry,
             final @Reference TimeZoneProvider timeZoneProvider,
-            final @Reference PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry) {
+            final @Reference PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry,
+            final @Reference PersistenceServiceRegistry persistenceServiceRegistry) {
         this.httpService = httpService;
         this.itemUIRegistry = itemUIRegistry;
         this.timeZoneProvider = timeZoneProvider;
         this.persistenceServiceConfigurationRegistry = persistenceServiceConfigurationRegistry;
+        this.persistenceServiceRegistry = persistenceServiceRegistry;
     }
 
     @Activate
@@ -133,6 +190,23 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
     @Deactivate
     protected void deactivate() {
         httpService.unregister(SERVLET_NAME);
+        synchronized (chartCache) {
+            chartCache.clear();
+        }
+    }
+
+    /**
+     * Get the current statistics of the rendered chart cache.
+     *
+     * @return the chart statistics
+     */
+    public ChartStatistics getStatistics() {
+        int size;
+        synchronized (chartCache) {
+            size = chartCache.size();
+        }
+        return new ChartStatistics(cacheHits.sum(), cacheMisses.sum(),
+                TimeUnit.NANOSECONDS.toMillis(renderNanos.sum()), size);
     }
 
     @Override
@@ -149,11 +223,11 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
         ZonedDateTime timeBegin = timeEnd.minus(period);
 
         try {
-            BufferedImage chart = createChart(null, null, timeBegin, timeEnd, height, width, req.getParameter("items"),
+            byte[] chart = getChart(null, timeBegin, timeEnd, height, width, req.getParameter("items"),
                     req.getParameter("groups"), null, null, null);
             // Set the content type to that provided by the chart provider
             res.setContentType("image/" + getChartType());
-            ImageIO.write(chart, getChartType().toString(), res.getOutputStream());
+            res.getOutputStream().write(chart);
         } catch (ItemNotFoundException e) {
             logger.debug("Item not found error while generating chart", e);
             throw new ServletException("Item not found error while generating chart: " + e.getMessage());
@@ -181,39 +255,71 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
      * rolls over if necessary).
      *
      * @param graphDef the graph definition to fill
-     * @param item the item to add a line for
+     * @param series the series to add a line for
+     * @param fetchData the data of the series
      * @param counter defines the number of the datasource and is used to determine the line color
      */
-    protected void addLine(RrdGraphDef graphDef, Item item, @Nullable String alias, int counter) {
+    protected void addLine(RrdGraphDef graphDef, Series series, FetchData fetchData, int counter) {
         Color color = LINECOLORS[counter % LINECOLORS.length];
+        graphDef.datasource(Integer.toString(counter), "state", fetchData);
+        if (series.item() instanceof NumberItem) {
+            // we only draw a line
+            graphDef.line(Integer.toString(counter), color, series.label(), 2);
+        } else {
+            // we draw a line and fill the area beneath it with a transparent color
+            Color areaColor = AREACOLORS[counter % LINECOLORS.length];
+
+            graphDef.area(Integer.toString(counter), areaColor);
+            graphDef.line(Integer.toString(counter), color, series.label(), 2);
+        }
+    }
+
+    private Series createSeries(Item item, @Nullable String alias) {
         String label = itemUIRegistry.getLabel(item.getName());
-        String rrdName = RRD4jPersistenceService.getDatabasePath(alias != null ? alias : item.getName()).toString();
-        ConsolFun consolFun;
         if (label != null && label.contains("[") && label.contains("]")) {
             label = label.substring(0, label.indexOf('['));
         }
-        try {
-            Builder builder = RrdDb.getBuilder();
-            builder.setPool(RRD4jPersistenceService.getDatabasePool());
-            builder.setPath(rrdName);
+        String name = alias != null ? alias : item.getName();
+        return new Series(item, label, name, RRD4jPersistenceService.getDatabasePath(name).toString());
+    }
+
+    private @Nullable RRD4jPersistenceService getPersistenceService() {
+        PersistenceService persistenceService = persistenceServiceRegistry.get(RRD4jPersistenceService.SERVICE_ID);
+        return persistenceService instanceof RRD4jPersistenceService service ? service : null;
+    }
+
+    private RrdDb openDatabase(String rrdName) throws IOException {
+        Builder builder = RrdDb.getBuilder();
+        builder.setPool(RRD4jPersistenceService.getDatabasePool());
+        // use the same backend as the persistence service, so that unflushed samples are visible
+        RRD4jPersistenceService service = getPersistenceService();
+        if (service != null) {
+            RrdBackendFactory backendFactory = service.getBackendFactory();
+            if (backendFactory != null) {
+                builder.setBackendFactory(backendFactory);
+            }
+        }
+        builder.setPath(rrdName);
+        return builder.build();
+    }
 
-            RrdDb db = builder.build();
-            consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
-            db.close();
+    private long getLastUpdateTime(@Nullable RRD4jPersistenceService service, Series series) {
+        if (service != null) {
+            // all writes go through the service, so the database does not have to be opened to detect changes
+            return service.getLastWriteTime(series.name());
+        }
+        try (RrdDb db = openDatabase(series.rrdName())) {
+            return db.getLastUpdateTime();
         } catch (IOException e) {
-            consolFun = ConsolFun.MAX;
+            return -1;
         }
-        if (item instanceof NumberItem) {
-            // we only draw a line
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
-            graphDef.line(Integer.toString(counter), color, label, 2);
-        } else {
-            // we draw a line and fill the area beneath it with a transparent color
-            graphDef.datasource(Integer.toString(counter), rrdName, "state", consolFun); // RRD4jService.getConsolidationFunction(item));
-            Color areaColor = AREACOLORS[counter % LINECOLORS.length];
+    }
 
-            graphDef.area(Integer.toString(counter), areaColor);
-            graphDef.line(Integer.toString(counter), color, label, 2);
+    private FetchData fetchData(Series series, long start, long end, long resolution) throws IOException {
+        try (RrdDb db = openDatabase(series.rrdName())) {
+            ConsolFun consolFun = db.getRrdDef().getArcDefs()[0].getConsolFun();
+            FetchRequest request = db.createFetchRequest(consolFun, start, end, resolution);
+            return request.fetchData();
         }
     }
 
@@ -248,19 +354,26 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             ZonedDateTime endTime, int height, int width, @Nullable String items, @Nullable String groups,
             @Nullable Integer dpi, @Nullable String interpolation, @Nullable Boolean legend)
             throws ItemNotFoundException {
-        RrdGraphDef graphDef = new RrdGraphDef(startTime.toEpochSecond(), endTime.toEpochSecond());
-        graphDef.setWidth(width);
-        graphDef.setHeight(height);
-        graphDef.setAntiAliasing(true);
-        graphDef.setImageFormat("PNG");
-        graphDef.setTextAntiAliasing(true);
-        graphDef.setFont(FontTag.TITLE, new Font("SansSerif", Font.PLAIN, 15));
-        graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
+        byte[] chart = getChart(theme, startTime, endTime, height, width, items, groups, dpi, interpolation, legend);
+        try {
+            // every caller gets its own image decoded from the cached chart
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(chart));
+            if (image == null) {
+                throw new IOException("Unsupported image format");
+            }
+            return image;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error decoding chart", e);
+        }
+    }
 
+    private byte[] getChart(@Nullable String theme, ZonedDateTime startTime, ZonedDateTime endTime, int height,
+            int width, @Nullable String items, @Nullable String groups, @Nullable Integer dpi,
+            @Nullable String interpolation, @Nullable Boolean legend) throws ItemNotFoundException {
         PersistenceServiceConfiguration config = persistenceServiceConfigurationRegistry
                 .get(RRD4jPersistenceService.SERVICE_ID);
 
-        int seriesCounter = 0;
+        List<Series> seriesList = new ArrayList<>();
 
         // Loop through all the items
         if (items != null) {
@@ -268,7 +381,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             for (String itemName : itemNames) {
                 String alias = config != null ? config.getAliases().get(itemName) : null;
                 Item item = itemUIRegistry.getItem(itemName);
-                addLine(graphDef, item, alias, seriesCounter++);
+                seriesList.add(createSeries(item, alias));
             }
         }
 
@@ -280,7 +393,7 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
                 if (item instanceof GroupItem groupItem) {
                     for (Item member : groupItem.getMembers()) {
                         String alias = config != null ? config.getAliases().get(member.getName()) : null;
-                        addLine(graphDef, member, alias, seriesCounter++);
+                        seriesList.add(createSeries(member, alias));
                     }
                 } else {
                     throw new ItemNotFoundException("Item '" + item.getName() + "' defined in groups is not a group.");
@@ -288,13 +401,81 @@ public class RRD4jChartServlet implements Servlet, ChartProvider {
             }
         }
 
+        long start = startTime.toEpochSecond();
+        long end = endTime.toEpochSecond();
+        // a cached chart is reused as long as no data was added and the time axis has not moved by a full pixel
+        long resolution = Math.max(1, (end - start) / Math.max(1, width));
+        List<@Nullable String> labels = seriesList.stream().map(Series::label).toList();
+        ChartKey key = new ChartKey(theme, end - start, height, width, items, groups, dpi, interpolation, legend,
+                labels);
+        RRD4jPersistenceService service = getPersistenceService();
+        List<Long> lastUpdates = seriesList.stream().map(series -> getLastUpdateTime(service, series)).toList();
+        synchronized (chartCache) {
+            CachedChart cached = chartCache.get(key);
+            if (cached != null && cached.lastUpdates().equals(lastUpdates) && end >= cached.endTime()
+                    && end - cached.endTime() < cached.maxAge()) {
+                cacheHits.increment();
+                return cached.png();
+            }
+        }
+        cacheMisses.increment();
+
+        long renderStart = System.nanoTime();
+        RenderedChart chart = renderChart(seriesList, start, end, resolution, height, width);
+        renderNanos.add(System.nanoTime() - renderStart);
+
+        if (chart.complete()) {
+            synchronized (chartCache) {
+                chartCache.put(key, new CachedChart(chart.png(), lastUpdates, end, resolution));
+            }
+        }
+        return chart.png();
+    }
+
+    private RenderedChart renderChart(List<Series> seriesList, long start, long end, long resolution, int height,
+            int width) {
+        RrdGraphDef graphDef = new RrdGraphDef(start, end);
+        graphDef.setWidth(width);
+        graphDef.setHeight(height);
+        graphDef.setAntiAliasing(true);
+        graphDef.setImageFormat("PNG");
+        graphDef.setTextAntiAliasing(true);
+        graphDef.setFont(FontTag.TITLE, new Font("SansSerif", Font.PLAIN, 15));
+        graphDef.setFont(FontTag.DEFAULT, new Font("SansSerif", Font.PLAIN, 11));
+
+        // fetch the data of all series in parallel
+        List<Future<FetchData>> futures = new ArrayList<>(seriesList.size());
+        for (Series series : seriesList) {
+            futures.add(fetchExecutor.submit(() -> fetchData(series, start, end, resolution)));
+        }
+
+        int seriesCounter = 0;
+        boolean complete = true;
+        for (int i = 0; i < seriesList.size(); i++) {
+            Series series = seriesList.get(i);
+            try {
+                addLine(graphDef, series, futures.get(i).get(), seriesCounter++);
+            } catch (ExecutionException e) {
+                // a chart with missing series is not cached
+                complete = false;
+                logger.debug("Could not fetch rrd4j data for item '{}': {}", series.item().getName(),
+                        e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(future -> future.cancel(true));
+                throw new IllegalStateException("Interrupted while fetching chart data", e);
+            }
+        }
+
         // Write the chart as a PNG image
         try {
             RrdGraph graph = new RrdGraph(graphDef);
             BufferedImage bi = new BufferedImage(graph.getRrdGraphInfo().getWidth(),
                     graph.getRrdGraphInfo().getHeight(), BufferedImage.TYPE_INT_RGB);
             graph.render(bi.getGraphics());
-            return bi;
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(bi, getChartType().toString(), png);
+            return new RenderedChart(png.toByteArray(), complete);
         } catch (IOException e) {
             throw new UncheckedIOException("Error generating RrdGraph", e);
         }
@@ -35,10 +35,16 @@ import org.openhab.core.persistence.PersistenceService;
 import org.openhab.core.persistence.PersistenceServiceRegistry;
 import org.openhab.core.persistence.registry.PersistenceServiceConfiguration;
 import org.openhab.core.persistence.registry.PersistenceServiceConfigurationRegistry;
+import org.openhab.core.ui.chart.ChartProvider;
 import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService;
+import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService.WriteStatistics;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartServlet;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartServlet.ChartStatistics;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.osgi.service.component.annotations.ReferencePolicy;
 
 /**
  * The {@link RRD4jCommandExtension} is responsible for handling console commands
@@ -52,12 +58,14 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     private static final String CMD_LIST = "list";
     private static final String CMD_CHECK = "check";
     private static final String CMD_CLEAN = "clean";
-    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN),
-            false);
+    private static final String CMD_STATS = "stats";
+    private static final StringsCompleter CMD_COMPLETER = new StringsCompleter(
+            List.of(CMD_LIST, CMD_CHECK, CMD_CLEAN, CMD_STATS), false);
 
     private final PersistenceServiceRegistry persistenceServiceRegistry;
     private final PersistenceServiceConfigurationRegistry persistenceServiceConfigurationRegistry;
     private final ItemRegistry itemRegistry;
+    private volatile @Nullable RRD4jChartServlet chartServlet;
 
     @Activate
     public RRD4jCommandExtension(final @Reference PersistenceServiceRegistry persistenceServiceRegistry,
@@ -69,6 +77,19 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         this.itemRegistry = itemRegistry;
     }
 
+    @Reference(cardinality = ReferenceCardinality.MULTIPLE, policy = ReferencePolicy.DYNAMIC)
+    protected void addChartProvider(ChartProvider chartProvider) {
+        if (chartProvider instanceof RRD4jChartServlet servlet) {
+            chartServlet = servlet;
+        }
+    }
+
+    protected void removeChartProvider(ChartProvider chartProvider) {
+        if (chartProvider == chartServlet) {
+            chartServlet = null;
+        }
+    }
+
     @Override
     public void execute(String[] args, Console console) {
         RRD4jPersistenceService persistenceService = getPersistenceService();
@@ -89,10 +110,49 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
         } else if (args.length >= 1 && args.length <= 2 && CMD_CLEAN.equalsIgnoreCase(args[0])) {
             checkAndClean(persistenceService, console, args.length == 2 ? args[1] : null, false);
             return;
+        } else if (args.length == 1 && CMD_STATS.equalsIgnoreCase(args[0])) {
+            printStatistics(persistenceService, console);
+            return;
         }
         printUsage(console);
     }
 
+    private void printStatistics(RRD4jPersistenceService persistenceService, Console console) {
+        WriteStatistics stats = persistenceService.getWriteStatistics();
+        console.println("Write statistics since " + stats.uptime() + " s:");
+        console.println("  samples written:   " + stats.samples() + " in " + stats.batches() + " database batches");
+        console.println("  pending samples:   " + stats.pending());
+        console.println("  writer threads:    " + stats.writerThreads());
+        console.println("  backend:           " + stats.backend() + " (sync period " + stats.syncPeriod() + " s)");
+        if (stats.bytesFlushed() >= 0) {
+            console.println(String.format("  bytes written:     %d (%.1f bytes/sample)", stats.bytesFlushed(),
+                    stats.samples() > 0 ? (double) stats.bytesFlushed() / stats.samples() : 0.0));
+        }
+        console.println(String.format("  throughput:        %.1f samples/s (%.1f samples/s while writing)",
+                rate(stats.samples(), stats.uptime() * 1000), rate(stats.samples(), stats.writeTime())));
+        long requests = stats.handleHits() + stats.handleMisses();
+        console.println("  open handles:      " + stats.openHandles() + " of " + stats.handleCapacity());
+        console.println(String.format("  handle cache hits: %d of %d (%.1f %%)", stats.handleHits(), requests,
+                requests > 0 ? 100.0 * stats.handleHits() / requests : 0.0));
+
+        RRD4jChartServlet servlet = chartServlet;
+        if (servlet != null) {
+            ChartStatistics chartStats = servlet.getStatistics();
+            long charts = chartStats.hits() + chartStats.misses();
+            console.println("Chart statistics:");
+            console.println(String.format("  chart cache hits:  %d of %d (%.1f %%)", chartStats.hits(), charts,
+                    charts > 0 ? 100.0 * chartStats.hits() / charts : 0.0));
+            console.println("  cached charts:     " + chartStats.cachedCharts());
+            console.println(String.format("  render latency:    %.1f ms", chartStats.misses() > 0
+                    ? (double) chartStats.renderTime() / chartStats.misses()
+                    : 0.0));
+        }
+    }
+
+    private double rate(long count, long millis) {
+        return millis > 0 ? count * 1000.0 / millis : 0.0;
+    }
+
     private @Nullable RRD4jPersistenceService getPersistenceService() {
         for (PersistenceService persistenceService : persistenceServiceRegistry.getAll()) {
             if (persistenceService instanceof RRD4jPersistenceService service) {
@@ -141,7 +201,9 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
                 if (checkOnly) {
                     console.println("  - " + filename + ": no item found");
                     nb++;
-                } else if (path.toFile().delete()) {
+                    continue;
+                }
+                if (persistenceService.deleteDatabase(name)) {
                     console.println("  - " + filename + ": file deleted");
                     nb++;
                 } else {
@@ -156,7 +218,8 @@ public class RRD4jCommandExtension extends AbstractConsoleCommandExtension imple
     public List<String> getUsages() {
         return List.of(buildCommandUsage(CMD_LIST, "list Round Robin Database files"),
                 buildCommandUsage(CMD_CHECK, "check for RRD files without existing item"),
-                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"));
+                buildCommandUsage(CMD_CLEAN + " [<itemName>]", "delete RRD files without existing item"),
+                buildCommandUsage(CMD_STATS, "show write, database handle and chart cache statistics"));
     }
 
     @Override
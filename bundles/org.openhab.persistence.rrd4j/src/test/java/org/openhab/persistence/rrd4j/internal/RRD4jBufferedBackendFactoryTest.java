@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdBackendFactory;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDb.Builder;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.RrdRandomAccessFileBackendFactory;
+import org.rrd4j.core.Sample;
+
+/**
+ * Tests for the {@link RRD4jBufferedBackendFactory}
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jBufferedBackendFactoryTest {
+
+    private static final long START = 1_700_000_000L;
+    private static final int STEP = 10;
+
+    private @NonNullByDefault({}) @TempDir Path tempDir;
+    private @NonNullByDefault({}) Path path;
+
+    @BeforeEach
+    public void setup() {
+        path = tempDir.resolve("test.rrd");
+    }
+
+    @Test
+    public void unflushedSamplesAreNotVisibleOnDisk() throws IOException {
+        RRD4jBufferedBackendFactory factory = new RRD4jBufferedBackendFactory();
+        RrdDb db = create(factory);
+        store(db, START + STEP, 1.0);
+        factory.flush();
+        long bytesAfterCreate = factory.getBytesWritten();
+        assertTrue(bytesAfterCreate > 0);
+
+        store(db, START + 2 * STEP, 2.0);
+
+        // the file on disk contains only the flushed samples
+        try (RrdDb onDisk = open(new RrdRandomAccessFileBackendFactory())) {
+            assertEquals(START + STEP, onDisk.getLastUpdateTime());
+            assertEquals(1.0, onDisk.getLastDatasourceValue("state"));
+        }
+
+        // a second backend on the same file shares the unflushed content
+        try (RrdDb shared = open(factory)) {
+            assertEquals(START + 2 * STEP, shared.getLastUpdateTime());
+        }
+
+        factory.flush();
+        // only the modified pages are written again
+        assertTrue(factory.getBytesWritten() - bytesAfterCreate < Files.size(path));
+        try (RrdDb onDisk = open(new RrdRandomAccessFileBackendFactory())) {
+            assertEquals(START + 2 * STEP, onDisk.getLastUpdateTime());
+            assertEquals(2.0, onDisk.getLastDatasourceValue("state"));
+        }
+        db.close();
+    }
+
+    @Test
+    public void onlyModifiedPagesAreWritten() throws IOException {
+        RRD4jBufferedBackendFactory factory = new RRD4jBufferedBackendFactory();
+        RrdDef rrdDef = new RrdDef(path.toString(), START, STEP);
+        rrdDef.addDatasource("state", DsType.GAUGE, 600, Double.NaN, Double.NaN);
+        rrdDef.addArchive(ConsolFun.LAST, 0.5, 1, 3600);
+        rrdDef.addArchive(ConsolFun.AVERAGE, 0.5, 1, 3600);
+        rrdDef.addArchive(ConsolFun.MAX, 0.5, 1, 3600);
+        Builder builder = RrdDb.getBuilder();
+        builder.setBackendFactory(factory);
+        builder.setRrdDef(rrdDef);
+        RrdDb db = builder.build();
+        factory.flush();
+        long bytesAfterCreate = factory.getBytesWritten();
+        assertEquals(Files.size(path), bytesAfterCreate);
+
+        store(db, START + STEP, 1.0);
+        factory.flush();
+
+        // the header and the rows of the three archives, not the range between the first and the last archive
+        long bytesFlushed = factory.getBytesWritten() - bytesAfterCreate;
+        assertTrue(bytesFlushed > 0);
+        assertTrue(bytesFlushed <= 7 * RRD4jBufferedBackendFactory.PAGE_SIZE, "flushed " + bytesFlushed + " bytes");
+        db.close();
+    }
+
+    @Test
+    public void closeWritesToDisk() throws IOException {
+        RRD4jBufferedBackendFactory factory = new RRD4jBufferedBackendFactory();
+        RrdDb db = create(factory);
+        store(db, START + STEP, 3.0);
+        db.close();
+
+        try (RrdDb onDisk = open(new RrdRandomAccessFileBackendFactory())) {
+            assertEquals(START + STEP, onDisk.getLastUpdateTime());
+            assertEquals(3.0, onDisk.getLastDatasourceValue("state"));
+        }
+    }
+
+    @Test
+    public void deletedFileIsNotWrittenAgain() throws IOException {
+        RRD4jBufferedBackendFactory factory = new RRD4jBufferedBackendFactory();
+        RrdDb db = create(factory);
+        store(db, START + STEP, 4.0);
+        factory.flush();
+
+        store(db, START + 2 * STEP, 5.0);
+        Files.delete(path);
+        db.close();
+
+        assertFalse(Files.exists(path));
+    }
+
+    private RrdDb create(RrdBackendFactory factory) throws IOException {
+        RrdDef rrdDef = new RrdDef(path.toString(), START, STEP);
+        rrdDef.addDatasource("state", DsType.GAUGE, 600, Double.NaN, Double.NaN);
+        rrdDef.addArchive(ConsolFun.LAST, 0.5, 1, 360);
+        Builder builder = RrdDb.getBuilder();
+        builder.setBackendFactory(factory);
+        builder.setRrdDef(rrdDef);
+        return builder.build();
+    }
+
+    private RrdDb open(RrdBackendFactory factory) throws IOException {
+        Builder builder = RrdDb.getBuilder();
+        builder.setBackendFactory(factory);
+        builder.setPath(path.toString());
+        return builder.build();
+    }
+
+    private void store(RrdDb db, long timestamp, double value) throws IOException {
+        Sample sample = db.createSample(timestamp);
+        sample.setValue("state", value);
+        sample.update();
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDbPool;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.Sample;
+
+/**
+ * Tests for the {@link RRD4jHandleCache}
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jHandleCacheTest {
+
+    private static final long START = 1_700_000_000L;
+    private static final int STEP = 10;
+
+    private @NonNullByDefault({}) @TempDir Path tempDir;
+    private RrdDbPool pool = new RrdDbPool();
+    private final AtomicInteger openCount = new AtomicInteger();
+    // the cached references, the pool returns the same instance for every reference to a file
+    private final Map<String, RrdDb> opened = new HashMap<>();
+
+    @BeforeEach
+    public void setup() {
+        pool = new RrdDbPool();
+        openCount.set(0);
+        opened.clear();
+    }
+
+    @Test
+    public void cachedDatabaseIsNotOpenedAgain() throws IOException {
+        RRD4jHandleCache cache = new RRD4jHandleCache(2);
+
+        assertFalse(cache.retain("a", opener("a")));
+        assertTrue(cache.retain("a", opener("a")));
+        assertTrue(cache.retain("a", opener("a")));
+
+        assertEquals(1, openCount.get());
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertFalse(database("a").isClosed());
+
+        cache.clear();
+        assertTrue(database("a").isClosed());
+    }
+
+    @Test
+    public void leastRecentlyUsedDatabaseIsEvicted() throws IOException {
+        RRD4jHandleCache cache = new RRD4jHandleCache(2);
+
+        cache.retain("a", opener("a"));
+        cache.retain("b", opener("b"));
+        // makes b the least recently used database
+        cache.retain("a", opener("a"));
+        cache.retain("c", opener("c"));
+
+        assertEquals(2, cache.size());
+        assertFalse(database("a").isClosed());
+        assertTrue(database("b").isClosed());
+        assertFalse(database("c").isClosed());
+
+        // an evicted database is opened again
+        assertFalse(cache.retain("b", opener("b")));
+        assertEquals(4, openCount.get());
+        assertTrue(database("a").isClosed());
+    }
+
+    @Test
+    public void evictedDatabaseInUseStaysOpen() throws IOException {
+        RRD4jHandleCache cache = new RRD4jHandleCache(1);
+        RrdDb inUse = open("a");
+        cache.retain("a", opener("a"));
+
+        cache.setCapacity(0);
+        assertEquals(0, cache.size());
+
+        // the reference of the writer is still usable
+        assertFalse(inUse.isClosed());
+        Sample sample = inUse.createSample(START + STEP);
+        sample.setValue("state", 1.0);
+        sample.update();
+        assertEquals(START + STEP, inUse.getLastUpdateTime());
+
+        inUse.close();
+        assertTrue(inUse.isClosed());
+    }
+
+    @Test
+    public void invalidatedDatabaseIsReleased() throws IOException {
+        RRD4jHandleCache cache = new RRD4jHandleCache(2);
+        cache.retain("a", opener("a"));
+        cache.retain("b", opener("b"));
+
+        cache.invalidate("a");
+
+        assertEquals(1, cache.size());
+        assertTrue(database("a").isClosed());
+        assertFalse(database("b").isClosed());
+        cache.clear();
+    }
+
+    @Test
+    public void nothingIsOpenedWithoutCapacity() {
+        RRD4jHandleCache cache = new RRD4jHandleCache(0);
+
+        assertFalse(cache.retain("a", opener("a")));
+
+        assertEquals(0, openCount.get());
+        assertEquals(0, cache.size());
+    }
+
+    private Supplier<@Nullable RrdDb> opener(String name) {
+        return () -> {
+            try {
+                openCount.incrementAndGet();
+                RrdDb db = open(name);
+                opened.put(name, db);
+                return db;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    private RrdDb database(String name) {
+        RrdDb db = opened.get(name);
+        assertNotNull(db);
+        return db;
+    }
+
+    private RrdDb open(String name) throws IOException {
+        Path path = tempDir.resolve(name + ".rrd");
+        RrdDb.Builder builder = RrdDb.getBuilder();
+        builder.setPool(pool);
+        if (path.toFile().exists()) {
+            builder.setPath(path.toString());
+        } else {
+            RrdDef rrdDef = new RrdDef(path.toString(), START, STEP);
+            rrdDef.addDatasource("state", DsType.GAUGE, 600, Double.NaN, Double.NaN);
+            rrdDef.addArchive(ConsolFun.LAST, 0.5, 1, 360);
+            builder.setRrdDef(rrdDef);
+        }
+        return builder.build();
+    }
+}
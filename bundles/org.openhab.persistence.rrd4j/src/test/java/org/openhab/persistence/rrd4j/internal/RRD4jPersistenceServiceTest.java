@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.items.ItemRegistry;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.test.java.JavaTest;
+import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService.WriteStatistics;
+import org.rrd4j.core.RrdDb;
+
+/**
+ * Tests for the batch writes of the {@link RRD4jPersistenceService}
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jPersistenceServiceTest extends JavaTest {
+
+    private static final List<String> DATABASES = List.of("batchA", "batchB", "batchC");
+    private static final int SAMPLES = 3;
+    private static final int STEP = 10;
+
+    private static @NonNullByDefault({}) @TempDir Path userDataFolder;
+
+    private @NonNullByDefault({}) RRD4jPersistenceService service;
+
+    @BeforeAll
+    public static void setupUserData() {
+        // the database folder is resolved once when the service class is loaded
+        if (System.getProperty("openhab.userdata") == null) {
+            System.setProperty("openhab.userdata", userDataFolder.toString());
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (service != null) {
+            service.deactivate();
+            DATABASES.forEach(service::deleteDatabase);
+        }
+    }
+
+    @Test
+    public void samplesAreWrittenInOneBatchPerDatabase() throws IOException, ItemNotFoundException {
+        service = createService(1);
+        long start = queueSamples();
+
+        service.doStore(true);
+
+        WriteStatistics statistics = service.getWriteStatistics();
+        assertEquals(DATABASES.size() * SAMPLES, statistics.samples());
+        assertEquals(DATABASES.size(), statistics.batches());
+        assertEquals(0, statistics.pending());
+        assertDatabasesWritten(start);
+    }
+
+    @Test
+    public void databasesAreWrittenInParallel() throws IOException, ItemNotFoundException {
+        service = createService(4);
+        long start = queueSamples();
+
+        service.doStore(true);
+
+        WriteStatistics statistics = service.getWriteStatistics();
+        assertEquals(4, statistics.writerThreads());
+        assertEquals(DATABASES.size() * SAMPLES, statistics.samples());
+        assertEquals(DATABASES.size(), statistics.batches());
+        assertEquals(0, statistics.pending());
+        assertDatabasesWritten(start);
+    }
+
+    @Test
+    public void batchesNotWrittenAreRequeuedWhenInterrupted() throws IOException, ItemNotFoundException {
+        service = createService(4);
+        long start = queueSamples();
+
+        Thread.currentThread().interrupt();
+        service.doStore(true);
+        assertTrue(Thread.interrupted());
+
+        // the batches already claimed by a writer are completed, the others are written by the next store
+        service.doStore(true);
+        waitForAssert(() -> {
+            WriteStatistics statistics = service.getWriteStatistics();
+            assertEquals(DATABASES.size() * SAMPLES, statistics.samples());
+            assertEquals(0, statistics.pending());
+        });
+        assertDatabasesWritten(start);
+    }
+
+    private RRD4jPersistenceService createService(int writerThreads) throws ItemNotFoundException {
+        ItemRegistry itemRegistry = mock(ItemRegistry.class);
+        when(itemRegistry.getItem(anyString())).thenAnswer(invocation -> new NumberItem(invocation.getArgument(0)));
+        return new RRD4jPersistenceService(itemRegistry,
+                Map.of("writerThreads", writerThreads, "handleCacheSize", 2));
+    }
+
+    private long queueSamples() {
+        // timestamps in the future are only written by a forced store, not by the store job
+        long start = (System.currentTimeMillis() / 1000 / STEP + 60) * STEP;
+        for (String name : DATABASES) {
+            for (int i = 0; i < SAMPLES; i++) {
+                service.queue(name, start + i * STEP, DATABASES.indexOf(name) * 10 + i);
+            }
+        }
+        return start;
+    }
+
+    private void assertDatabasesWritten(long start) throws IOException {
+        long last = start + (SAMPLES - 1) * STEP;
+        for (String name : DATABASES) {
+            assertEquals(last, service.getLastWriteTime(name));
+            RrdDb db = Objects.requireNonNull(service.getDB(name, false));
+            try {
+                assertEquals(last, db.getLastUpdateTime());
+                assertEquals(DATABASES.indexOf(name) * 10 + SAMPLES - 1, db.getLastDatasourceValue("state"));
+            } finally {
+                db.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.persistence.rrd4j.internal.charts;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openhab.core.i18n.TimeZoneProvider;
+import org.openhab.core.items.ItemNotFoundException;
+import org.openhab.core.library.items.NumberItem;
+import org.openhab.core.persistence.PersistenceServiceRegistry;
+import org.openhab.core.persistence.registry.PersistenceServiceConfigurationRegistry;
+import org.openhab.core.ui.items.ItemUIRegistry;
+import org.openhab.persistence.rrd4j.internal.RRD4jPersistenceService;
+import org.openhab.persistence.rrd4j.internal.charts.RRD4jChartServlet.ChartStatistics;
+import org.osgi.service.http.HttpService;
+import org.rrd4j.ConsolFun;
+import org.rrd4j.DsType;
+import org.rrd4j.core.RrdDb;
+import org.rrd4j.core.RrdDef;
+import org.rrd4j.core.Sample;
+
+/**
+ * Tests for the rendered chart cache of the {@link RRD4jChartServlet}
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class RRD4jChartServletTest {
+
+    private static final String ITEM = "chartTestItem";
+    private static final long START = 1_700_000_000L;
+    private static final int STEP = 10;
+    private static final ZonedDateTime BEGIN = ZonedDateTime.ofInstant(Instant.ofEpochSecond(START), ZoneOffset.UTC);
+    private static final ZonedDateTime END = BEGIN.plusHours(1);
+
+    private static @NonNullByDefault({}) @TempDir Path userDataFolder;
+
+    private @NonNullByDefault({}) RRD4jChartServlet servlet;
+
+    @BeforeAll
+    public static void setupUserData() {
+        // the database folder is resolved once when the persistence service class is loaded
+        if (System.getProperty("openhab.userdata") == null) {
+            System.setProperty("openhab.userdata", userDataFolder.toString());
+        }
+    }
+
+    @BeforeEach
+    public void setup() throws IOException, ItemNotFoundException {
+        Path path = RRD4jPersistenceService.getDatabasePath(ITEM);
+        Files.createDirectories(path.getParent());
+        RrdDef rrdDef = new RrdDef(path.toString(), START, STEP);
+        rrdDef.addDatasource("state", DsType.GAUGE, 600, Double.NaN, Double.NaN);
+        rrdDef.addArchive(ConsolFun.LAST, 0.5, 1, 360);
+        RrdDb.getBuilder().setRrdDef(rrdDef).build().close();
+
+        ItemUIRegistry itemUIRegistry = mock(ItemUIRegistry.class);
+        when(itemUIRegistry.getItem(anyString())).thenAnswer(invocation -> new NumberItem(invocation.getArgument(0)));
+        servlet = new RRD4jChartServlet(mock(HttpService.class), itemUIRegistry, mock(TimeZoneProvider.class),
+                mock(PersistenceServiceConfigurationRegistry.class), mock(PersistenceServiceRegistry.class));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        servlet.deactivate();
+        Files.deleteIfExists(RRD4jPersistenceService.getDatabasePath(ITEM));
+    }
+
+    @Test
+    public void unchangedChartIsServedFromCache() throws ItemNotFoundException {
+        BufferedImage first = createChart(480);
+        BufferedImage second = createChart(480);
+
+        ChartStatistics statistics = servlet.getStatistics();
+        assertEquals(1, statistics.hits());
+        assertEquals(1, statistics.misses());
+        assertEquals(1, statistics.cachedCharts());
+
+        // every caller gets its own image with the same content
+        assertNotSame(first, second);
+        assertEquals(first.getWidth(), second.getWidth());
+        assertEquals(first.getHeight(), second.getHeight());
+        assertEquals(first.getRGB(first.getWidth() / 2, first.getHeight() / 2),
+                second.getRGB(second.getWidth() / 2, second.getHeight() / 2));
+
+        // modifying a returned image does not modify the cached chart
+        first.setRGB(0, 0, 0x123456);
+        assertNotEquals(0x123456, createChart(480).getRGB(0, 0) & 0xffffff);
+    }
+
+    @Test
+    public void chartIsRenderedAgainWhenDataChanges() throws IOException, ItemNotFoundException {
+        createChart(480);
+
+        try (RrdDb db = RrdDb.getBuilder().setPath(RRD4jPersistenceService.getDatabasePath(ITEM).toString())
+                .setPool(RRD4jPersistenceService.getDatabasePool()).build()) {
+            Sample sample = db.createSample(START + STEP);
+            sample.setValue("state", 1.0);
+            sample.update();
+        }
+        createChart(480);
+
+        ChartStatistics statistics = servlet.getStatistics();
+        assertEquals(0, statistics.hits());
+        assertEquals(2, statistics.misses());
+        assertEquals(1, statistics.cachedCharts());
+    }
+
+    @Test
+    public void leastRecentlyUsedChartIsEvicted() throws ItemNotFoundException {
+        for (int width = 100; width <= 116; width++) {
+            createChart(width);
+        }
+        assertEquals(16, servlet.getStatistics().cachedCharts());
+
+        // the first chart has been evicted, the last one is still cached
+        createChart(100);
+        createChart(116);
+
+        ChartStatistics statistics = servlet.getStatistics();
+        assertEquals(1, statistics.hits());
+        assertEquals(18, statistics.misses());
+    }
+
+    private BufferedImage createChart(int width) throws ItemNotFoundException {
+        return servlet.createChart(null, null, BEGIN, END, 240, width, ITEM, null, null, null, null);
+    }
+}
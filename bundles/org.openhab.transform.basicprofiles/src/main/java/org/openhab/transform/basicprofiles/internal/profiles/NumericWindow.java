@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Sliding window over the last values of a {@link StateFilterProfile}, with statistics maintained incrementally.
+ *
+ * The sum and the sum of squares are updated when a value enters or leaves the window, so the average and the
+ * standard deviation are calculated in constant time. The values are additionally kept in sorted order, so the
+ * median, minimum and maximum are read directly. Since BigDecimal addition and multiplication are exact, the results
+ * are identical to calculating them over all values of the window.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+class NumericWindow {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    // values in the order they were added, null for states without a numeric value
+    private final @Nullable BigDecimal[] values;
+    private final List<BigDecimal> sortedValues;
+    private int head = 0;
+    private int size = 0;
+
+    private BigDecimal sum = BigDecimal.ZERO;
+    private BigDecimal sumOfSquares = BigDecimal.ZERO;
+
+    /**
+     * @param windowSize the number of values in the window
+     */
+    NumericWindow(int windowSize) {
+        values = new @Nullable BigDecimal[windowSize];
+        sortedValues = new ArrayList<>(windowSize);
+    }
+
+    /**
+     * Add a value to the window, removing the oldest value if the window is full.
+     *
+     * @param value the value, or null if the state has no numeric value. It takes a place in the window, but is not
+     *            included in the statistics.
+     */
+    void add(@Nullable BigDecimal value) {
+        if (size == values.length) {
+            BigDecimal oldest = values[head];
+            if (oldest != null) {
+                sum = sum.subtract(oldest);
+                sumOfSquares = sumOfSquares.subtract(oldest.multiply(oldest));
+                removeSorted(oldest);
+            }
+        } else {
+            size++;
+        }
+        values[head] = value;
+        head = (head + 1) % values.length;
+
+        if (value != null) {
+            sum = sum.add(value);
+            sumOfSquares = sumOfSquares.add(value.multiply(value));
+            // insert after equal values, so that equal values are sorted in the order they were added
+            sortedValues.add(upperBound(value), value);
+        }
+    }
+
+    /**
+     * @return the number of numeric values in the window
+     */
+    int count() {
+        return sortedValues.size();
+    }
+
+    @Nullable
+    BigDecimal average() {
+        int count = count();
+        return count == 0 ? null : sum.divide(BigDecimal.valueOf(count), MathContext.DECIMAL32);
+    }
+
+    /**
+     * The population standard deviation. The average is rounded to two decimals, and the sum of squared deviations
+     * from it is derived from the running sums: sum((x - a)^2) = sum(x^2) - 2 * a * sum(x) + n * a^2.
+     */
+    @Nullable
+    BigDecimal standardDeviation() {
+        int count = count();
+        if (count == 0) {
+            return null;
+        }
+        BigDecimal n = BigDecimal.valueOf(count);
+        BigDecimal average = sum.divide(n, 2, RoundingMode.HALF_EVEN);
+        BigDecimal squaredDeviations = sumOfSquares.subtract(TWO.multiply(average).multiply(sum))
+                .add(n.multiply(average).multiply(average));
+        return squaredDeviations.divide(n, MathContext.DECIMAL32).sqrt(MathContext.DECIMAL32);
+    }
+
+    @Nullable
+    BigDecimal median() {
+        int count = count();
+        if (count == 0) {
+            return null;
+        }
+        if (count % 2 == 1) {
+            return sortedValues.get(count / 2);
+        }
+        return sortedValues.get(count / 2 - 1).add(sortedValues.get(count / 2)).divide(TWO);
+    }
+
+    /**
+     * @return the minimum value, the oldest one if several values are equal
+     */
+    @Nullable
+    BigDecimal min() {
+        return sortedValues.isEmpty() ? null : sortedValues.getFirst();
+    }
+
+    /**
+     * @return the maximum value, the oldest one if several values are equal
+     */
+    @Nullable
+    BigDecimal max() {
+        return sortedValues.isEmpty() ? null : sortedValues.get(lowerBound(sortedValues.getLast()));
+    }
+
+    private void removeSorted(BigDecimal value) {
+        // values like 1.0 and 1.00 are equal by compareTo, remove the one with the same scale
+        for (int i = lowerBound(value); i < sortedValues.size() && sortedValues.get(i).compareTo(value) == 0; i++) {
+            if (sortedValues.get(i).equals(value)) {
+                sortedValues.remove(i);
+                return;
+            }
+        }
+    }
+
+    // index of the first value not less than the given value
+    private int lowerBound(BigDecimal value) {
+        int low = 0;
+        int high = sortedValues.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues.get(mid).compareTo(value) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // index of the first value greater than the given value
+    private int upperBound(BigDecimal value) {
+        int low = 0;
+        int high = sortedValues.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedValues.get(mid).compareTo(value) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
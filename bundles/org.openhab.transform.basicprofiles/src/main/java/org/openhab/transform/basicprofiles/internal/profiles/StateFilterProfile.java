@@ -17,12 +17,12 @@ import static org.openhab.transform.basicprofiles.internal.factory.BasicProfiles
 
 import java.math.BigDecimal;
 import java.math.MathContext;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.LinkedList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -49,7 +49,6 @@ import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.TypeParser;
 import org.openhab.core.types.UnDefType;
-import org.openhab.core.util.Statistics;
 import org.openhab.transform.basicprofiles.internal.config.StateFilterProfileConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,6 +61,7 @@ import org.slf4j.LoggerFactory;
  * @author Jimmy Tanagra - Expanded the comparison types
  * @author Jimmy Tanagra - Added support for functions
  * @author Andrew Fiddian-Green - Normalise calculations based on the Unit of the linked Item
+ * @author Marcel Verpaalen - Incremental window statistics
  */
 @NonNullByDefault
 public class StateFilterProfile implements StateProfile {
@@ -109,10 +109,12 @@ public class StateFilterProfile implements StateProfile {
     // single cached numeric state for use in conjunction with DELTA and DELTA_PERCENT functions
     private Optional<State> acceptedState = Optional.empty();
 
-    // cached list of prior numeric states for use in conjunction with AVG, MEDIAN, STDDEV, MIN, MAX functions
-    private final List<State> previousStates = new LinkedList<>();
+    // windows of prior numeric values for use in conjunction with AVG, MEDIAN, STDDEV, MIN, MAX functions,
+    // one per window size used by the functions
+    private final Map<Integer, NumericWindow> windows = new HashMap<>();
 
-    private final int windowSize;
+    // largest window size of all functions, functions without a window size use all values of this window
+    private final int maxWindowSize;
 
     // reference (zero based) system unit for conversions
     private @Nullable Unit<?> systemUnit = null;
@@ -133,24 +135,30 @@ public class StateFilterProfile implements StateProfile {
         } else {
             for (StateCondition condition : conditions) {
                 if (condition.lhsState instanceof FunctionType function) {
-                    int windowSize = function.getWindowSize();
-                    if (windowSize > maxWindowSize) {
-                        maxWindowSize = windowSize;
-                    }
+                    maxWindowSize = Math.max(maxWindowSize, addWindow(function));
                 }
                 if (condition.rhsState instanceof FunctionType function) {
-                    int windowSize = function.getWindowSize();
-                    if (windowSize > maxWindowSize) {
-                        maxWindowSize = windowSize;
-                    }
+                    maxWindowSize = Math.max(maxWindowSize, addWindow(function));
                 }
             }
         }
 
-        windowSize = maxWindowSize;
+        this.maxWindowSize = maxWindowSize;
+        if (maxWindowSize > 0) {
+            windows.computeIfAbsent(maxWindowSize, NumericWindow::new);
+        }
+
         configMismatchState = parseState(config.mismatchState, context.getAcceptedDataTypes());
     }
 
+    private int addWindow(FunctionType function) {
+        int windowSize = function.getWindowSize();
+        if (windowSize > 0 && function.hasWindowSize()) {
+            windows.computeIfAbsent(windowSize, NumericWindow::new);
+        }
+        return windowSize;
+    }
+
     private List<StateCondition> parseConditions(List<String> conditions, String separator) {
         List<StateCondition> parsedConditions = new ArrayList<>();
 
@@ -219,11 +227,9 @@ public class StateFilterProfile implements StateProfile {
         } else {
             logger.debug("Received state update from handler: {}, not forwarded to item", state);
         }
-        if (windowSize > 0 && isCacheable(state)) {
-            previousStates.add(state);
-            if (previousStates.size() > windowSize) {
-                previousStates.removeFirst();
-            }
+        if (!windows.isEmpty() && isCacheable(state)) {
+            BigDecimal value = toBigDecimal(state);
+            windows.values().forEach(window -> window.add(value));
         }
     }
 
@@ -570,22 +576,20 @@ public class StateFilterProfile implements StateProfile {
                 case DELTA -> result = calculateDelta();
                 case DELTA_PERCENT -> result = calculateDeltaPercent();
                 default -> {
-                    int size = previousStates.size();
-                    Integer start = windowSize.map(w -> size - w).orElse(0);
-                    List<BigDecimal> values = toBigDecimals(
-                            start == null || start <= 0 ? previousStates : previousStates.subList(start, size));
-                    if (values.isEmpty()) {
+                    NumericWindow window = windows.get(windowSize.orElse(maxWindowSize));
+                    if (window == null || window.count() == 0) {
                         logger.debug("Not enough states to calculate {}", type);
                         result = null;
                     } else {
-                        switch (type) {
-                            case AVG, AVERAGE -> result = calculateAverage(values);
-                            case MEDIAN -> result = calculateMedian(values);
-                            case STDDEV -> result = calculateStdDev(values);
-                            case MIN -> result = calculateMin(values);
-                            case MAX -> result = calculateMax(values);
-                            default -> result = null;
-                        }
+                        BigDecimal value = switch (type) {
+                            case AVG, AVERAGE -> window.average();
+                            case MEDIAN -> window.median();
+                            case STDDEV -> window.standardDeviation();
+                            case MIN -> window.min();
+                            case MAX -> window.max();
+                            default -> null;
+                        };
+                        result = value == null ? null : toState(value);
                     }
                 }
             }
@@ -631,6 +635,10 @@ public class StateFilterProfile implements StateProfile {
             return windowSize.isPresent() ? windowSize.get() : DEFAULT_WINDOW_SIZE;
         }
 
+        boolean hasWindowSize() {
+            return windowSize.isPresent();
+        }
+
         public Function getType() {
             return type;
         }
@@ -650,40 +658,6 @@ public class StateFilterProfile implements StateProfile {
             return toFullString();
         }
 
-        private @Nullable State calculateAverage(List<BigDecimal> values) {
-            return Optional
-                    .ofNullable(values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                            .divide(BigDecimal.valueOf(values.size()), MathContext.DECIMAL32))
-                    .map(o -> toState(o)).orElse(null);
-        }
-
-        private @Nullable State calculateMedian(List<BigDecimal> values) {
-            return Optional.ofNullable(Statistics.median(values)).map(o -> toState(o)).orElse(null);
-        }
-
-        private @Nullable State calculateStdDev(List<BigDecimal> values) {
-            BigDecimal average = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(BigDecimal.valueOf(values.size()), 2, RoundingMode.HALF_EVEN);
-
-            BigDecimal variance = values.stream().map(value -> {
-                BigDecimal delta = value.subtract(average);
-                return delta.multiply(delta);
-            }).reduce(BigDecimal.ZERO, BigDecimal::add).divide(BigDecimal.valueOf(values.size()),
-                    MathContext.DECIMAL32);
-
-            return toState(variance.sqrt(MathContext.DECIMAL32));
-        }
-
-        private @Nullable State calculateMin(List<BigDecimal> values) {
-            return Optional.ofNullable(values.stream().min(BigDecimal::compareTo).orElse(null)).map(o -> toState(o))
-                    .orElse(null);
-        }
-
-        private @Nullable State calculateMax(List<BigDecimal> values) {
-            return Optional.ofNullable(values.stream().max(BigDecimal::compareTo).orElse(null)).map(o -> toState(o))
-                    .orElse(null);
-        }
-
         private @Nullable State calculateDelta() {
             return acceptedState.isPresent() //
                     && toBigDecimal(acceptedState.get()) instanceof BigDecimal acceptedValue
@@ -743,16 +717,6 @@ public class StateFilterProfile implements StateProfile {
                 : null;
     }
 
-    /**
-     * Convert a list of {@link State} to a list of {@link BigDecimal} values.
-     *
-     * @param states list of {@link State} values.
-     * @return list of {@link BigDecimal} values.
-     */
-    protected List<BigDecimal> toBigDecimals(List<? extends State> states) {
-        return states.stream().map(s -> toBigDecimal(s)).filter(Objects::nonNull).toList();
-    }
-
     /**
      * Create a new {@link State} from the given {@link BigDecimal} value. If there is a 'systemUnit' it creates a
      * {@link QuantityType} based on that unit. Otherwise it creates a {@link DecimalType}.
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.basicprofiles.internal.profiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.openhab.core.util.Statistics;
+
+/**
+ * Tests the {@link NumericWindow} against calculations over all values of the window.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class NumericWindowTest {
+
+    private static BigDecimal average(List<BigDecimal> values) {
+        return values.stream().reduce(BigDecimal.ZERO, BigDecimal::add).divide(BigDecimal.valueOf(values.size()),
+                MathContext.DECIMAL32);
+    }
+
+    private static BigDecimal standardDeviation(List<BigDecimal> values) {
+        BigDecimal average = values.stream().reduce(BigDecimal.ZERO, BigDecimal::add)
+                .divide(BigDecimal.valueOf(values.size()), 2, RoundingMode.HALF_EVEN);
+        BigDecimal variance = values.stream().map(value -> value.subtract(average).pow(2))
+                .reduce(BigDecimal.ZERO, BigDecimal::add)
+                .divide(BigDecimal.valueOf(values.size()), MathContext.DECIMAL32);
+        return variance.sqrt(MathContext.DECIMAL32);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 1, 2, 5, 10, 100, 1000 })
+    public void testStatisticsMatchFullCalculation(int windowSize) {
+        Random random = new Random(windowSize);
+        NumericWindow window = new NumericWindow(windowSize);
+        List<BigDecimal> values = new ArrayList<>();
+
+        for (int i = 0; i < windowSize * 3; i++) {
+            // few distinct values, so that there are many duplicates
+            BigDecimal value = BigDecimal.valueOf(random.nextInt(2000) - 1000, random.nextInt(3));
+            window.add(value);
+            values.add(value);
+            if (values.size() > windowSize) {
+                values.removeFirst();
+            }
+
+            assertEquals(values.size(), window.count());
+            // the running sums may have a different scale, the values are equal
+            assertEquals(0, average(values).compareTo(window.average()));
+            assertEquals(0, standardDeviation(values).compareTo(window.standardDeviation()));
+            assertEquals(0, Statistics.median(values).compareTo(window.median()));
+            assertEquals(values.stream().min(BigDecimal::compareTo).get(), window.min());
+            assertEquals(values.stream().max(BigDecimal::compareTo).get(), window.max());
+        }
+    }
+
+    @Test
+    public void testEmptyWindow() {
+        NumericWindow window = new NumericWindow(3);
+
+        assertEquals(0, window.count());
+        assertNull(window.average());
+        assertNull(window.standardDeviation());
+        assertNull(window.median());
+        assertNull(window.min());
+        assertNull(window.max());
+    }
+
+    @Test
+    public void testNonNumericValuesTakePlaceInWindow() {
+        NumericWindow window = new NumericWindow(3);
+        window.add(BigDecimal.ONE);
+        window.add(null);
+        window.add(BigDecimal.TEN);
+
+        assertEquals(2, window.count());
+        assertEquals(BigDecimal.valueOf(5.5), window.median());
+
+        window.add(null);
+        window.add(null);
+
+        assertEquals(0, window.count());
+        assertNull(window.average());
+    }
+}
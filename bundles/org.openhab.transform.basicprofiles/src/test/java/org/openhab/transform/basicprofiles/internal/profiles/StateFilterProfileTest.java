@@ -21,6 +21,7 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.measure.MetricPrefix;
@@ -682,12 +683,21 @@ public class StateFilterProfileTest {
                 .map(n -> new QuantityType<>(n, Units.PERCENT)).toList();
         List<DecimalType> decimals = numbers.stream().map(DecimalType::new).toList();
         List<DecimalType> negativeDecimals = negatives.stream().map(DecimalType::new).toList();
+        List<DecimalType> moreDecimals = IntStream.rangeClosed(1, 10).mapToObj(DecimalType::new).toList();
 
         return Stream.of( //
                 // test custom window size
                 Arguments.of(decimalItem, "$AVERAGE(3) == 4", decimals, DecimalType.valueOf("5"), true), //
                 Arguments.of(decimalItem, "$AVERAGE(4) == 3.5", decimals, DecimalType.valueOf("5"), true), //
 
+                // functions without a window size use the largest window size of all functions
+                Arguments.of(decimalItem, "$MIN == 1, $MAX(10) == 10", moreDecimals, DecimalType.valueOf("11"),
+                        true), //
+                Arguments.of(decimalItem, "$MIN(5) == 6, $MAX(10) == 10", moreDecimals, DecimalType.valueOf("11"),
+                        true), //
+                Arguments.of(decimalItem, "$AVERAGE == 5.5, $MAX(10) == 10", moreDecimals, DecimalType.valueOf("11"),
+                        true), //
+
                 // default window size is 5
                 Arguments.of(decimalItem, "10 <= $DELTA", decimals, DecimalType.valueOf("10"), false), //
                 Arguments.of(decimalItem, "10 <= $DELTA", decimals, DecimalType.valueOf("11"), true), //
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.bin2json.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.openhab.core.transform.TransformationException;
+
+/**
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class Bin2JsonTransformationServiceTest {
+
+    private final AtomicInteger parserCount = new AtomicInteger();
+    private Bin2JsonTransformationService processor = new Bin2JsonTransformationService();
+
+    @BeforeEach
+    public void init() {
+        parserCount.set(0);
+        processor = new Bin2JsonTransformationService() {
+            @Override
+            Bin2Json newParser(String syntax) throws ConversionException {
+                parserCount.incrementAndGet();
+                return super.newParser(syntax);
+            }
+        };
+    }
+
+    @Test
+    public void testTransform() throws TransformationException {
+        assertEquals("{\"a\":3,\"b\":-6,\"c\":255}", processor.transform("byte a; byte b; ubyte c;", "03FAFF"));
+    }
+
+    @Test
+    public void testParserIsCached() throws TransformationException {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("{\"a\":" + i + "}", processor.transform("ubyte a;", String.format("%02X", i)));
+        }
+
+        assertEquals(1, parserCount.get());
+    }
+
+    @Test
+    public void testCacheIsClearedWhenFull() throws TransformationException {
+        for (int i = 0; i < Bin2JsonTransformationService.MAX_CACHED_PARSERS; i++) {
+            processor.transform("ubyte a" + i + ";", "01");
+        }
+        processor.transform("ubyte a0;", "01");
+        assertEquals(Bin2JsonTransformationService.MAX_CACHED_PARSERS, parserCount.get());
+
+        // one rule more than the cache holds clears it
+        processor.transform("ubyte overflow;", "01");
+        processor.transform("ubyte overflow;", "01");
+        assertEquals(Bin2JsonTransformationService.MAX_CACHED_PARSERS + 1, parserCount.get());
+
+        processor.transform("ubyte a0;", "01");
+        assertEquals(Bin2JsonTransformationService.MAX_CACHED_PARSERS + 2, parserCount.get());
+    }
+
+    @Test
+    public void testInvalidRuleIsNotCached() {
+        assertThrows(TransformationException.class, () -> processor.transform("unknowntype a;", "01"));
+        assertThrows(TransformationException.class, () -> processor.transform("unknowntype a;", "01"));
+
+        assertEquals(2, parserCount.get());
+    }
+
+    @Test
+    public void testInvalidDataDoesNotEvictParser() throws TransformationException {
+        assertThrows(TransformationException.class, () -> processor.transform("ubyte a;", "not hex"));
+        assertEquals("{\"a\":1}", processor.transform("ubyte a;", "01"));
+
+        assertEquals(1, parserCount.get());
+    }
+}
@@ -20,6 +20,7 @@ import org.openhab.core.transform.TransformationException;
 
 /**
  * @author Jochen Klein - Initial contribution
+ * @author Marcel Verpaalen - Template cache and value_json view tests
  */
 public class JinjaTransformationServiceTest {
 
@@ -113,4 +114,33 @@ public class JinjaTransformationServiceTest {
         // then map key is defined
         assertEquals("true", transformedResponse);
     }
+
+    private static final String ZIGBEE_JSON = "{\"battery\":97,\"contact\":false,\"linkquality\":134,"
+            + "\"update\":{\"state\":\"idle\"},\"colors\":[{\"x\":0.1},{\"x\":0.2}]}";
+
+    @Test
+    public void testTemplateIsParsedOnce() throws TransformationException {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("97", processor.transform("{{ value_json.battery }}", ZIGBEE_JSON));
+            assertEquals("idle", processor.transform("{{ value_json['update'].state }}", ZIGBEE_JSON));
+        }
+
+        assertEquals(2, processor.getCachedTemplateCount());
+    }
+
+    @Test
+    public void testTemplateErrorIsNotCached() {
+        String template = "Hello {{{ value_json.battery }}!";
+        assertThrows(TransformationException.class, () -> processor.transform(template, ZIGBEE_JSON));
+        assertThrows(TransformationException.class, () -> processor.transform(template, ZIGBEE_JSON));
+    }
+
+    @Test
+    public void testNestedValues() throws TransformationException {
+        assertEquals("0.2", processor.transform("{{ value_json.colors[1].x }}", ZIGBEE_JSON));
+        assertEquals("2", processor.transform("{{ value_json.colors | length }}", ZIGBEE_JSON));
+        assertEquals("OFF", processor.transform("{{ 'ON' if value_json.contact else 'OFF' }}", ZIGBEE_JSON));
+        assertEquals("0.1 0.2 ", processor.transform("{% for c in value_json.colors %}{{ c.x }} {% endfor %}",
+                ZIGBEE_JSON));
+    }
 }
@@ -12,7 +12,9 @@
  */
 package org.openhab.transform.jsonpath.internal;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -24,6 +26,7 @@ import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.JsonPath;
@@ -32,15 +35,48 @@ import com.jayway.jsonpath.PathNotFoundException;
 /**
  * The implementation of a {@link TransformationService} which transforms the input by JSonPath Expressions.
  *
+ * Compiled expressions and the most recently parsed documents are cached, so that extracting several values from the
+ * same message (e.g. one per channel) parses the document only once. Callers evaluating several expressions can parse
+ * the source with {@link #parse(String)} and pass the document to {@link #transform(String, JsonDocument)}.
+ *
  * @author Gaël L'hopital - Initial contribution
  * @author Sebastian Janzen - Initial contribution
+ * @author Marcel Verpaalen - Expression and document cache
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=JSONPATH" })
 public class JSonPathTransformationService implements TransformationService {
 
+    static final int PATH_CACHE_SIZE = 256;
+    static final int DOCUMENT_CACHE_SIZE = 16;
+    // the cache keeps the source and the parsed document, larger documents are parsed every time
+    static final int MAX_CACHED_DOCUMENT_LENGTH = 8192;
+
     private final Logger logger = LoggerFactory.getLogger(JSonPathTransformationService.class);
 
+    private final Configuration configuration = Configuration.defaultConfiguration();
+    private final Map<String, JsonPath> pathCache = new LruCache<>(PATH_CACHE_SIZE);
+    private final Map<String, JsonDocument> documentCache = new LruCache<>(DOCUMENT_CACHE_SIZE);
+    // the document parsed last, found by the identity of its source regardless of the size
+    private volatile @Nullable JsonDocument lastDocument;
+
+    /**
+     * A parsed JSON source, which can be evaluated with several expressions.
+     */
+    public static final class JsonDocument {
+        private final String source;
+        private final @Nullable Object document;
+
+        private JsonDocument(String source, @Nullable Object document) {
+            this.source = source;
+            this.document = document;
+        }
+
+        public String getSource() {
+            return source;
+        }
+    }
+
     /**
      * Transforms the input <code>source</code> by JSonPath expression.
      *
@@ -57,27 +93,120 @@ public class JSonPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, jsonPathExpression);
 
-        if (source.isBlank()) {
+        return transform(jsonPathExpression, parse(source));
+    }
+
+    /**
+     * Transforms an already parsed document by JSonPath expression.
+     *
+     * @param jsonPathExpression JsonPath expression
+     * @param document document returned by {@link #parse(String)}
+     * @return the result, or null if the source of the document is empty
+     * @throws TransformationException if the JsonPath expression is invalid or does not match the document
+     */
+    public @Nullable String transform(String jsonPathExpression, JsonDocument document)
+            throws TransformationException {
+        Object parsed = document.document;
+        if (parsed == null) {
             // return null if source is empty/blank, JSONPath will throw an IAE on empty input strings
             return null;
         }
         try {
-            Object transformationResult = JsonPath.read(source, jsonPathExpression);
-            logger.debug("transformation resulted in '{}'", transformationResult);
-            if (transformationResult == null) {
-                return null;
-            } else if (transformationResult instanceof List<?> list) {
-                return flattenList(list);
-            } else {
-                return transformationResult.toString();
-            }
+            return evaluate(compile(jsonPathExpression), parsed);
         } catch (PathNotFoundException e) {
-            throw new TransformationException("Invalid path '" + jsonPathExpression + "' in '" + source + "'");
-        } catch (InvalidPathException | InvalidJsonException e) {
+            throw new TransformationException(
+                    "Invalid path '" + jsonPathExpression + "' in '" + document.getSource() + "'");
+        } catch (InvalidPathException e) {
             throw new TransformationException("An error occurred while transforming JSON expression.", e);
         }
     }
 
+    private @Nullable String evaluate(JsonPath jsonPath, Object document) {
+        Object transformationResult = jsonPath.read(document, configuration);
+        logger.debug("transformation resulted in '{}'", transformationResult);
+        if (transformationResult == null) {
+            return null;
+        } else if (transformationResult instanceof List<?> list) {
+            return flattenList(list);
+        } else {
+            return transformationResult.toString();
+        }
+    }
+
+    private JsonPath compile(String jsonPathExpression) throws TransformationException {
+        synchronized (pathCache) {
+            JsonPath jsonPath = pathCache.get(jsonPathExpression);
+            if (jsonPath != null) {
+                return jsonPath;
+            }
+        }
+        try {
+            JsonPath jsonPath = JsonPath.compile(jsonPathExpression);
+            synchronized (pathCache) {
+                pathCache.put(jsonPathExpression, jsonPath);
+            }
+            return jsonPath;
+        } catch (InvalidPathException e) {
+            throw new TransformationException("An error occurred while transforming JSON expression.", e);
+        }
+    }
+
+    /**
+     * Parses the source, or returns the cached document if the same source has been parsed recently. The documents
+     * are only read by the compiled expressions and therefore safe to share.
+     *
+     * Sources of at most {@value #MAX_CACHED_DOCUMENT_LENGTH} characters are cached by their content, to limit the
+     * memory used by the cache. The last parsed document is also found by the identity of its source, so a larger
+     * message passed as the same String instance to several transformations is parsed only once, too.
+     *
+     * @param source String which contains JSON
+     * @return the parsed document, for use with {@link #transform(String, JsonDocument)}
+     * @throws TransformationException if the source is not valid JSON
+     */
+    public JsonDocument parse(String source) throws TransformationException {
+        JsonDocument document = lastDocument;
+        if (document != null && document.source == source) {
+            return document;
+        }
+        if (source.isBlank()) {
+            return new JsonDocument(source, null);
+        }
+        boolean cacheable = source.length() <= MAX_CACHED_DOCUMENT_LENGTH;
+        if (cacheable) {
+            synchronized (documentCache) {
+                document = documentCache.get(source);
+            }
+        }
+        if (document == null) {
+            try {
+                document = new JsonDocument(source, configuration.jsonProvider().parse(source));
+            } catch (InvalidJsonException e) {
+                throw new TransformationException("An error occurred while transforming JSON expression.", e);
+            }
+            if (cacheable) {
+                synchronized (documentCache) {
+                    documentCache.put(source, document);
+                }
+            }
+        }
+        lastDocument = document;
+        return document;
+    }
+
+    // Visible for testing
+    int getCachedPathCount() {
+        synchronized (pathCache) {
+            return pathCache.size();
+        }
+    }
+
+    // Visible for testing
+    int getCachedDocumentCount() {
+        synchronized (documentCache) {
+            return documentCache.size();
+        }
+    }
+
     private String flattenList(List<?> list) {
         if (list.size() == 1) {
             return list.get(0).toString();
@@ -102,4 +231,20 @@ public class JSonPathTransformationService implements TransformationService {
     private String createStringList(List<?> list) {
         return list.stream().map(n -> "\"" + n + "\"").collect(Collectors.joining(", ", "[", "]"));
     }
+
+    private static class LruCache<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        LruCache(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.@Nullable Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
 }
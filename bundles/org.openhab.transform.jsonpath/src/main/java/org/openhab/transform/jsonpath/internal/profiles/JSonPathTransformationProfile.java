@@ -24,6 +24,7 @@ import org.openhab.core.transform.TransformationService;
 import org.openhab.core.types.Command;
 import org.openhab.core.types.State;
 import org.openhab.core.types.Type;
+import org.openhab.transform.jsonpath.internal.JSonPathTransformationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -115,7 +116,15 @@ public class JSonPathTransformationProfile implements StateProfile {
     private Type transformState(Type state) {
         String result = state.toFullString();
         try {
-            result = TransformationHelper.transform(service, function, sourceFormat, state.toFullString());
+            if (service instanceof JSonPathTransformationService jsonPathService) {
+                // The profiles linked to the same channel receive the same state instance. The service returns the
+                // document parsed for the first profile to the others, also for large messages.
+                TransformationService documentService = (expression, source) -> jsonPathService
+                        .transform(expression, jsonPathService.parse(source));
+                result = TransformationHelper.transform(documentService, function, sourceFormat, result);
+            } else {
+                result = TransformationHelper.transform(service, function, sourceFormat, result);
+            }
         } catch (TransformationException e) {
             logger.warn("Could not transform state '{}' with function '{}' and format '{}'", state, function,
                     sourceFormat);
@@ -18,6 +18,7 @@ import org.eclipse.jdt.annotation.NonNullByDefault;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
+import org.openhab.transform.jsonpath.internal.JSonPathTransformationService.JsonDocument;
 
 /**
  * @author Gaël L'hopital - Initial contribution
@@ -129,4 +130,59 @@ public class JSonPathTransformationServiceTest {
         String transformedResponse = processor.transform("$.data", json);
         assertEquals(list, transformedResponse);
     }
+
+    private static final String ZIGBEE2MQTT_PAYLOAD = "{\"battery\":97,\"humidity\":48.37,\"linkquality\":134,"
+            + "\"pressure\":1012.4,\"temperature\":21.73,\"voltage\":2985,"
+            + "\"update\":{\"installed_version\":8704,\"latest_version\":8704,\"state\":\"idle\"}}";
+
+    @Test
+    public void testDocumentIsParsedOnce() throws TransformationException {
+        assertEquals("97", processor.transform("$.battery", ZIGBEE2MQTT_PAYLOAD));
+        assertEquals("134", processor.transform("$.linkquality", ZIGBEE2MQTT_PAYLOAD));
+        assertEquals("8704", processor.transform("$.update.latest_version", new String(ZIGBEE2MQTT_PAYLOAD)));
+
+        assertEquals(1, processor.getCachedDocumentCount());
+        assertEquals(3, processor.getCachedPathCount());
+    }
+
+    @Test
+    public void testCachesAreBounded() throws TransformationException {
+        for (int i = 0; i < JSonPathTransformationService.PATH_CACHE_SIZE * 2; i++) {
+            assertEquals(String.valueOf(i), processor.transform("$.value" + i, "{\"value" + i + "\":" + i + "}"));
+        }
+
+        assertEquals(JSonPathTransformationService.PATH_CACHE_SIZE, processor.getCachedPathCount());
+        assertEquals(JSonPathTransformationService.DOCUMENT_CACHE_SIZE, processor.getCachedDocumentCount());
+    }
+
+    @Test
+    public void testLargeDocumentsAreNotCached() throws TransformationException {
+        String value = "x".repeat(JSonPathTransformationService.MAX_CACHED_DOCUMENT_LENGTH);
+        String source = "{\"value\":\"" + value + "\"}";
+
+        assertEquals(value, processor.transform("$.value", source));
+        assertEquals(0, processor.getCachedDocumentCount());
+    }
+
+    @Test
+    public void testParsedDocumentIsEvaluatedWithSeveralExpressions() throws TransformationException {
+        JsonDocument document = processor.parse(ZIGBEE2MQTT_PAYLOAD);
+
+        assertEquals("97", processor.transform("$.battery", document));
+        assertEquals("48.37", processor.transform("$.humidity", document));
+        assertEquals("idle", processor.transform("$.update.state", document));
+        assertThrows(TransformationException.class, () -> processor.transform("$.unknown", document));
+        assertNull(processor.transform("$.battery", processor.parse(" ")));
+    }
+
+    @Test
+    public void testLargeDocumentIsSharedBySourceInstance() throws TransformationException {
+        String source = "{\"value\":\"" + "x".repeat(JSonPathTransformationService.MAX_CACHED_DOCUMENT_LENGTH) + "\"}";
+
+        JsonDocument document = processor.parse(source);
+        assertSame(document, processor.parse(source));
+        // an equal message in another String instance is not compared and parsed again
+        assertNotSame(document, processor.parse(new String(source)));
+        assertEquals(0, processor.getCachedDocumentCount());
+    }
 }
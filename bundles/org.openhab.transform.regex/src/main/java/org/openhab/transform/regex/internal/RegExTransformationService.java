@@ -12,6 +12,9 @@
  */
 package org.openhab.transform.regex.internal;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -20,6 +23,7 @@ import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.core.transform.TransformationException;
 import org.openhab.core.transform.TransformationService;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Deactivate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,7 +34,11 @@ import org.slf4j.LoggerFactory;
  * <p>
  * <b>Note:</b> the given Regular Expression must contain exactly one group!
  *
+ * <p>
+ * Compiled patterns are cached, the cache is cleared when it exceeds {@value #MAX_CACHED_PATTERNS} entries.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
+ * @author Marcel Verpaalen - Compiled pattern cache
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=REGEX" })
@@ -40,6 +48,21 @@ public class RegExTransformationService implements TransformationService {
 
     private static final Pattern SUBSTR_PATTERN = Pattern.compile("^s/(.*?[^\\\\])/(.*?[^\\\\])/(.*)$");
 
+    static final int MAX_CACHED_PATTERNS = 512;
+
+    record CacheStatistics(int size, long hits, long misses) {
+    }
+
+    private final Map<String, Pattern> substitutionPatterns = new ConcurrentHashMap<>();
+    private final Map<String, Pattern> matchPatterns = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Deactivate
+    public void deactivate() {
+        logger.debug("Pattern cache statistics: {}", getCacheStatistics());
+    }
+
     @Override
     public @Nullable String transform(String regExpression, String source) throws TransformationException {
         if (regExpression == null || source == null) {
@@ -56,17 +79,18 @@ public class RegExTransformationService implements TransformationService {
             String regex = substMatcher.group(1);
             String substitution = substMatcher.group(2);
             String options = substMatcher.group(3);
+            Matcher matcher = getPattern(substitutionPatterns, regex, false).matcher(source.trim());
             if ("g".equals(options)) {
-                result = source.trim().replaceAll(regex, substitution);
+                result = matcher.replaceAll(substitution);
             } else {
-                result = source.trim().replaceFirst(regex, substitution);
+                result = matcher.replaceFirst(substitution);
             }
             if (result != null) {
                 return result;
             }
         }
 
-        Matcher matcher = Pattern.compile("^" + regExpression + "$", Pattern.DOTALL).matcher(source.trim());
+        Matcher matcher = getPattern(matchPatterns, regExpression, true).matcher(source.trim());
         if (!matcher.matches()) {
             logger.debug(
                     "the given regex '^{}$' doesn't match the given content '{}' -> couldn't compute transformation",
@@ -94,4 +118,33 @@ public class RegExTransformationService implements TransformationService {
 
         return result;
     }
+
+    /**
+     * Get the statistics of the compiled pattern cache.
+     *
+     * @return the number of cached patterns, cache hits and misses
+     */
+    // Visible for testing
+    CacheStatistics getCacheStatistics() {
+        return new CacheStatistics(substitutionPatterns.size() + matchPatterns.size(), hits.get(), misses.get());
+    }
+
+    private Pattern getPattern(Map<String, Pattern> cache, String regex, boolean fullMatch) {
+        Pattern pattern = cache.get(regex);
+        if (pattern != null) {
+            hits.incrementAndGet();
+            return pattern;
+        }
+        misses.incrementAndGet();
+        // invalid expressions are not cached, compile throws a PatternSyntaxException
+        pattern = fullMatch ? Pattern.compile("^" + regex + "$", Pattern.DOTALL) : Pattern.compile(regex);
+        if (cache.size() >= MAX_CACHED_PATTERNS) {
+            // expressions are usually static, so this only happens if they are built dynamically, e.g. in rules
+            logger.debug("Pattern cache exceeds {} entries, clearing it: {}", MAX_CACHED_PATTERNS,
+                    getCacheStatistics());
+            cache.clear();
+        }
+        cache.put(regex, pattern);
+        return pattern;
+    }
 }
@@ -20,6 +20,7 @@ import org.openhab.core.transform.TransformationException;
 
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
+ * @author Marcel Verpaalen - Pattern cache tests
  */
 public class RegExTransformationServiceTest extends AbstractTransformationServiceTest {
 
@@ -75,4 +76,34 @@ public class RegExTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("varX=12 varY=54 ", transformedResponse);
     }
+
+    @Test
+    public void testPatternsAreCached() throws TransformationException {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("SetMode(42)", processor.transform("s/^OP:(.*?),ARG:(.*)$/$1($2)/", "OP:SetMode,ARG:" + 42));
+            assertEquals("42", processor.transform("OP:.*?,ARG:(.*)", "OP:SetMode,ARG:" + 42));
+        }
+
+        RegExTransformationService.CacheStatistics statistics = processor.getCacheStatistics();
+        assertEquals(2, statistics.size());
+        assertEquals(2, statistics.misses());
+        assertEquals(18, statistics.hits());
+    }
+
+    @Test
+    public void testSameExpressionInBothForms() throws TransformationException {
+        // the substitution and the match form compile the same expression differently
+        assertEquals("a-b", processor.transform("s/(a)(b)/$1-$2/", "ab"));
+        assertEquals("b", processor.transform("a(b)", "ab"));
+        assertEquals(2, processor.getCacheStatistics().size());
+    }
+
+    @Test
+    public void testPatternCacheIsBounded() throws TransformationException {
+        for (int i = 0; i <= RegExTransformationService.MAX_CACHED_PATTERNS; i++) {
+            assertEquals(String.valueOf(i), processor.transform("value" + i + "=(.*)", "value" + i + "=" + i));
+        }
+
+        assertEquals(1, processor.getCacheStatistics().size());
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Lookup table for the ranges of a scale.
+ *
+ * The limits of all ranges split the number line into segments, each being either a single limit or the open
+ * interval between two adjacent limits. Within a segment, a range contains either all values or none, so the first
+ * matching range in file order is determined once per segment when the table is built. A lookup is then a binary
+ * search for the segment, regardless of whether ranges overlap.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+class ScaleTable {
+
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    /** sorted, distinct limits of all ranges */
+    private final BigDecimal[] limits;
+
+    /**
+     * label of the first matching range per segment: index 2 * i + 1 is the limit i, index 2 * i is the interval
+     * below limit i and the last index is the interval above the highest limit
+     */
+    private final @Nullable String[] labels;
+
+    /**
+     * @param ranges the ranges and their labels, in the order of the scale file
+     */
+    ScaleTable(List<Map.Entry<Range, String>> ranges) {
+        TreeSet<BigDecimal> sortedLimits = new TreeSet<>();
+        for (Map.Entry<Range, String> entry : ranges) {
+            Range range = entry.getKey();
+            if (range.min != null) {
+                sortedLimits.add(range.min);
+            }
+            if (range.max != null) {
+                sortedLimits.add(range.max);
+            }
+        }
+        limits = sortedLimits.toArray(new BigDecimal[0]);
+        labels = new @Nullable String[2 * limits.length + 1];
+
+        for (int segment = 0; segment < labels.length; segment++) {
+            BigDecimal value = representative(segment);
+            for (Map.Entry<Range, String> entry : ranges) {
+                if (entry.getKey().contains(value)) {
+                    labels[segment] = entry.getValue();
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get a value which lies within the given segment. As no limit lies within a segment, it is contained in the
+     * same ranges as every other value of the segment.
+     */
+    private BigDecimal representative(int segment) {
+        if (limits.length == 0) {
+            return BigDecimal.ZERO;
+        }
+        int index = segment / 2;
+        if (segment % 2 == 1) {
+            return limits[index];
+        } else if (index == 0) {
+            return limits[0].subtract(BigDecimal.ONE);
+        } else if (index == limits.length) {
+            return limits[limits.length - 1].add(BigDecimal.ONE);
+        } else {
+            return limits[index - 1].add(limits[index]).divide(TWO);
+        }
+    }
+
+    /**
+     * Find the label of the first range containing the value.
+     *
+     * @param value the value
+     * @return the label or <code>null</code> if no range contains the value
+     */
+    @Nullable
+    String lookup(BigDecimal value) {
+        // BigDecimal.compareTo ignores the scale, 10 and 10.0 are found as the same limit
+        int index = Arrays.binarySearch(limits, value);
+        return index >= 0 ? labels[2 * index + 1] : labels[2 * (-index - 1)];
+    }
+}
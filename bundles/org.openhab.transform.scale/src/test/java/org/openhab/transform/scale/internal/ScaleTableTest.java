@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2010-2025 Contributors to the openHAB project
+ *
+ * See the NOTICE file(s) distributed with this work for additional
+ * information.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License 2.0 which is available at
+ * http://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package org.openhab.transform.scale.internal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ScaleTable} against a linear scan of the ranges.
+ *
+ * @author Marcel Verpaalen - Initial contribution
+ */
+@NonNullByDefault
+public class ScaleTableTest {
+
+    private static BigDecimal dec(String value) {
+        return new BigDecimal(value);
+    }
+
+    private static @Nullable String linearLookup(List<Map.Entry<Range, String>> ranges, BigDecimal value) {
+        return ranges.stream().filter(entry -> entry.getKey().contains(value)).findFirst().map(Map.Entry::getValue)
+                .orElse(null);
+    }
+
+    @Test
+    public void testLimits() {
+        ScaleTable table = new ScaleTable(List.of(Map.entry(Range.lessThan(dec("0")), "low"),
+                Map.entry(Range.closedOpen(dec("0"), dec("10")), "middle"),
+                Map.entry(Range.openClosed(dec("10"), dec("20")), "high")));
+
+        assertEquals("low", table.lookup(dec("-1000")));
+        assertEquals("middle", table.lookup(dec("0")));
+        assertEquals("middle", table.lookup(dec("0.000")));
+        assertEquals("middle", table.lookup(dec("9.999")));
+        assertNull(table.lookup(dec("10")));
+        assertEquals("high", table.lookup(dec("10.001")));
+        assertEquals("high", table.lookup(dec("20.0")));
+        assertNull(table.lookup(dec("20.001")));
+    }
+
+    @Test
+    public void testOverlappingRangesUseFirstMatch() {
+        ScaleTable table = new ScaleTable(List.of(Map.entry(Range.open(null, dec("15")), "first"),
+                Map.entry(Range.closedOpen(dec("10"), dec("17")), "second"),
+                Map.entry(Range.atLeast(dec("15")), "last")));
+
+        assertEquals("first", table.lookup(dec("12")));
+        assertEquals("second", table.lookup(dec("15")));
+        assertEquals("second", table.lookup(dec("16.5")));
+        assertEquals("last", table.lookup(dec("17")));
+    }
+
+    @Test
+    public void testEmptyTableAndCatchAll() {
+        assertNull(new ScaleTable(List.of()).lookup(dec("1")));
+        assertEquals("all", new ScaleTable(List.of(Map.entry(Range.all(), "all"))).lookup(dec("-3")));
+    }
+
+    @Test
+    public void testRandomRangesMatchLinearScan() {
+        Random random = new Random(42);
+        for (int run = 0; run < 50; run++) {
+            List<Map.Entry<Range, String>> ranges = new ArrayList<>();
+            int count = 1 + random.nextInt(40);
+            for (int i = 0; i < count; i++) {
+                BigDecimal lower = random.nextInt(10) == 0 ? null : BigDecimal.valueOf(random.nextInt(200) - 100, 1);
+                BigDecimal upper = random.nextInt(10) == 0 ? null
+                        : BigDecimal.valueOf(random.nextInt(200) - 100, 1);
+                ranges.add(Map.entry(Range.range(lower, random.nextBoolean(), upper, random.nextBoolean()), "r" + i));
+            }
+            ScaleTable table = new ScaleTable(ranges);
+
+            for (int v = -1100; v <= 1100; v++) {
+                BigDecimal value = BigDecimal.valueOf(v, 2);
+                assertEquals(linearLookup(ranges, value), table.lookup(value), "value " + value);
+            }
+        }
+    }
+}
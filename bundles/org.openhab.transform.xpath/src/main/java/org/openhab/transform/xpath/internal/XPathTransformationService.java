@@ -13,12 +13,18 @@
 package org.openhab.transform.xpath.internal;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -35,14 +41,24 @@ import org.xml.sax.InputSource;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XPath Expressions.
  *
+ * Document builders and compiled expressions are not thread-safe, they are kept in a small pool of evaluators
+ * which are reused by subsequent transformations.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
+ * @author Marcel Verpaalen - Pooled document builders and expression cache
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XPATH" })
 public class XPathTransformationService implements TransformationService {
 
+    static final int MAX_POOLED_EVALUATORS = 8;
+    static final int EXPRESSION_CACHE_SIZE = 64;
+
     private final Logger logger = LoggerFactory.getLogger(XPathTransformationService.class);
 
+    private final DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+    private final Queue<Evaluator> evaluators = new ConcurrentLinkedQueue<>();
+
     @Override
     public @Nullable String transform(String xpathExpression, String source) throws TransformationException {
         if (xpathExpression == null || source == null) {
@@ -51,10 +67,28 @@ public class XPathTransformationService implements TransformationService {
 
         logger.debug("about to transform '{}' by the function '{}'", source, xpathExpression);
 
-        StringReader stringReader = null;
-
         try {
-            DocumentBuilderFactory domFactory = DocumentBuilderFactory.newInstance();
+            Evaluator evaluator = evaluators.poll();
+            if (evaluator == null) {
+                evaluator = new Evaluator();
+            }
+            String transformationResult = evaluator.evaluate(xpathExpression, source);
+            // an evaluator is only reused if the transformation succeeded, so it is never in an inconsistent state
+            if (evaluators.size() < MAX_POOLED_EVALUATORS) {
+                evaluators.offer(evaluator);
+            }
+
+            logger.debug("transformation resulted in '{}'", transformationResult);
+
+            return transformationResult;
+        } catch (Exception e) {
+            throw new TransformationException("transformation throws exceptions", e);
+        }
+    }
+
+    private DocumentBuilder newDocumentBuilder() throws ParserConfigurationException {
+        // DocumentBuilderFactory is not thread-safe
+        synchronized (domFactory) {
             // see https://cheatsheetseries.owasp.org/cheatsheets/XML_External_Entity_Prevention_Cheat_Sheet.html
             domFactory.setFeature("http://xml.org/sax/features/external-general-entities", false);
             domFactory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
@@ -63,28 +97,55 @@ public class XPathTransformationService implements TransformationService {
             domFactory.setExpandEntityReferences(false);
             domFactory.setNamespaceAware(true);
             domFactory.setValidating(false);
-            DocumentBuilder builder = domFactory.newDocumentBuilder();
+            return domFactory.newDocumentBuilder();
+        }
+    }
 
-            stringReader = new StringReader(source);
-            InputSource inputSource = new InputSource(stringReader);
-            inputSource.setEncoding("UTF-8");
+    // Visible for testing
+    int getPooledEvaluatorCount() {
+        return evaluators.size();
+    }
 
-            Document doc = builder.parse(inputSource);
+    /**
+     * Parses documents and evaluates expressions, to be used by one thread at a time.
+     */
+    private class Evaluator {
+        private final DocumentBuilder builder;
+        private final XPath xpath = XPathFactory.newInstance().newXPath();
+        private final Map<String, XPathExpression> expressions = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
 
-            XPath xpath = XPathFactory.newInstance().newXPath();
-            XPathExpression expr = xpath.compile(xpathExpression);
+            @Override
+            protected boolean removeEldestEntry(Map.@Nullable Entry<String, XPathExpression> eldest) {
+                return size() > EXPRESSION_CACHE_SIZE;
+            }
+        };
 
-            String transformationResult = (String) expr.evaluate(doc, XPathConstants.STRING);
+        Evaluator() throws ParserConfigurationException {
+            builder = newDocumentBuilder();
+        }
 
-            logger.debug("transformation resulted in '{}'", transformationResult);
+        String evaluate(String xpathExpression, String source) throws Exception {
+            XPathExpression expr = compile(xpathExpression);
 
-            return transformationResult;
-        } catch (Exception e) {
-            throw new TransformationException("transformation throws exceptions", e);
-        } finally {
-            if (stringReader != null) {
-                stringReader.close();
+            try (StringReader stringReader = new StringReader(source)) {
+                InputSource inputSource = new InputSource(stringReader);
+                inputSource.setEncoding("UTF-8");
+
+                builder.reset();
+                Document doc = builder.parse(inputSource);
+
+                return (String) expr.evaluate(doc, XPathConstants.STRING);
+            }
+        }
+
+        private XPathExpression compile(String xpathExpression) throws XPathExpressionException {
+            XPathExpression expr = expressions.get(xpathExpression);
+            if (expr == null) {
+                expr = xpath.compile(xpathExpression);
+                expressions.put(xpathExpression, expr);
             }
+            return expr;
         }
     }
 }
@@ -14,12 +14,19 @@ package org.openhab.transform.xpath.internal;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.openhab.core.transform.TransformationException;
 
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
+ * @author Marcel Verpaalen - Evaluator pool tests
  */
 public class XPathTransformationServiceTest extends AbstractTransformationServiceTest {
 
@@ -38,4 +45,41 @@ public class XPathTransformationServiceTest extends AbstractTransformationServic
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    @Test
+    public void testEvaluatorIsReused() throws TransformationException {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+            assertEquals("SI", processor.transform("//unit_system/@data", source));
+        }
+
+        assertEquals(1, processor.getPooledEvaluatorCount());
+    }
+
+    @Test
+    public void testInvalidExpressionThrowsException() throws TransformationException {
+        assertThrows(TransformationException.class, () -> processor.transform("//[", source));
+        assertThrows(TransformationException.class, () -> processor.transform("//temp_c/@data", "<xml"));
+
+        assertEquals("8", processor.transform("//current_conditions/temp_c/@data", source));
+    }
+
+    @Test
+    public void testConcurrentTransformations() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(XPathTransformationService.MAX_POOLED_EVALUATORS * 2);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String expression = i % 2 == 0 ? "//current_conditions/temp_c/@data" : "//unit_system/@data";
+                results.add(executor.submit(() -> processor.transform(expression, source)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i % 2 == 0 ? "8" : "SI", results.get(i).get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertTrue(processor.getPooledEvaluatorCount() <= XPathTransformationService.MAX_POOLED_EVALUATORS);
+    }
 }
@@ -15,9 +15,13 @@ package org.openhab.transform.xslt.internal;
 import java.io.File;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
@@ -35,7 +39,11 @@ import org.slf4j.LoggerFactory;
  * <p>
  * The implementation of {@link TransformationService} which transforms the input by XSLT.
  *
+ * Compiled stylesheets are cached per file and recompiled when the file is modified. Stylesheets included or imported
+ * by the file are compiled into it, changes to them are only picked up when the file itself is modified.
+ *
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
+ * @author Marcel Verpaalen - Cache compiled stylesheets
  */
 @NonNullByDefault
 @Component(property = { "openhab.transform=XSLT" })
@@ -43,6 +51,12 @@ public class XsltTransformationService implements TransformationService {
 
     private final Logger logger = LoggerFactory.getLogger(XsltTransformationService.class);
 
+    private final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+    private final Map<String, CachedTemplates> templatesCache = new ConcurrentHashMap<>();
+
+    private record CachedTemplates(Templates templates, long lastModified, long length) {
+    }
+
     /**
      * Transforms the input <code>source</code> by XSLT.
      *
@@ -60,28 +74,17 @@ public class XsltTransformationService implements TransformationService {
             throw new TransformationException("the given parameters 'filename' and 'source' must not be null");
         }
 
-        Source xsl = null;
-
-        try {
-            String path = OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
-                    + File.separator + filename;
-            xsl = new StreamSource(new File(path));
-        } catch (Exception e) {
-            String message = "opening file '" + filename + "' throws exception";
+        File file = new File(OpenHAB.getConfigFolder() + File.separator + TransformationService.TRANSFORM_FOLDER_NAME
+                + File.separator + filename);
 
-            logger.error("{}", message, e);
-            throw new TransformationException(message, e);
-        }
-
-        logger.debug("about to transform '{}' by the function '{}'", source, xsl);
+        logger.debug("about to transform '{}' by the function '{}'", source, file);
 
         StringReader xml = new StringReader(source);
         StringWriter out = new StringWriter();
 
-        Transformer transformer;
-
         try {
-            transformer = TransformerFactory.newInstance().newTransformer(xsl);
+            // Templates are thread-safe, the Transformer created from them is not and cheap to create
+            Transformer transformer = getTemplates(filename, file).newTransformer();
             transformer.transform(new StreamSource(xml), new StreamResult(out));
         } catch (Exception e) {
             logger.error("transformation throws exception", e);
@@ -92,4 +95,32 @@ public class XsltTransformationService implements TransformationService {
 
         return out.toString();
     }
+
+    private Templates getTemplates(String filename, File file) throws TransformerConfigurationException {
+        // a changed file is detected by its modification time and size, so edits are picked up on the next call
+        long lastModified = file.lastModified();
+        long length = file.length();
+        CachedTemplates cached = templatesCache.get(filename);
+        if (cached != null && cached.lastModified() == lastModified && cached.length() == length) {
+            return cached.templates();
+        }
+
+        logger.debug("compiling stylesheet '{}'", file);
+        Templates templates = newTemplates(new StreamSource(file));
+        templatesCache.put(filename, new CachedTemplates(templates, lastModified, length));
+        return templates;
+    }
+
+    // Visible for testing
+    Templates newTemplates(Source source) throws TransformerConfigurationException {
+        // TransformerFactory is not thread-safe
+        synchronized (transformerFactory) {
+            return transformerFactory.newTemplates(source);
+        }
+    }
+
+    // Visible for testing
+    int getCachedTemplatesCount() {
+        return templatesCache.size();
+    }
 }
@@ -19,6 +19,12 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,10 +33,12 @@ import org.openhab.core.transform.TransformationException;
 
 /**
  * @author Thomas.Eichstaedt-Engelen - Initial contribution
+ * @author Marcel Verpaalen - Stylesheet cache tests
  */
 public class XsltTransformationServiceTest extends AbstractTransformationServiceTest {
 
     private XsltTransformationService processor;
+    private final AtomicInteger compileCount = new AtomicInteger();
 
     private final Path transformHttpPath = Paths.get(OpenHAB.getConfigFolder()).resolve("transform/http");
 
@@ -40,7 +48,14 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
             Files.createDirectories(transformHttpPath);
         }
 
-        processor = new XsltTransformationService();
+        compileCount.set(0);
+        processor = new XsltTransformationService() {
+            @Override
+            Templates newTemplates(Source source) throws TransformerConfigurationException {
+                compileCount.incrementAndGet();
+                return super.newTemplates(source);
+            }
+        };
     }
 
     @Test
@@ -54,4 +69,38 @@ public class XsltTransformationServiceTest extends AbstractTransformationService
         // Asserts
         assertEquals("8", transformedResponse);
     }
+
+    private static final String CITY_XSL = """
+            <xsl:stylesheet version="1.0" xmlns:xsl="http://www.w3.org/1999/XSL/Transform">
+            <xsl:output method="text"/>
+            <xsl:template match="/">%s</xsl:template>
+            </xsl:stylesheet>
+            """;
+
+    @Test
+    public void testStylesheetIsCompiledOnce() throws TransformationException, IOException {
+        Files.writeString(transformHttpPath.resolve("city.xsl"),
+                CITY_XSL.formatted("<xsl:value-of select=\"//city/@data\"/>"));
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Krefeld, North Rhine-Westphalia", processor.transform("http/city.xsl", source));
+        }
+        assertEquals(1, compileCount.get());
+        assertEquals(1, processor.getCachedTemplatesCount());
+    }
+
+    @Test
+    public void testModifiedStylesheetIsRecompiled() throws TransformationException, IOException {
+        Path file = transformHttpPath.resolve("modified.xsl");
+        Files.writeString(file, CITY_XSL.formatted("<xsl:value-of select=\"//city/@data\"/>"));
+        assertEquals("Krefeld, North Rhine-Westphalia", processor.transform("http/modified.xsl", source));
+
+        Files.writeString(file, CITY_XSL.formatted("<xsl:value-of select=\"//unit_system/@data\"/>"));
+        // make sure the modification is detected on file systems with a coarse timestamp resolution
+        Files.setLastModifiedTime(file, FileTime.fromMillis(Files.getLastModifiedTime(file).toMillis() + 2000));
+
+        assertEquals("SI", processor.transform("http/modified.xsl", source));
+        assertEquals(2, compileCount.get());
+        assertEquals(1, processor.getCachedTemplatesCount());
+    }
 }